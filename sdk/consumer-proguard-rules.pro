@@ -0,0 +1,6 @@
+# Rules applied to apps which depend on the SDK
+
+# DeskProperties looks up the class generated by desk-properties.gradle and reads its fields by reflection
+-keep class com.desk.android.sdk.GeneratedDeskProperties {
+    public static <fields>;
+}
@@ -36,15 +36,19 @@ import com.desk.android.sdk.config.DeskConfig;
 import com.desk.android.sdk.config.DeskPropertyConfig;
 import com.desk.android.sdk.identity.Identity;
 import com.desk.android.sdk.identity.UserIdentity;
+import com.desk.android.sdk.model.CustomFieldProperties;
 import com.desk.android.sdk.util.DeskDefaultsRule;
 import com.desk.java.apiclient.DeskClient;
 import com.squareup.okhttp.Cache;
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.OkHttpClient;
 
 import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.HashMap;
 import java.util.Locale;
 
 import static junit.framework.Assert.assertEquals;
@@ -95,6 +99,55 @@ public class DeskTest {
         assertEquals(responseCache.getMaxSize(), Desk.CACHE_MAX_SIZE);
     }
 
+    @Test
+    public void getHttpClientSharesDefaultConnectionPool() throws Exception {
+        OkHttpClient httpClient = getNewDeskInstance().getHttpClient();
+        assertTrue(ConnectionPool.getDefault() == httpClient.getConnectionPool());
+        assertEquals(Desk.MAX_REQUESTS_PER_HOST, httpClient.getDispatcher().getMaxRequestsPerHost());
+    }
+
+    @Test
+    public void getHttpClientUsesConfiguredLimitsAndConnectionPool() throws Exception {
+        ConnectionPool connectionPool = new ConnectionPool(2, 60 * 1000);
+        OkHttpClient httpClient = getNewDeskInstance()
+                .setMaxRequests(10)
+                .setMaxRequestsPerHost(4)
+                .setConnectionPool(connectionPool)
+                .getHttpClient();
+        assertEquals(10, httpClient.getDispatcher().getMaxRequests());
+        assertEquals(4, httpClient.getDispatcher().getMaxRequestsPerHost());
+        assertTrue(connectionPool == httpClient.getConnectionPool());
+    }
+
+    @Test
+    public void setMaxRequestsPerHostUpdatesCreatedHttpClient() throws Exception {
+        Desk newDesk = getNewDeskInstance();
+        OkHttpClient httpClient = newDesk.getHttpClient();
+        newDesk.setMaxRequestsPerHost(1);
+        assertEquals(1, httpClient.getDispatcher().getMaxRequestsPerHost());
+    }
+
+    @Test
+    public void setMaxRequestsPerHostDoesNotChangeAppHttpClient() throws Exception {
+        OkHttpClient httpClient = new OkHttpClient();
+        int maxRequestsPerHost = httpClient.getDispatcher().getMaxRequestsPerHost();
+        getNewDeskInstance().setHttpClient(httpClient).setMaxRequestsPerHost(maxRequestsPerHost + 1);
+        assertEquals(maxRequestsPerHost, httpClient.getDispatcher().getMaxRequestsPerHost());
+    }
+
+    @Test
+    public void setHttpClientSetsHttpClient() throws Exception {
+        OkHttpClient httpClient = new OkHttpClient();
+        Desk newDesk = getNewDeskInstance();
+        newDesk.setHttpClient(httpClient);
+        assertTrue(httpClient == newDesk.getHttpClient());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setHttpClientThrowsNullPointerException() {
+        desk.setHttpClient(null);
+    }
+
     @Test
     public void getLanguageReturnsCorrectLanguage() throws Exception {
         Locale.setDefault(Locale.FRANCE);
@@ -119,6 +172,24 @@ public class DeskTest {
         assertFalse(client == newClient);
     }
 
+    @Test
+    public void setConfigRecreatesProviders() throws Exception {
+        Object articleProvider = desk.getArticleProvider();
+        Object topicProvider = desk.getTopicProvider();
+        Object caseProvider = desk.getCaseProvider();
+        desk.setConfig(config);
+        assertFalse(articleProvider == desk.getArticleProvider());
+        assertFalse(topicProvider == desk.getTopicProvider());
+        assertFalse(caseProvider == desk.getCaseProvider());
+    }
+
+    @Test
+    public void setConfigKeepsKnowledgeBaseStoreForSameHostname() throws Exception {
+        Object store = desk.getKnowledgeBaseStore();
+        desk.setConfig(config);
+        assertTrue(store == desk.getKnowledgeBaseStore());
+    }
+
     @Test(expected = NullPointerException.class)
     public void setConfigThrowsNullPointerException() {
         desk.setConfig(null);
@@ -167,6 +238,25 @@ public class DeskTest {
         assertNotNull(getNewDeskInstance().getCaseProvider());
     }
 
+    @Test
+    public void getCustomFieldSchemaKeepsSchemaOfPropertyConfig() throws Exception {
+        Desk newDesk = getNewDeskInstance();
+        newDesk.setContactUsConfig(contactUsConfig);
+        assertTrue(newDesk.getCustomFieldSchema() == newDesk.getCustomFieldSchema());
+    }
+
+    @Test
+    public void getCustomFieldSchemaResolvesAppConfigEveryCall() throws Exception {
+        Desk newDesk = getNewDeskInstance();
+        newDesk.setContactUsConfig(new ContactUsPropertyConfig(InstrumentationRegistry.getContext()) {
+            @Override
+            public HashMap<String, CustomFieldProperties> getCustomFieldProperties() {
+                return new HashMap<>();
+            }
+        });
+        assertFalse(newDesk.getCustomFieldSchema() == newDesk.getCustomFieldSchema());
+    }
+
     private Desk getNewDeskInstance() {
         Desk.release();
         return Desk.with(InstrumentationRegistry.getContext());
@@ -27,18 +27,17 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import static android.support.test.InstrumentationRegistry.getContext;
-import static android.support.test.espresso.Espresso.onData;
 import static android.support.test.espresso.Espresso.onView;
 import static android.support.test.espresso.action.ViewActions.click;
-import static android.support.test.espresso.assertion.ViewAssertions.doesNotExist;
 import static android.support.test.espresso.assertion.ViewAssertions.matches;
+import static android.support.test.espresso.contrib.RecyclerViewActions.actionOnItemAtPosition;
 import static android.support.test.espresso.intent.Intents.intended;
 import static android.support.test.espresso.intent.matcher.BundleMatchers.hasEntry;
 import static android.support.test.espresso.intent.matcher.IntentMatchers.hasComponent;
 import static android.support.test.espresso.intent.matcher.IntentMatchers.hasExtras;
 import static android.support.test.espresso.matcher.ViewMatchers.isDisplayed;
 import static android.support.test.espresso.matcher.ViewMatchers.withId;
-import static com.desk.android.sdk.activity.ArticleActivity.EXTRA_ARTICLE;
+import static com.desk.android.sdk.activity.ArticleActivity.EXTRA_ARTICLE_ID;
 import static com.desk.android.sdk.helper.DeskThemeHelper.EXTRA_THEME_RES_ID;
 import static com.desk.android.sdk.helper.DeskThemeHelper.NO_THEME_RES_ID;
 import static com.desk.android.sdk.util.InstrumentationTestUtils.getContactUsComponentName;
@@ -46,7 +45,6 @@ import static com.desk.android.sdk.util.InstrumentationTestUtils.getMockedArticl
 import static com.desk.android.sdk.util.InstrumentationTestUtils.getMockedTopicResponse;
 import static com.desk.android.sdk.util.InstrumentationTestUtils.matchToolbarTitle;
 import static org.hamcrest.CoreMatchers.allOf;
-import static org.hamcrest.CoreMatchers.anything;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
@@ -111,8 +109,8 @@ public class ArticleListSearchModeActivityTest {
         // get the Topic name which is used as the Toolbar title in the ArticleListActivity
         int pos = 0;
 
-        // click on item in the ListView
-        onData(anything()).inAdapterView(withId(android.R.id.list)).atPosition(pos).perform(click());
+        // click on item in the list
+        onView(withId(android.R.id.list)).perform(actionOnItemAtPosition(pos, click()));
 
         // verify that the toolbar title in the ArticleListActivity matches the selected Topic's name
         Article article = mockedArticleResponse.getEntriesAsList().get(pos);
@@ -124,13 +122,13 @@ public class ArticleListSearchModeActivityTest {
         // verify that the ArticleActivity is launched with the correct Intent extras
         intended(allOf(
                 hasExtras(allOf(
-                        hasEntry(equalTo(EXTRA_ARTICLE), equalTo(article)),
+                        hasEntry(equalTo(EXTRA_ARTICLE_ID), equalTo(article.getId())),
                         hasEntry(equalTo(EXTRA_THEME_RES_ID), equalTo(NO_THEME_RES_ID))))));
     }
 
     @Test
-    public void searchMenuItemNotVisible() {
-        onView(withId(R.id.search)).check(doesNotExist());
+    public void searchMenuItemVisible() {
+        onView(withId(R.id.search)).check(matches(isDisplayed()));
     }
 
     @Test
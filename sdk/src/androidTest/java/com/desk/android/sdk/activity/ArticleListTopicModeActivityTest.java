@@ -28,12 +28,12 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import static android.support.test.InstrumentationRegistry.getContext;
-import static android.support.test.espresso.Espresso.onData;
 import static android.support.test.espresso.Espresso.onView;
 import static android.support.test.espresso.action.ViewActions.click;
 import static android.support.test.espresso.action.ViewActions.pressKey;
 import static android.support.test.espresso.action.ViewActions.typeText;
 import static android.support.test.espresso.assertion.ViewAssertions.matches;
+import static android.support.test.espresso.contrib.RecyclerViewActions.actionOnItemAtPosition;
 import static android.support.test.espresso.intent.Intents.intended;
 import static android.support.test.espresso.intent.matcher.BundleMatchers.hasEntry;
 import static android.support.test.espresso.intent.matcher.IntentMatchers.hasComponent;
@@ -41,10 +41,10 @@ import static android.support.test.espresso.intent.matcher.IntentMatchers.hasExt
 import static android.support.test.espresso.matcher.ViewMatchers.isDisplayed;
 import static android.support.test.espresso.matcher.ViewMatchers.withId;
 import static android.view.KeyEvent.KEYCODE_ENTER;
-import static com.desk.android.sdk.activity.ArticleActivity.EXTRA_ARTICLE;
+import static com.desk.android.sdk.activity.ArticleActivity.EXTRA_ARTICLE_ID;
 import static com.desk.android.sdk.activity.ArticleListActivity.EXTRA_MODE;
 import static com.desk.android.sdk.activity.ArticleListActivity.EXTRA_QUERY;
-import static com.desk.android.sdk.activity.ArticleListActivity.EXTRA_TOPIC;
+import static com.desk.android.sdk.activity.ArticleListActivity.EXTRA_TOPIC_ID;
 import static com.desk.android.sdk.activity.ArticleListActivity.MODE_SEARCH;
 import static com.desk.android.sdk.helper.DeskThemeHelper.EXTRA_THEME_RES_ID;
 import static com.desk.android.sdk.helper.DeskThemeHelper.NO_THEME_RES_ID;
@@ -53,7 +53,6 @@ import static com.desk.android.sdk.util.InstrumentationTestUtils.getMockedArticl
 import static com.desk.android.sdk.util.InstrumentationTestUtils.getMockedTopicResponse;
 import static com.desk.android.sdk.util.InstrumentationTestUtils.matchToolbarTitle;
 import static org.hamcrest.CoreMatchers.allOf;
-import static org.hamcrest.CoreMatchers.anything;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
@@ -84,7 +83,8 @@ public class ArticleListTopicModeActivityTest {
             Intent intent = new Intent();
             Topic selectedTopic = getMockedTopicResponse().getEntriesAsList().get(0);
             intent.putExtra(EXTRA_MODE, ArticleListActivity.MODE_TOPIC);
-            intent.putExtra(EXTRA_TOPIC, selectedTopic);
+            Desk.with(getContext()).getTopicCache().put(selectedTopic);
+            intent.putExtra(EXTRA_TOPIC_ID, selectedTopic.getId());
             return intent;
         }
     };
@@ -127,8 +127,8 @@ public class ArticleListTopicModeActivityTest {
         // get the Topic name which is used as the Toolbar title in the ArticleListActivity
         int pos = 0;
 
-        // click on item in the ListView
-        onData(anything()).inAdapterView(withId(android.R.id.list)).atPosition(pos).perform(click());
+        // click on item in the list
+        onView(withId(android.R.id.list)).perform(actionOnItemAtPosition(pos, click()));
 
         // verify that the toolbar title in the ArticleListActivity matches the selected Topic's name
         Article article = mockedArticleResponse.getEntriesAsList().get(pos);
@@ -140,7 +140,7 @@ public class ArticleListTopicModeActivityTest {
         // verify that the ArticleActivity is launched with the correct Intent extras
         intended(allOf(
                 hasExtras(allOf(
-                        hasEntry(equalTo(EXTRA_ARTICLE), equalTo(article)),
+                        hasEntry(equalTo(EXTRA_ARTICLE_ID), equalTo(article.getId())),
                         hasEntry(equalTo(EXTRA_THEME_RES_ID), equalTo(NO_THEME_RES_ID))))));
     }
 
@@ -155,12 +155,12 @@ public class ArticleListTopicModeActivityTest {
         intended(hasComponent(ArticleListActivity.class.getName()));
 
         // verify that the ArticleActivity is launched with the correct Intent extras
-        Topic topic = (Topic) activityRule.getActivity().getIntent().getSerializableExtra(EXTRA_TOPIC);
+        int topicId = activityRule.getActivity().getIntent().getIntExtra(EXTRA_TOPIC_ID, 0);
         intended(allOf(
                 hasExtras(allOf(
                         hasEntry(equalTo(EXTRA_MODE), equalTo(MODE_SEARCH)),
                         hasEntry(equalTo(EXTRA_QUERY), equalTo(query)),
-                        hasEntry(equalTo(EXTRA_TOPIC), equalTo(topic)),
+                        hasEntry(equalTo(EXTRA_TOPIC_ID), equalTo(topicId)),
                         hasEntry(equalTo(EXTRA_THEME_RES_ID), equalTo(NO_THEME_RES_ID))))));
     }
 
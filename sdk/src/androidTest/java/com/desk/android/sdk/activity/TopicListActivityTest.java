@@ -26,12 +26,12 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import static android.support.test.InstrumentationRegistry.getContext;
-import static android.support.test.espresso.Espresso.onData;
 import static android.support.test.espresso.Espresso.onView;
 import static android.support.test.espresso.action.ViewActions.click;
 import static android.support.test.espresso.action.ViewActions.pressKey;
 import static android.support.test.espresso.action.ViewActions.typeText;
 import static android.support.test.espresso.assertion.ViewAssertions.matches;
+import static android.support.test.espresso.contrib.RecyclerViewActions.actionOnItemAtPosition;
 import static android.support.test.espresso.intent.Intents.intended;
 import static android.support.test.espresso.intent.matcher.BundleMatchers.hasEntry;
 import static android.support.test.espresso.intent.matcher.IntentMatchers.hasComponent;
@@ -41,7 +41,7 @@ import static android.support.test.espresso.matcher.ViewMatchers.withId;
 import static android.view.KeyEvent.KEYCODE_ENTER;
 import static com.desk.android.sdk.activity.ArticleListActivity.EXTRA_MODE;
 import static com.desk.android.sdk.activity.ArticleListActivity.EXTRA_QUERY;
-import static com.desk.android.sdk.activity.ArticleListActivity.EXTRA_TOPIC;
+import static com.desk.android.sdk.activity.ArticleListActivity.EXTRA_TOPIC_ID;
 import static com.desk.android.sdk.activity.ArticleListActivity.MODE_SEARCH;
 import static com.desk.android.sdk.activity.ArticleListActivity.MODE_TOPIC;
 import static com.desk.android.sdk.helper.DeskThemeHelper.EXTRA_THEME_RES_ID;
@@ -50,8 +50,8 @@ import static com.desk.android.sdk.util.InstrumentationTestUtils.getContactUsCom
 import static com.desk.android.sdk.util.InstrumentationTestUtils.getMockedTopicResponse;
 import static com.desk.android.sdk.util.InstrumentationTestUtils.matchToolbarTitle;
 import static org.hamcrest.CoreMatchers.allOf;
-import static org.hamcrest.CoreMatchers.anything;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -103,8 +103,8 @@ public class TopicListActivityTest {
         onView(ViewMatchers.withId(R.id.topics)).check(matches(isDisplayed()));
 
         int pos = 0;
-        // click on item in the ListView
-        onData(anything()).inAdapterView(withId(android.R.id.list)).atPosition(pos).perform(click());
+        // click on item in the list
+        onView(withId(android.R.id.list)).perform(actionOnItemAtPosition(pos, click()));
 
         // verify that the toolbar title in the ArticleListActivity matches the selected Topic's name
         Topic topic = mockedTopicResponse.getEntriesAsList().get(pos);
@@ -117,8 +117,11 @@ public class TopicListActivityTest {
         intended(allOf(
                 hasExtras(allOf(
                         hasEntry(equalTo(EXTRA_MODE), equalTo(MODE_TOPIC)),
-                        hasEntry(equalTo(EXTRA_TOPIC), equalTo(topic)),
+                        hasEntry(equalTo(EXTRA_TOPIC_ID), equalTo(topic.getId())),
                         hasEntry(equalTo(EXTRA_THEME_RES_ID), equalTo(NO_THEME_RES_ID))))));
+
+        // verify that the ArticleListActivity looks up the same Topic instance
+        assertSame(topic, Desk.with(getContext()).getTopicCache().get(topic.getId()));
     }
 
     @SuppressWarnings("unchecked")
@@ -41,6 +41,7 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -219,4 +220,19 @@ public class ContactUsPropertyConfigTest {
         assertEquals("key_4", key4Properties.getKey());
         assertEquals("value_4", key4Properties.getValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getCustomFieldKeysReturnsEmptyForUnknownBrand() throws Exception {
+        assertTrue(config.getCustomFieldKeys(2).isEmpty());
+    }
+
+    @Test
+    public void getCustomFieldPropertiesMatchesNoBrandIfNotSet() throws Exception {
+        assertSame(config.getCustomFieldProperties(), config.getCustomFieldProperties(2));
+    }
+
+    @Test
+    public void getCustomFieldPropertiesReturnsSameResolvedProperties() throws Exception {
+        assertSame(config.getCustomFieldProperties(1), config.getCustomFieldProperties(1));
+    }
+}
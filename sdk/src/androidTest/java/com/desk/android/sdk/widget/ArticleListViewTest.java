@@ -30,12 +30,13 @@ import android.support.test.InstrumentationRegistry;
 import android.support.test.annotation.UiThreadTest;
 import android.support.test.rule.UiThreadTestRule;
 import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
 import android.test.suitebuilder.annotation.SmallTest;
-import android.widget.ListView;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 
 import com.desk.android.sdk.Desk;
+import com.desk.android.sdk.adapter.ArticleListAdapter;
 import com.desk.android.sdk.provider.ArticleProvider;
 import com.desk.android.sdk.test.R;
 import com.desk.android.sdk.util.DeskDefaultsRule;
@@ -185,7 +186,7 @@ public class ArticleListViewTest {
     @Test
     @UiThreadTest
     public void loadArticlesHidesList() throws Exception {
-        ListView list = getList();
+        RecyclerView list = getList();
         assertThat(list).isVisible();
         articleListView.loadArticles(1);
         assertThat(list).isGone();
@@ -203,7 +204,7 @@ public class ArticleListViewTest {
     @Test
     @UiThreadTest
     public void searchArticlesHidesList() throws Exception {
-        ListView list = getList();
+        RecyclerView list = getList();
         assertThat(list).isVisible();
         articleListView.searchArticles("query");
         assertThat(list).isGone();
@@ -229,7 +230,7 @@ public class ArticleListViewTest {
     @Test
     @UiThreadTest
     public void onPageLoadedShowsList() throws Exception {
-        ListView list = getList();
+        RecyclerView list = getList();
         articleListView.onPageLoaded(mockArticles, 1, false);
         assertThat(list).isVisible();
     }
@@ -272,9 +273,10 @@ public class ArticleListViewTest {
     @UiThreadTest
     public void onItemClickCallsListenerWithCorrectArticle() throws Exception {
         articleListView.onPageLoaded(mockArticles, 1, false);
-        ListView list = getList();
+        RecyclerView list = getList();
+        ArticleListAdapter adapter = (ArticleListAdapter) list.getAdapter();
         for (int i = 0; i < mockArticles.size(); i++) {
-            articleListView.onItemClick(list, list.getChildAt(i), i, 0);
+            articleListView.onItemClick(adapter.getItem(i));
             verify(listener).onArticleSelected(mockArticles.get(i));
         }
     }
@@ -294,7 +296,13 @@ public class ArticleListViewTest {
         articleListView.loadArticles(topicId);
         articleListView.onPageLoaded(mockArticles, 1, false);
         ArticleListView.SavedState savedState = (ArticleListView.SavedState) articleListView.onSaveInstanceState();
-        assertEquals(savedState.articles, mockArticles);
+        assertEquals(mockArticles.size(), savedState.articleIds.length);
+        for (int i = 0; i < mockArticles.size(); i++) {
+            assertEquals(mockArticles.get(i).getId(), savedState.articleIds[i]);
+        }
+        assertEquals(1, savedState.pages.length);
+        assertEquals(1, savedState.pages[0]);
+        assertEquals(0, savedState.pageStarts[0]);
         assertEquals(savedState.topicId, topicId);
         assertNull(savedState.query);
         assertEquals(savedState.mode, ArticleListView.MODE_TOPIC);
@@ -310,7 +318,7 @@ public class ArticleListViewTest {
         articleListView.loadArticles(topicId);
         articleListView.onArticleLoadError();
         ArticleListView.SavedState savedState = (ArticleListView.SavedState) articleListView.onSaveInstanceState();
-        assertTrue(savedState.articles.isEmpty());
+        assertEquals(0, savedState.articleIds.length);
         assertEquals(savedState.topicId, topicId);
         assertNull(savedState.query);
         assertEquals(savedState.mode, ArticleListView.MODE_TOPIC);
@@ -319,8 +327,24 @@ public class ArticleListViewTest {
         assertTrue(savedState.haveError);
     }
 
-    private ListView getList() {
-        return (ListView) articleListView.findViewById(android.R.id.list);
+    @Test
+    @UiThreadTest
+    public void onRestoreInstanceStateRestoresArticlesFromCache() throws Exception {
+        articleListView.loadArticles(1);
+        articleListView.onPageLoaded(mockArticles, 1, false);
+        ArticleListView.SavedState savedState = (ArticleListView.SavedState) articleListView.onSaveInstanceState();
+        articleListView = new ArticleListView(InstrumentationRegistry.getTargetContext());
+        articleListView.onRestoreInstanceState(savedState);
+        ArticleListAdapter adapter = (ArticleListAdapter) getList().getAdapter();
+        assertEquals(mockArticles.size(), adapter.getItemCount());
+        for (int i = 0; i < mockArticles.size(); i++) {
+            assertEquals(mockArticles.get(i), adapter.getItem(i));
+        }
+        assertThat(getList()).isVisible();
+    }
+
+    private RecyclerView getList() {
+        return (RecyclerView) articleListView.findViewById(android.R.id.list);
     }
 
     private ProgressBar getProgress() {
@@ -30,12 +30,13 @@ import android.support.test.InstrumentationRegistry;
 import android.support.test.annotation.UiThreadTest;
 import android.support.test.rule.UiThreadTestRule;
 import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
 import android.test.suitebuilder.annotation.SmallTest;
-import android.widget.ListView;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 
 import com.desk.android.sdk.Desk;
+import com.desk.android.sdk.adapter.TopicListAdapter;
 import com.desk.android.sdk.provider.TopicProvider;
 import com.desk.android.sdk.test.R;
 import com.desk.android.sdk.util.DeskDefaultsRule;
@@ -166,7 +167,7 @@ public class TopicListViewTest {
     @Test
     @UiThreadTest
     public void loadTopicsHidesList() throws Exception {
-        ListView list = getList();
+        RecyclerView list = getList();
         assertThat(list).isVisible();
         topicListView.loadTopics();
         assertThat(list).isGone();
@@ -192,7 +193,7 @@ public class TopicListViewTest {
     @Test
     @UiThreadTest
     public void onTopicsLoadedShowsList() throws Exception {
-        ListView list = getList();
+        RecyclerView list = getList();
         topicListView.onLoaded(Collections.singletonList(new Topic()));
         assertThat(list).isVisible();
     }
@@ -228,7 +229,10 @@ public class TopicListViewTest {
     public void onSaveInstanceStateSavesTopics() throws Exception {
         topicListView.onLoaded(mockTopics);
         TopicListView.SavedState savedState = (TopicListView.SavedState) topicListView.onSaveInstanceState();
-        assertEquals(mockTopics, savedState.topics);
+        assertEquals(mockTopics.size(), savedState.topicIds.length);
+        for (int i = 0; i < mockTopics.size(); i++) {
+            assertEquals(mockTopics.get(i).getId(), savedState.topicIds[i]);
+        }
         assertFalse(savedState.haveError);
     }
 
@@ -244,9 +248,10 @@ public class TopicListViewTest {
     @UiThreadTest
     public void onItemClickCallsListenerWithCorrectTopic() throws Exception {
         topicListView.onLoaded(mockTopics);
-        ListView list = getList();
+        RecyclerView list = getList();
+        TopicListAdapter adapter = (TopicListAdapter) list.getAdapter();
         for (int i = 0; i < mockTopics.size(); i++) {
-            topicListView.onItemClick(list, list.getChildAt(i), i, 0);
+            topicListView.onItemClick(adapter.getItem(i));
             verify(listener).onTopicSelected(mockTopics.get(i));
         }
     }
@@ -259,8 +264,22 @@ public class TopicListViewTest {
         assertNull(topicListView.getTopicSelectedListener());
     }
 
-    private ListView getList() {
-        return (ListView) topicListView.findViewById(android.R.id.list);
+    @Test
+    @UiThreadTest
+    public void onRestoreInstanceStateRestoresTopicsFromCache() throws Exception {
+        topicListView.onLoaded(mockTopics);
+        TopicListView.SavedState savedState = (TopicListView.SavedState) topicListView.onSaveInstanceState();
+        topicListView = new TopicListView(InstrumentationRegistry.getTargetContext());
+        topicListView.onRestoreInstanceState(savedState);
+        TopicListAdapter adapter = (TopicListAdapter) getList().getAdapter();
+        assertEquals(mockTopics.size(), adapter.getItemCount());
+        for (int i = 0; i < mockTopics.size(); i++) {
+            assertEquals(mockTopics.get(i), adapter.getItem(i));
+        }
+    }
+
+    private RecyclerView getList() {
+        return (RecyclerView) topicListView.findViewById(android.R.id.list);
     }
 
     private ProgressBar getProgress() {
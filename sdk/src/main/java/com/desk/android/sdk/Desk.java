@@ -27,25 +27,51 @@
 package com.desk.android.sdk;
 
 import android.content.Context;
+import android.text.TextUtils;
+import android.util.Log;
+import android.util.SparseArray;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.VisibleForTesting;
 
+import com.desk.android.sdk.cache.ArticleBodyCache;
+import com.desk.android.sdk.cache.ArticleIndex;
+import com.desk.android.sdk.cache.KnowledgeBaseStore;
+import com.desk.android.sdk.cache.ModelCache;
+import com.desk.android.sdk.cache.SearchCache;
+import com.desk.android.sdk.cache.SuggestionTrie;
+import com.desk.android.sdk.cache.WebAssetCache;
 import com.desk.android.sdk.config.ContactUsConfig;
 import com.desk.android.sdk.config.ContactUsPropertyConfig;
 import com.desk.android.sdk.config.DeskConfig;
 import com.desk.android.sdk.config.DeskPropertyConfig;
+import com.desk.android.sdk.config.RemoteContactUsConfig;
 import com.desk.android.sdk.identity.Identity;
 import com.desk.android.sdk.identity.UserIdentity;
+import com.desk.android.sdk.metrics.DeskMetrics;
+import com.desk.android.sdk.metrics.RequestMetrics;
+import com.desk.android.sdk.model.CustomFieldSchema;
 import com.desk.android.sdk.provider.ArticleProvider;
 import com.desk.android.sdk.provider.CaseProvider;
 import com.desk.android.sdk.provider.InboundMailboxProvider;
 import com.desk.android.sdk.provider.TopicProvider;
+import com.desk.android.sdk.widget.WebViewPool;
 import com.desk.java.apiclient.DeskClient;
 import com.desk.java.apiclient.DeskClientBuilder;
+import com.desk.java.apiclient.model.Article;
+import com.desk.java.apiclient.model.Topic;
 import com.squareup.okhttp.Cache;
-
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.Dispatcher;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import java.io.File;
+import java.io.IOException;
 import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * <p>Main class to interact with in the Desk SDK. This class allows you to provide various configurations
@@ -67,19 +93,70 @@ import java.util.Locale;
  * {@link UserIdentity#getEmail()} is provided the email address option will be hidden and the provided
  * email address will be used when creating a case. If {@link UserIdentity#getName()} is provided
  * the name option will be hidden and the name will be used when creating a case.</p>
+ *
+ * <p>Requests the SDK makes outside of the {@link DeskClient} go through the {@link OkHttpClient}
+ * returned by {@link #getHttpClient()}. To share connections and threads with your app pass your own
+ * client to {@link #setHttpClient(OkHttpClient)}. By default the SDK uses a client which shares
+ * OkHttp's default connection pool and the response cache with the {@link DeskClient}. The limits on
+ * concurrent requests and the connection pool of that client can be changed with
+ * {@link #setMaxRequests(int)}, {@link #setMaxRequestsPerHost(int)} and
+ * {@link #setConnectionPool(ConnectionPool)}.</p>
+ *
+ * <p>To measure where time goes in the requests made by the SDK call {@link #setMetrics(DeskMetrics)}
+ * passing a listener which will be notified with the {@link RequestMetrics} of every request.</p>
+ *
+ * <p>To move the cost of loading the configuration, creating the {@link DeskClient} and connecting
+ * to the Desk site off of the first help center screen call {@link #prewarm()} when your app starts.</p>
  */
 public final class Desk {
 
     @VisibleForTesting
     static final long CACHE_MAX_SIZE = 20 * 1024 * 1024; // 20 mb
 
+    /**
+     * The SDK only talks to the Desk site so allow fewer concurrent requests to it than OkHttp's
+     * default of 5 to leave room for the api client
+     */
+    @VisibleForTesting
+    static final int MAX_REQUESTS_PER_HOST = 3;
+
+    private static final int MAX_REQUESTS = 64; // OkHttp's default
+
+    /**
+     * Articles are cached with their bodies so the cache is limited by their size in memory rather
+     * than their amount
+     */
+    private static final int MAX_CACHED_ARTICLES_SIZE = 4 * 1024 * 1024; // 4 mb
+    private static final int CACHED_ARTICLE_OVERHEAD_SIZE = 512;
+    private static final int MAX_CACHED_TOPICS = 500;
+
     private static final boolean DEBUG = false;
+    private static final String TAG = "Desk";
     private static final String CONTACT_US_PATH = "/customer/portal/emails/new";
+    private static final String ARTICLE_BODY_CACHE_DIRECTORY = "desk_articles";
+
+    // shared by the caches so recreating them after clearClient() doesn't leave a thread behind
+    private static final Executor BACKGROUND_EXECUTOR = Executors.newSingleThreadExecutor();
 
     private static Desk singleton;
 
     private Context context;
     private DeskClient client;
+    private Cache responseCache;
+    private OkHttpClient httpClient;
+    private boolean appHttpClient;
+    private int maxRequests = MAX_REQUESTS;
+    private int maxRequestsPerHost = MAX_REQUESTS_PER_HOST;
+    private ConnectionPool connectionPool;
+    private KnowledgeBaseStore knowledgeBaseStore;
+    private ArticleBodyCache articleBodyCache;
+    private SearchCache searchCache;
+    private ArticleIndex articleIndex;
+    private SuggestionTrie suggestionTrie;
+    private ModelCache<Article> articleCache;
+    private ModelCache<Topic> topicCache;
+    private WebViewPool webViewPool;
+    private WebAssetCache webAssetCache;
 
     private CaseProvider caseProvider;
     private ArticleProvider articleProvider;
@@ -89,6 +166,11 @@ public final class Desk {
     private Identity identity;
     private DeskConfig config;
     private ContactUsConfig contactUsConfig;
+    private CustomFieldSchema customFieldSchema;
+    private SparseArray<CustomFieldSchema> brandCustomFieldSchemas;
+    private DeskMetrics metrics;
+
+    private Executor prewarmExecutor;
 
     private Desk(Context context) {
         this.context = context.getApplicationContext();
@@ -126,7 +208,7 @@ public final class Desk {
      * @return the desk config
      */
     @NonNull
-    public DeskConfig getConfig() {
+    public synchronized DeskConfig getConfig() {
         if (config == null) {
             config = new DeskPropertyConfig(context);
         }
@@ -157,27 +239,123 @@ public final class Desk {
      * @param contactUsConfig the contact us config
      * @return the Desk instance
      */
-    public Desk setContactUsConfig(@NonNull ContactUsConfig contactUsConfig) {
+    public synchronized Desk setContactUsConfig(@NonNull ContactUsConfig contactUsConfig) {
         //noinspection ConstantConditions
         if (contactUsConfig == null) {
             throw new NullPointerException("ContactUsConfig cannot be null.");
         }
         this.contactUsConfig = contactUsConfig;
+        customFieldSchema = null;
+        brandCustomFieldSchemas = null;
+        return this;
+    }
+
+    /**
+     * Set the listener to be notified with the {@link RequestMetrics} of every request made through
+     * the providers.
+     * @param metrics the metrics listener or null to stop reporting
+     * @return the Desk instance
+     */
+    public synchronized Desk setMetrics(@Nullable DeskMetrics metrics) {
+        this.metrics = metrics;
+        if (caseProvider != null) {
+            caseProvider.setMetrics(metrics);
+        }
+        if (articleProvider != null) {
+            articleProvider.setMetrics(metrics);
+        }
+        if (topicProvider != null) {
+            topicProvider.setMetrics(metrics);
+        }
+        if (mInboundMailboxProvider != null) {
+            mInboundMailboxProvider.setMetrics(metrics);
+        }
         return this;
     }
 
+    /**
+     * Get the metrics listener
+     * @return the metrics listener
+     */
+    @Nullable
+    public DeskMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Gets the contact us config or creates a new {@link ContactUsPropertyConfig}.
      * @return the config
      */
     @NonNull
-    public ContactUsConfig getContactUsConfig() {
+    public synchronized ContactUsConfig getContactUsConfig() {
         if (contactUsConfig == null) {
             contactUsConfig = new ContactUsPropertyConfig(context);
         }
         return contactUsConfig;
     }
 
+    /**
+     * Drops the custom field schemas resolved from the contact us config. Configs whose values change
+     * after they are set, such as {@link RemoteContactUsConfig}, call this
+     * when they change. Schemas are only kept for the {@link ContactUsPropertyConfig} and the
+     * {@link RemoteContactUsConfig}; those of any other config, including
+     * subclasses of these, are resolved on every call so values computed by the config stay current.
+     */
+    public synchronized void notifyContactUsConfigChanged() {
+        customFieldSchema = null;
+        brandCustomFieldSchemas = null;
+    }
+
+    /**
+     * Gets the custom field schema resolved from {@link ContactUsConfig#getCustomFieldProperties()}.
+     * The schema of one of the SDK's own configs is resolved the first time it is requested after the
+     * config is set, see {@link #notifyContactUsConfigChanged()}.
+     * @return the schema
+     */
+    @NonNull
+    public synchronized CustomFieldSchema getCustomFieldSchema() {
+        ContactUsConfig config = getContactUsConfig();
+        if (!isSchemaCacheable(config)) {
+            return CustomFieldSchema.from(config.getCustomFieldProperties());
+        }
+        if (customFieldSchema == null) {
+            customFieldSchema = CustomFieldSchema.from(config.getCustomFieldProperties());
+        }
+        return customFieldSchema;
+    }
+
+    /**
+     * Gets the custom field schema resolved from {@link ContactUsConfig#getCustomFieldProperties(int)}.
+     * The schema of one of the SDK's own configs is resolved the first time it is requested after the
+     * config is set, see {@link #notifyContactUsConfigChanged()}.
+     * @param brandId the brand id
+     * @return the schema
+     */
+    @NonNull
+    public synchronized CustomFieldSchema getCustomFieldSchema(int brandId) {
+        ContactUsConfig config = getContactUsConfig();
+        if (!isSchemaCacheable(config)) {
+            return CustomFieldSchema.from(config.getCustomFieldProperties(brandId));
+        }
+        if (brandCustomFieldSchemas == null) {
+            brandCustomFieldSchemas = new SparseArray<>();
+        }
+        CustomFieldSchema schema = brandCustomFieldSchemas.get(brandId);
+        if (schema == null) {
+            schema = CustomFieldSchema.from(config.getCustomFieldProperties(brandId));
+            brandCustomFieldSchemas.put(brandId, schema);
+        }
+        return schema;
+    }
+
+    /**
+     * Only the SDK's own configs are known to return the same custom fields until they notify a change,
+     * a config supplied by the app may compute them on every call.
+     */
+    private static boolean isSchemaCacheable(ContactUsConfig config) {
+        return config.getClass() == ContactUsPropertyConfig.class || config.getClass() == RemoteContactUsConfig.class;
+    }
+
     /**
      * Releases the singleton instance for testing purposes
      */
@@ -191,17 +369,321 @@ public final class Desk {
      * @return the Desk client
      */
     @NonNull
-    public DeskClient getClient() {
+    public synchronized DeskClient getClient() {
         if (client == null) {
-            client = DeskClient.create(new DeskClientBuilder(getConfig().getHostname(), getConfig().getApiToken()).responseCache(getResponseCache(context)));
+            client = DeskClient.create(new DeskClientBuilder(getConfig().getHostname(), getConfig().getApiToken()).responseCache(getCache()));
         }
         return client;
     }
 
-    public void clearClient() {
+    public synchronized void clearClient() {
 
         // clear client so it gets recreated
         this.client = null;
+
+        // the providers hold on to the client and the store so they have to be recreated as well
+        this.caseProvider = null;
+        this.articleProvider = null;
+        this.topicProvider = null;
+        this.mInboundMailboxProvider = null;
+
+        // keep using the store if the site hasn't changed, otherwise release its thread and database
+        if (knowledgeBaseStore != null && !TextUtils.equals(knowledgeBaseStore.getHostname(), getConfig().getHostname())) {
+            knowledgeBaseStore.close();
+            knowledgeBaseStore = null;
+        }
+        this.articleBodyCache = null;
+        this.searchCache = null;
+        this.articleIndex = null;
+        this.suggestionTrie = null;
+        this.articleCache = null;
+        this.topicCache = null;
+        this.webAssetCache = null;
+    }
+
+    /**
+     * Set the {@link OkHttpClient} used for requests the SDK makes outside of the {@link DeskClient},
+     * e.g. to share its connection pool and dispatcher with your app.
+     * @param httpClient the http client
+     * @return the Desk instance
+     */
+    public synchronized Desk setHttpClient(@NonNull OkHttpClient httpClient) {
+        //noinspection ConstantConditions
+        if (httpClient == null) {
+            throw new NullPointerException("OkHttpClient cannot be null.");
+        }
+        this.httpClient = httpClient;
+        this.appHttpClient = true;
+        this.webAssetCache = null;
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of concurrent requests of the http client the SDK creates. Has no
+     * effect on a client set via {@link #setHttpClient(OkHttpClient)}.
+     * @param maxRequests the maximum amount of concurrent requests, 64 by default
+     * @return the Desk instance
+     */
+    public synchronized Desk setMaxRequests(int maxRequests) {
+        if (maxRequests < 1) {
+            throw new IllegalArgumentException("maxRequests < 1: " + maxRequests);
+        }
+        this.maxRequests = maxRequests;
+        if (httpClient != null && !appHttpClient) {
+            httpClient.getDispatcher().setMaxRequests(maxRequests);
+        }
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of concurrent requests to the Desk site of the http client the SDK
+     * creates. Has no effect on a client set via {@link #setHttpClient(OkHttpClient)}.
+     * @param maxRequestsPerHost the maximum amount of concurrent requests per host, 3 by default
+     * @return the Desk instance
+     */
+    public synchronized Desk setMaxRequestsPerHost(int maxRequestsPerHost) {
+        if (maxRequestsPerHost < 1) {
+            throw new IllegalArgumentException("maxRequestsPerHost < 1: " + maxRequestsPerHost);
+        }
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        if (httpClient != null && !appHttpClient) {
+            httpClient.getDispatcher().setMaxRequestsPerHost(maxRequestsPerHost);
+        }
+        return this;
+    }
+
+    /**
+     * Sets the connection pool of the http client the SDK creates, e.g. to keep more idle
+     * connections alive or for longer than OkHttp's default pool does. Has no effect on a client set
+     * via {@link #setHttpClient(OkHttpClient)}.
+     * @param connectionPool the connection pool or null to share OkHttp's default pool
+     * @return the Desk instance
+     */
+    public synchronized Desk setConnectionPool(@Nullable ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+        if (httpClient != null && !appHttpClient) {
+            httpClient.setConnectionPool(getConnectionPool());
+        }
+        return this;
+    }
+
+    /**
+     * Gets the {@link OkHttpClient} set via {@link #setHttpClient(OkHttpClient)} or creates one which
+     * shares OkHttp's default connection pool, unless another one was set via
+     * {@link #setConnectionPool(ConnectionPool)}, and the response cache with the {@link DeskClient}.
+     * @return the http client
+     */
+    @NonNull
+    public synchronized OkHttpClient getHttpClient() {
+        if (httpClient == null) {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(maxRequests);
+            dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+            httpClient = new OkHttpClient();
+            httpClient.setConnectionPool(getConnectionPool());
+            httpClient.setDispatcher(dispatcher);
+            httpClient.setCache(getCache());
+        }
+        return httpClient;
+    }
+
+    private ConnectionPool getConnectionPool() {
+        return connectionPool != null ? connectionPool : ConnectionPool.getDefault();
+    }
+
+    /**
+     * Gets the response cache shared by the {@link DeskClient} and the default http client. Only one
+     * {@link Cache} may use the cache directory at a time.
+     */
+    private synchronized Cache getCache() {
+        if (responseCache == null) {
+            responseCache = getResponseCache(context);
+        }
+        return responseCache;
+    }
+
+    /**
+     * Gets or creates the {@link KnowledgeBaseStore} for the hostname in the {@link DeskConfig}.
+     * @return the knowledge base store
+     */
+    @NonNull
+    public synchronized KnowledgeBaseStore getKnowledgeBaseStore() {
+        if (knowledgeBaseStore == null) {
+            knowledgeBaseStore = new KnowledgeBaseStore(context, getConfig().getHostname());
+        }
+        return knowledgeBaseStore;
+    }
+
+    /**
+     * Gets or creates the {@link ArticleBodyCache} of the articles viewed on the Desk site with the
+     * hostname in the {@link DeskConfig}.
+     * @return the article body cache
+     */
+    @NonNull
+    public synchronized ArticleBodyCache getArticleBodyCache() {
+        if (articleBodyCache == null) {
+            String hostname = getConfig().getHostname();
+            File directory = new File(new File(context.getCacheDir(), ARTICLE_BODY_CACHE_DIRECTORY),
+                    hostname == null ? "default" : hostname.replaceAll("[^A-Za-z0-9.]", "_"));
+            articleBodyCache = new ArticleBodyCache(directory, ArticleBodyCache.DEFAULT_MAX_SIZE,
+                    BACKGROUND_EXECUTOR);
+        }
+        return articleBodyCache;
+    }
+
+    /**
+     * Gets or creates the {@link SearchCache} which keeps recent search results in memory and in
+     * the {@link KnowledgeBaseStore}.
+     * @return the search cache
+     */
+    @NonNull
+    public synchronized SearchCache getSearchCache() {
+        if (searchCache == null) {
+            searchCache = new SearchCache(SearchCache.DEFAULT_MAX_ARTICLES, SearchCache.DEFAULT_TTL_MILLIS,
+                    getKnowledgeBaseStore());
+        }
+        return searchCache;
+    }
+
+    /**
+     * Gets or creates the {@link ArticleIndex} of the articles loaded so far, used to search while
+     * the api is being searched or is unreachable.
+     * @return the article index
+     */
+    @NonNull
+    public synchronized ArticleIndex getArticleIndex() {
+        if (articleIndex == null) {
+            articleIndex = new ArticleIndex(ArticleIndex.DEFAULT_MAX_ARTICLES, BACKGROUND_EXECUTOR);
+        }
+        return articleIndex;
+    }
+
+    /**
+     * Gets or creates the {@link SuggestionTrie} of article subjects, topic names and recent queries
+     * used to suggest searches as the user types.
+     * @return the suggestion trie
+     */
+    @NonNull
+    public synchronized SuggestionTrie getSuggestionTrie() {
+        if (suggestionTrie == null) {
+            suggestionTrie = new SuggestionTrie(BACKGROUND_EXECUTOR);
+        }
+        return suggestionTrie;
+    }
+
+    /**
+     * Gets or creates the {@link ModelCache} views use to restore the articles they displayed from
+     * the ids in their saved state.
+     * @return the article cache
+     */
+    @NonNull
+    public synchronized ModelCache<Article> getArticleCache() {
+        if (articleCache == null) {
+            articleCache = new ModelCache<Article>(MAX_CACHED_ARTICLES_SIZE) {
+                @Override
+                protected int getId(Article article) {
+                    return article.getId();
+                }
+
+                @Override
+                protected int sizeOf(Article article) {
+                    // strings take two bytes per char
+                    String body = article.getBody();
+                    String subject = article.getSubject();
+                    return CACHED_ARTICLE_OVERHEAD_SIZE + 2 * ((body == null ? 0 : body.length())
+                            + (subject == null ? 0 : subject.length()));
+                }
+            };
+        }
+        return articleCache;
+    }
+
+    /**
+     * Gets or creates the {@link ModelCache} views use to restore the topics they displayed from
+     * the ids in their saved state.
+     * @return the topic cache
+     */
+    @NonNull
+    public synchronized ModelCache<Topic> getTopicCache() {
+        if (topicCache == null) {
+            topicCache = new ModelCache<Topic>(MAX_CACHED_TOPICS) {
+                @Override
+                protected int getId(Topic topic) {
+                    return topic.getId();
+                }
+            };
+        }
+        return topicCache;
+    }
+
+    /**
+     * Gets or creates the {@link WebViewPool} the article and contact us screens take their web
+     * views from.
+     * @return the web view pool
+     */
+    @NonNull
+    public synchronized WebViewPool getWebViewPool() {
+        if (webViewPool == null) {
+            webViewPool = new WebViewPool(context);
+        }
+        return webViewPool;
+    }
+
+    /**
+     * Gets or creates the {@link WebAssetCache} which serves the static assets of Desk site pages
+     * shown in web views from the response cache of the {@link #getHttpClient()}.
+     * @return the web asset cache
+     */
+    @NonNull
+    public synchronized WebAssetCache getWebAssetCache() {
+        if (webAssetCache == null) {
+            webAssetCache = new WebAssetCache(getHttpClient(), getConfig().getHostname());
+        }
+        return webAssetCache;
+    }
+
+    /**
+     * Does the work needed before the first help center screen can load on a background thread;
+     * loads the configuration, creates the {@link DeskClient}, its response cache and the providers,
+     * opens the {@link KnowledgeBaseStore} and opens a connection to the Desk site so the first
+     * request can reuse it. A web view is also created in the {@link WebViewPool} once the main
+     * thread is idle. Safe to call more than once.
+     * @return the Desk instance
+     */
+    public Desk prewarm() {
+        synchronized (this) {
+            if (prewarmExecutor == null) {
+                prewarmExecutor = Executors.newSingleThreadExecutor();
+            }
+        }
+        prewarmExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                getContactUsConfig();
+                getArticleProvider();
+                getTopicProvider();
+                getKnowledgeBaseStore().open();
+                preconnect(getClient().getUrl("/"));
+            }
+        });
+        getWebViewPool().prewarm();
+        return this;
+    }
+
+    /**
+     * Sends a HEAD request to the url so the DNS lookup and TLS handshake are done and the
+     * connection is left in the connection pool of the http client for later requests to reuse.
+     */
+    private void preconnect(String url) {
+        Request request = new Request.Builder().url(url).head().build();
+        try {
+            Response response = getHttpClient().newCall(request).execute();
+            response.body().close();
+        } catch (IOException | IllegalArgumentException e) {
+            if (DEBUG) {
+                Log.d(TAG, "Unable to preconnect to " + url, e);
+            }
+        }
     }
 
     /**
@@ -218,9 +700,10 @@ public final class Desk {
      * @return the case provider
      */
     @NonNull
-    public CaseProvider getCaseProvider() {
+    public synchronized CaseProvider getCaseProvider() {
         if (caseProvider == null) {
             caseProvider = new CaseProvider(getClient().cases());
+            caseProvider.setMetrics(metrics);
         }
         return caseProvider;
     }
@@ -230,9 +713,13 @@ public final class Desk {
      * @return the case provider
      */
     @NonNull
-    public ArticleProvider getArticleProvider() {
+    public synchronized ArticleProvider getArticleProvider() {
         if (articleProvider == null) {
-            articleProvider = new ArticleProvider(getClient().articles());
+            articleProvider = new ArticleProvider(getClient().articles(), getKnowledgeBaseStore());
+            articleProvider.setMetrics(metrics);
+            articleProvider.setSearchCache(getSearchCache());
+            articleProvider.setArticleIndex(getArticleIndex());
+            articleProvider.setSuggestionTrie(getSuggestionTrie());
         }
         return articleProvider;
     }
@@ -242,9 +729,11 @@ public final class Desk {
      * @return the case provider
      */
     @NonNull
-    public TopicProvider getTopicProvider() {
+    public synchronized TopicProvider getTopicProvider() {
         if (topicProvider == null) {
-            topicProvider = new TopicProvider(getClient().topics());
+            topicProvider = new TopicProvider(getClient().topics(), getKnowledgeBaseStore());
+            topicProvider.setMetrics(metrics);
+            topicProvider.setSuggestionTrie(getSuggestionTrie());
         }
         return topicProvider;
     }
@@ -254,9 +743,10 @@ public final class Desk {
      * @return the case provider
      */
     @NonNull
-    public InboundMailboxProvider getInboundMailboxProvider() {
+    public synchronized InboundMailboxProvider getInboundMailboxProvider() {
         if (mInboundMailboxProvider == null) {
             mInboundMailboxProvider = new InboundMailboxProvider(getClient().inboundMailboxes());
+            mInboundMailboxProvider.setMetrics(metrics);
         }
         return mInboundMailboxProvider;
     }
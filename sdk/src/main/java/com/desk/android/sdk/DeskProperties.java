@@ -28,6 +28,7 @@ package com.desk.android.sdk;
 
 import android.content.Context;
 import android.content.res.AssetManager;
+import android.support.annotation.VisibleForTesting;
 
 import java.io.IOException;
 import java.util.Properties;
@@ -36,11 +37,15 @@ import java.util.Properties;
  * <p>Loads properties located in a 'desk.properties' file which lives in the app's assets directory
  * and provides methods to get specific properties.</p>
  *
+ * <p>Apps which apply 'desk-properties.gradle' have the file compiled into a generated class at build
+ * time, in which case the properties are read from that class instead of the assets.</p>
+ *
  * Created by Matt Kranzler on 7/6/15.
  */
 public class DeskProperties extends Properties {
 
     private static final String PROPERTIES_FILE = "desk.properties";
+    static final String GENERATED_CLASS = "com.desk.android.sdk.GeneratedDeskProperties";
 
     private static DeskProperties singleton;
 
@@ -51,9 +56,13 @@ public class DeskProperties extends Properties {
         return singleton;
     }
 
-    private DeskProperties() {}
+    @VisibleForTesting
+    DeskProperties() {}
 
     private DeskProperties(Context context) {
+        if (loadPropertiesFromClass(GENERATED_CLASS)) {
+            return;
+        }
         try {
             loadPropertiesFromAssets(context.getAssets());
         } catch (IOException e) {
@@ -65,4 +74,28 @@ public class DeskProperties extends Properties {
         load(assetManager.open(PROPERTIES_FILE));
     }
 
+    /**
+     * Loads the properties from the public static {@code KEYS} and {@code VALUES} arrays of a class
+     * generated by 'desk-properties.gradle'.
+     * @param className the name of the generated class
+     * @return true if the class exists and its properties were loaded, false otherwise
+     */
+    @VisibleForTesting
+    boolean loadPropertiesFromClass(String className) {
+        try {
+            Class<?> generated = Class.forName(className);
+            String[] keys = (String[]) generated.getField("KEYS").get(null);
+            String[] values = (String[]) generated.getField("VALUES").get(null);
+            if (keys.length != values.length) {
+                return false;
+            }
+            for (int i = 0; i < keys.length; i++) {
+                put(keys[i], values[i]);
+            }
+            return true;
+        } catch (ClassNotFoundException | NoSuchFieldException | IllegalAccessException | ClassCastException e) {
+            return false;
+        }
+    }
+
 }
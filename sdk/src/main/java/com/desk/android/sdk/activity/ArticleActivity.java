@@ -32,9 +32,15 @@ import android.os.Bundle;
 import android.support.annotation.StyleRes;
 import android.support.v7.app.AppCompatActivity;
 
+import com.desk.android.sdk.Desk;
 import com.desk.android.sdk.R;
+import com.desk.android.sdk.cache.ArticleBodyCache;
+import com.desk.android.sdk.cache.KnowledgeBaseStore;
+import com.desk.android.sdk.error.ErrorResponse;
 import com.desk.android.sdk.fragment.ContactUsHelper;
 import com.desk.android.sdk.helper.DeskThemeHelper;
+import com.desk.android.sdk.provider.ArticleProvider;
+import com.desk.android.sdk.provider.RequestHandle;
 import com.desk.android.sdk.widget.ArticleView;
 import com.desk.java.apiclient.model.Article;
 
@@ -45,17 +51,30 @@ import static com.desk.android.sdk.helper.DeskThemeHelper.NO_THEME_RES_ID;
  * <p>Displays article details within an {@link com.desk.android.sdk.widget.ArticleView}.</p>
  *
  * <p>To start this activity call {@link #start(Activity, Article)} or
- * {@link #start(Activity, Article, int)}.</p>
+ * {@link #start(Activity, Article, int)}. Only the id of the article is passed in the intent, the
+ * article itself is looked up in {@link Desk#getArticleCache()} and read from the
+ * {@link ArticleBodyCache} or the {@link KnowledgeBaseStore} when the process has been killed in the
+ * meantime. The article is then fetched with the {@link ArticleProvider}, which shows it if neither
+ * had it and updates it if it has changed since.</p>
  *
  * Created by Matt Kranzler on 6/30/15.
  */
 public class ArticleActivity extends AppCompatActivity {
 
+    public static final String EXTRA_ARTICLE_ID = "com.desk.android.sdk.EXTRA_ARTICLE_ID";
+
+    /**
+     * Extra for the {@link Article} itself. Still honored when present, but only the id should be
+     * passed in {@link #EXTRA_ARTICLE_ID}.
+     * @deprecated use {@link #start(Activity, Article)} or pass {@link #EXTRA_ARTICLE_ID}
+     */
+    @Deprecated
     public static final String EXTRA_ARTICLE = "com.desk.android.sdk.EXTRA_ARTICLE";
 
     private ArticleView mArticleDetails;
     private Article mArticle;
     private DeskThemeHelper mThemeHelper;
+    private RequestHandle mFetchHandle;
 
     /**
      * View the details of the article provided
@@ -73,8 +92,9 @@ public class ArticleActivity extends AppCompatActivity {
      * @param themeResId the resource id of the theme to use
      */
     public static void start(Activity activity, Article article, @StyleRes int themeResId) {
+        Desk.with(activity).getArticleCache().put(article);
         Intent intent = new Intent(activity, ArticleActivity.class);
-        intent.putExtra(EXTRA_ARTICLE, article);
+        intent.putExtra(EXTRA_ARTICLE_ID, article.getId());
         intent.putExtra(EXTRA_THEME_RES_ID, themeResId);
         activity.startActivity(intent);
     }
@@ -84,11 +104,109 @@ public class ArticleActivity extends AppCompatActivity {
         mThemeHelper = new DeskThemeHelper(this);
         super.onCreate(savedInstanceState);
         ContactUsHelper.attach(this);
-        mArticle = (Article) getIntent().getSerializableExtra(EXTRA_ARTICLE);
         setContentView(R.layout.article_activity);
         mArticleDetails = (ArticleView) findViewById(R.id.article_details);
+        int articleId = getIntent().getIntExtra(EXTRA_ARTICLE_ID, 0);
+        @SuppressWarnings("deprecation")
+        Article passedArticle = (Article) getIntent().getSerializableExtra(EXTRA_ARTICLE);
+        if (passedArticle != null) {
+            Desk.with(this).getArticleCache().put(passedArticle);
+            articleId = passedArticle.getId();
+        }
+        Article article = Desk.with(this).getArticleCache().get(articleId);
+
+        // articles found in the ArticleIndex come without their body
+        if (article != null && article.getBody() != null) {
+            showArticle(article);
+        } else {
+            loadArticle(articleId);
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        if (mFetchHandle != null) {
+            mFetchHandle.cancel();
+        }
+        super.onDestroy();
+    }
+
+    /**
+     * Loads the article when the process was killed since it was selected. An article viewed before
+     * is shown from the {@link ArticleBodyCache} right away, replaced by the copy in the
+     * {@link KnowledgeBaseStore} if that differs and then revalidated with the api in the background.
+     */
+    private void loadArticle(final int articleId) {
+        final Desk desk = Desk.with(this);
+        desk.getArticleBodyCache().load(mThemeHelper.getBrandId(), articleId, new KnowledgeBaseStore.LoadCallback<Article>() {
+            @Override
+            public void onLoaded(Article cached) {
+                if (isFinishing()) {
+                    return;
+                }
+                if (cached != null) {
+                    desk.getArticleCache().put(cached);
+                    showArticle(cached);
+                }
+                desk.getKnowledgeBaseStore().loadArticle(articleId, new KnowledgeBaseStore.LoadCallback<Article>() {
+                    @Override
+                    public void onLoaded(Article stored) {
+                        if (isFinishing()) {
+                            return;
+                        }
+                        if (stored != null && (mArticle == null || !isSameContent(mArticle, stored))) {
+                            desk.getArticleCache().put(stored);
+                            showArticle(stored);
+                        }
+                        fetchArticle(articleId);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Fetches the article from the api and shows it unless the same content is shown already. Finishes
+     * if the article can't be fetched and there is no copy to show.
+     */
+    private void fetchArticle(int articleId) {
+        final Desk desk = Desk.with(this);
+        mFetchHandle = desk.getArticleProvider().getArticle(articleId, new ArticleProvider.ArticleCallback() {
+            @Override
+            public void onArticleLoaded(Article article) {
+                if (isFinishing()) {
+                    return;
+                }
+                if (mArticle == null || !isSameContent(mArticle, article)) {
+                    desk.getArticleCache().put(article);
+                    showArticle(article);
+                }
+            }
+
+            @Override
+            public void onArticleLoadError(ErrorResponse error) {
+                if (!isFinishing() && mArticle == null) {
+                    finish();
+                }
+            }
+        });
+    }
+
+    private static boolean isSameContent(Article a, Article b) {
+        return equals(a.getSubject(), b.getSubject()) && equals(a.getBody(), b.getBody());
+    }
+
+    private static boolean equals(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private void showArticle(Article article) {
+        mArticle = article;
         mArticleDetails.loadArticle(mArticle);
         setTitle(mArticle.getSubject());
+
+        // keep the article so it opens instantly and offline the next time
+        Desk.with(this).getArticleBodyCache().put(mThemeHelper.getBrandId(), mArticle);
     }
 
     @Override
@@ -33,8 +33,10 @@ import android.support.annotation.StyleRes;
 import android.support.annotation.VisibleForTesting;
 import android.support.v7.app.AppCompatActivity;
 
+import com.desk.android.sdk.Desk;
 import com.desk.android.sdk.R;
 import com.desk.android.sdk.brand.BrandProvider;
+import com.desk.android.sdk.cache.KnowledgeBaseStore;
 import com.desk.android.sdk.fragment.ContactUsHelper;
 import com.desk.android.sdk.fragment.SearchViewHelper;
 import com.desk.android.sdk.helper.DeskThemeHelper;
@@ -43,6 +45,7 @@ import com.desk.java.apiclient.model.Article;
 import com.desk.java.apiclient.model.Topic;
 
 import static com.desk.android.sdk.helper.DeskThemeHelper.EXTRA_THEME_RES_ID;
+import static com.desk.android.sdk.provider.ArticleProvider.ALL_TOPICS;
 import static com.desk.android.sdk.helper.DeskThemeHelper.NO_THEME_RES_ID;
 
 /**
@@ -55,18 +58,37 @@ import static com.desk.android.sdk.helper.DeskThemeHelper.NO_THEME_RES_ID;
  * or {@link #start(Activity, String, int)}. To search for articles with a topic call either
  * {@link #start(Activity, Topic, String)} or {@link #start(Activity, Topic, String, int)}.</p>
  *
+ * <p>In both modes the articles are searched as the user types in the search view and the results
+ * replace the list in place, limited to the topic if there is one. Clearing or closing the search
+ * view shows the articles of the topic or the results of the original search again. Submitting the
+ * search opens the results in a new {@link ArticleListActivity}.</p>
+ *
+ * <p>Only the id of a topic is passed in the intent, the topic itself is looked up in
+ * {@link Desk#getTopicCache()} and read from the {@link KnowledgeBaseStore} when the process has been
+ * killed in the meantime.</p>
+ *
  * <p>To display only articles for a specific brand, create a custom theme that contains the {@link com.desk.android.sdk.R.attr#dk_brandId}
  * attribute and call a start method that support a custom theme.</p>
  *
  * Created by Matt Kranzler on 6/30/15.
  */
 public class ArticleListActivity extends AppCompatActivity implements ArticleListView.ArticleSelectedListener,
-        SearchViewHelper.SearchListener, BrandProvider {
+        SearchViewHelper.LiveSearchListener, BrandProvider {
+
+    @VisibleForTesting static final String EXTRA_TOPIC_ID = "com.desk.android.sdk.EXTRA_TOPIC_ID";
 
+    /**
+     * Extra for the {@link Topic} itself. Still honored when present, but only the id is passed by
+     * the start methods.
+     * @deprecated use one of the start methods
+     */
+    @Deprecated
     @VisibleForTesting static final String EXTRA_TOPIC = "com.desk.android.sdk.EXTRA_TOPIC";
     @VisibleForTesting static final String EXTRA_QUERY = "com.desk.android.sdk.EXTRA_QUERY";
     @VisibleForTesting static final String EXTRA_MODE = "com.desk.android.sdk.EXTRA_MODE";
 
+    private static final String STATE_SHOWING_LIVE_RESULTS = "showingLiveResults";
+
     @VisibleForTesting static final int MODE_TOPIC = 1;
     @VisibleForTesting static final int MODE_SEARCH = 2;
 
@@ -74,8 +96,10 @@ public class ArticleListActivity extends AppCompatActivity implements ArticleLis
     private SearchViewHelper mSearchViewHelper;
     private ArticleListView mArticlesView;
     private int mMode;
+    private int mTopicId;
     private Topic mTopic;
     private String mQuery;
+    private boolean mShowingLiveResults;
 
     /**
      * View a list of articles for a topic
@@ -93,9 +117,10 @@ public class ArticleListActivity extends AppCompatActivity implements ArticleLis
      * @param themeResId the resource id of the theme to use
      */
     public static void start(Activity activity, Topic topic, @StyleRes int themeResId) {
+        Desk.with(activity).getTopicCache().put(topic);
         Intent intent = new Intent(activity, ArticleListActivity.class);
         intent.putExtra(EXTRA_MODE, MODE_TOPIC);
-        intent.putExtra(EXTRA_TOPIC, topic);
+        intent.putExtra(EXTRA_TOPIC_ID, topic.getId());
         intent.putExtra(EXTRA_THEME_RES_ID, themeResId);
         activity.startActivity(intent);
     }
@@ -117,11 +142,7 @@ public class ArticleListActivity extends AppCompatActivity implements ArticleLis
      * @param themeResId the resource id of the theme to use
      */
     public static void start(Activity activity, String query, @StyleRes int themeResId) {
-        Intent intent = new Intent(activity, ArticleListActivity.class);
-        intent.putExtra(EXTRA_MODE, MODE_SEARCH);
-        intent.putExtra(EXTRA_QUERY, query);
-        intent.putExtra(EXTRA_THEME_RES_ID, themeResId);
-        activity.startActivity(intent);
+        startSearch(activity, ALL_TOPICS, query, themeResId);
     }
 
     /**
@@ -143,10 +164,17 @@ public class ArticleListActivity extends AppCompatActivity implements ArticleLis
      * @param themeResId the resource id of the theme to use
      */
     public static void start(Activity activity, Topic topic, String query, @StyleRes int themeResId) {
+        Desk.with(activity).getTopicCache().put(topic);
+        startSearch(activity, topic.getId(), query, themeResId);
+    }
+
+    private static void startSearch(Activity activity, int topicId, String query, @StyleRes int themeResId) {
         Intent intent = new Intent(activity, ArticleListActivity.class);
         intent.putExtra(EXTRA_MODE, MODE_SEARCH);
         intent.putExtra(EXTRA_QUERY, query);
-        intent.putExtra(EXTRA_TOPIC, topic);
+        if (topicId != ALL_TOPICS) {
+            intent.putExtra(EXTRA_TOPIC_ID, topicId);
+        }
         intent.putExtra(EXTRA_THEME_RES_ID, themeResId);
         activity.startActivity(intent);
     }
@@ -164,7 +192,13 @@ public class ArticleListActivity extends AppCompatActivity implements ArticleLis
 
     private void handleIntent(Intent intent, boolean haveSavedState) {
         mMode = intent.getIntExtra(EXTRA_MODE, 0);
-        mTopic = (Topic) intent.getSerializableExtra(EXTRA_TOPIC);
+        mTopicId = intent.getIntExtra(EXTRA_TOPIC_ID, ALL_TOPICS);
+        @SuppressWarnings("deprecation")
+        Topic passedTopic = (Topic) intent.getSerializableExtra(EXTRA_TOPIC);
+        if (passedTopic != null) {
+            Desk.with(this).getTopicCache().put(passedTopic);
+            mTopicId = passedTopic.getId();
+        }
         mQuery = intent.getStringExtra(EXTRA_QUERY);
         switch (mMode) {
             case MODE_TOPIC:
@@ -173,6 +207,9 @@ public class ArticleListActivity extends AppCompatActivity implements ArticleLis
                 break;
             case MODE_SEARCH:
                 handleSearchMode(haveSavedState);
+                mSearchViewHelper = SearchViewHelper.attach(this, mTopicId != ALL_TOPICS
+                        ? mThemeHelper.getArticlesOfTopicSearchQueryHint()
+                        : mThemeHelper.getAllArticlesSearchQueryHint());
                 break;
             default:
                 throw new IllegalStateException("Mode " + mMode + " is unsupported.");
@@ -180,13 +217,37 @@ public class ArticleListActivity extends AppCompatActivity implements ArticleLis
     }
 
     private void handleTopicMode(boolean haveSavedState) {
-        if (mTopic == null) {
-            throw new IllegalStateException("Mode " + mMode + " requires a " + EXTRA_TOPIC + " passed as an intent extra.");
+        if (mTopicId == ALL_TOPICS) {
+            throw new IllegalStateException("Mode " + mMode + " requires a " + EXTRA_TOPIC_ID + " passed as an intent extra.");
         }
         if (!haveSavedState) {
-            mArticlesView.loadArticles(mTopic.getId());
+            mArticlesView.loadArticles(mTopicId);
+        }
+        mTopic = Desk.with(this).getTopicCache().get(mTopicId);
+        if (mTopic != null) {
+            setTitle(mTopic.getName());
+        } else {
+            loadTopic();
         }
-        setTitle(mTopic.getName());
+    }
+
+    /**
+     * Reads the topic back from the store when the process was killed since it was selected. The
+     * articles only need the topic id so they load in the meantime.
+     */
+    private void loadTopic() {
+        final Desk desk = Desk.with(this);
+        desk.getKnowledgeBaseStore().loadTopic(mTopicId, new KnowledgeBaseStore.LoadCallback<Topic>() {
+            @Override
+            public void onLoaded(Topic result) {
+                if (result == null || isFinishing()) {
+                    return;
+                }
+                desk.getTopicCache().put(result);
+                mTopic = result;
+                setTitle(mTopic.getName());
+            }
+        });
     }
 
     private void handleSearchMode(boolean haveSavedState) {
@@ -194,15 +255,26 @@ public class ArticleListActivity extends AppCompatActivity implements ArticleLis
             throw new IllegalStateException("Mode " + mMode + " requires a " + EXTRA_QUERY + " passed as an intent extra.");
         }
         if (!haveSavedState) {
-            if (mTopic != null) {
-                mArticlesView.searchArticles(mTopic.getId(), mQuery);
-            } else {
-                mArticlesView.searchArticles(mQuery);
-            }
+            mArticlesView.searchArticles(mTopicId, mQuery);
         }
         setTitle(getString(R.string.def_articles_search_results_title, mQuery));
     }
 
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putBoolean(STATE_SHOWING_LIVE_RESULTS, mShowingLiveResults);
+    }
+
+    @Override
+    protected void onRestoreInstanceState(Bundle savedInstanceState) {
+        super.onRestoreInstanceState(savedInstanceState);
+
+        // the search view comes back closed so go back to the articles of the topic or search
+        mShowingLiveResults = savedInstanceState.getBoolean(STATE_SHOWING_LIVE_RESULTS);
+        showOriginalArticles();
+    }
+
     @Override
     public void onArticleSelected(Article article) {
         ArticleActivity.start(this, article, mThemeHelper.getThemeResId());
@@ -211,7 +283,38 @@ public class ArticleListActivity extends AppCompatActivity implements ArticleLis
     @Override
     public void onPerformSearch(String query) {
         mSearchViewHelper.closeSearchView();
-        start(ArticleListActivity.this, mTopic, query, mThemeHelper.getThemeResId());
+        startSearch(ArticleListActivity.this, mTopicId, query, mThemeHelper.getThemeResId());
+    }
+
+    @Override
+    public void onQueryChanged(String query) {
+        if (query.isEmpty()) {
+            showOriginalArticles();
+        } else {
+            mShowingLiveResults = true;
+            mArticlesView.searchArticles(mTopicId, query);
+        }
+    }
+
+    @Override
+    public void onSearchClosed() {
+        showOriginalArticles();
+    }
+
+    /**
+     * Replaces live results with the articles of the topic or the results of the search the
+     * activity was started for
+     */
+    private void showOriginalArticles() {
+        if (!mShowingLiveResults) {
+            return;
+        }
+        mShowingLiveResults = false;
+        if (mMode == MODE_TOPIC) {
+            mArticlesView.loadArticles(mTopicId);
+        } else {
+            mArticlesView.searchArticles(mTopicId, mQuery);
+        }
     }
 
     @Override
@@ -31,13 +31,17 @@ import android.content.Intent;
 import android.os.Bundle;
 import android.support.annotation.StyleRes;
 import android.support.v7.app.AppCompatActivity;
+import android.view.View;
+import android.view.ViewStub;
 
 import com.desk.android.sdk.R;
 import com.desk.android.sdk.brand.BrandProvider;
 import com.desk.android.sdk.fragment.ContactUsHelper;
 import com.desk.android.sdk.fragment.SearchViewHelper;
 import com.desk.android.sdk.helper.DeskThemeHelper;
+import com.desk.android.sdk.widget.ArticleListView;
 import com.desk.android.sdk.widget.TopicListView;
+import com.desk.java.apiclient.model.Article;
 import com.desk.java.apiclient.model.Topic;
 import com.desk.java.apiclient.util.StringUtils;
 
@@ -49,7 +53,9 @@ import static com.desk.android.sdk.helper.DeskThemeHelper.NO_THEME_RES_ID;
  * selection of a topic in the list.</p>
  *
  * <p>This activity also provides a search view within the action bar to allow searching all articles.
- * A search will forward the query on to {@link ArticleListActivity} to perform the search.</p>
+ * While the user types, the topics are replaced by the matching articles in an {@link ArticleListView}
+ * and shown again once the search view is cleared or closed. Submitting a search will forward the
+ * query on to {@link ArticleListActivity} to perform the search.</p>
  *
  * <p>To start the activity call one of the following: {@link #start(Activity)}, {@link #start(Activity, String)}
  * to provide a title, {@link #start(Activity, int)} to provide a custom theme, or {@link #start(Activity, String, int)}
@@ -61,12 +67,15 @@ import static com.desk.android.sdk.helper.DeskThemeHelper.NO_THEME_RES_ID;
  * Created by Matt Kranzler on 6/30/15.
  */
 public class TopicListActivity extends AppCompatActivity implements TopicListView.TopicSelectedListener,
-        SearchViewHelper.SearchListener, BrandProvider {
+        ArticleListView.ArticleSelectedListener, SearchViewHelper.LiveSearchListener, BrandProvider {
 
     private static final String EXTRA_TITLE = "com.desk.android.sdk.EXTRA_TITLE";
 
     private DeskThemeHelper mThemeHelper;
     private SearchViewHelper mSearchViewHelper;
+    private TopicListView mTopicsView;
+    private ArticleListView mArticlesView;
+    private boolean mShowingLiveResults;
 
     /**
      * View a list of all topics
@@ -115,10 +124,10 @@ public class TopicListActivity extends AppCompatActivity implements TopicListVie
         mSearchViewHelper = SearchViewHelper.attach(this, mThemeHelper.getAllArticlesSearchQueryHint());
         setTitle();
         setContentView(R.layout.topic_list_activity);
-        TopicListView topicsView = (TopicListView) findViewById(R.id.topics);
-        topicsView.setTopicSelectedListener(this);
+        mTopicsView = (TopicListView) findViewById(R.id.topics);
+        mTopicsView.setTopicSelectedListener(this);
         if (savedInstanceState == null) {
-            topicsView.loadTopics();
+            mTopicsView.loadTopics();
         }
     }
 
@@ -134,12 +143,46 @@ public class TopicListActivity extends AppCompatActivity implements TopicListVie
         ArticleListActivity.start(this, topic, mThemeHelper.getThemeResId());
     }
 
+    @Override
+    public void onArticleSelected(Article article) {
+        ArticleActivity.start(this, article, mThemeHelper.getThemeResId());
+    }
+
     @Override
     public void onPerformSearch(String query) {
         mSearchViewHelper.closeSearchView();
         ArticleListActivity.start(TopicListActivity.this, query, mThemeHelper.getThemeResId());
     }
 
+    @Override
+    public void onQueryChanged(String query) {
+        if (query.isEmpty()) {
+            showTopics();
+        } else {
+            if (mArticlesView == null) {
+                mArticlesView = (ArticleListView) ((ViewStub) findViewById(R.id.articles_stub)).inflate();
+                mArticlesView.setArticleSelectedListener(this);
+            }
+            mShowingLiveResults = true;
+            mTopicsView.setVisibility(View.GONE);
+            mArticlesView.setVisibility(View.VISIBLE);
+            mArticlesView.searchArticles(query);
+        }
+    }
+
+    @Override
+    public void onSearchClosed() {
+        showTopics();
+    }
+
+    private void showTopics() {
+        if (mShowingLiveResults) {
+            mShowingLiveResults = false;
+            mArticlesView.setVisibility(View.GONE);
+            mTopicsView.setVisibility(View.VISIBLE);
+        }
+    }
+
     @Override
     public void onBackPressed() {
 
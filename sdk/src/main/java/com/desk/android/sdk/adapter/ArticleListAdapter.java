@@ -27,54 +27,31 @@
 package com.desk.android.sdk.adapter;
 
 import android.content.Context;
-import android.view.LayoutInflater;
-import android.view.View;
-import android.view.ViewGroup;
-import android.widget.ArrayAdapter;
-import android.widget.TextView;
 
 import com.desk.java.apiclient.model.Article;
 
-import java.util.List;
-
 /**
  * <p>Adapter for a list of {@link Article} objects. Displays the {@link Article#subject} using the
  * {@link android.R.layout#simple_list_item_1} layout. To customize the text appearance override the
  * {@link android.R.attr#textAppearanceListItemSmall} attribute with your text appearance in your theme.</p>
  *
+ * <p>The article id is used as the stable id of each item.</p>
+ *
  * Created by Matt Kranzler on 6/29/15.
  */
-public class ArticleListAdapter extends ArrayAdapter<Article> {
+public class ArticleListAdapter extends ItemListAdapter<Article> {
 
-    private LayoutInflater mInflater;
-
-    public ArticleListAdapter(Context context, List<Article> articles) {
-        super(context, android.R.layout.simple_list_item_1, articles);
-        mInflater = LayoutInflater.from(context);
+    public ArticleListAdapter(Context context) {
+        super(context);
     }
 
     @Override
-    public View getView(int position, View convertView, ViewGroup parent) {
-        ViewHolder holder;
-        if (convertView == null) {
-            convertView = mInflater.inflate(android.R.layout.simple_list_item_1, parent, false);
-            holder = new ViewHolder(convertView);
-            convertView.setTag(holder);
-        } else {
-            holder = (ViewHolder) convertView.getTag();
-        }
-
-        Article article = getItem(position);
-        holder.text.setText(article.getSubject());
-
-        return convertView;
+    protected long getStableId(Article article) {
+        return article.getId();
     }
 
-    static class ViewHolder {
-        TextView text;
-
-        public ViewHolder(View view) {
-            text = (TextView) view.findViewById(android.R.id.text1);
-        }
+    @Override
+    protected CharSequence getItemText(Article article) {
+        return article.getSubject();
     }
 }
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.adapter;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.support.v7.widget.RecyclerView;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * <p>{@link RecyclerView.Adapter} for a list of items which are each displayed as a single line of
+ * text using the {@link android.R.layout#simple_list_item_1} layout. Items have stable ids.</p>
+ *
+ * <p>Items are replaced via {@link #setItems(List)}. The old and new items are compared on a
+ * background thread and only the range which changed is notified, so appending a page only lays
+ * out the new rows. Items set while a comparison is running are compared once it completes.</p>
+ *
+ * <p>Every subclass uses the same view type so the adapters can share a
+ * {@link RecyclerView.RecycledViewPool}.</p>
+ *
+ * @param <T> the type of item
+ */
+public abstract class ItemListAdapter<T> extends RecyclerView.Adapter<ItemListAdapter.ViewHolder> {
+
+    /**
+     * Listener for when an item is clicked
+     * @param <T> the type of item
+     */
+    public interface OnItemClickListener<T> {
+        void onItemClick(T item);
+    }
+
+    private static final Executor DIFF_EXECUTOR = Executors.newSingleThreadExecutor();
+
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final LayoutInflater mInflater;
+    private List<T> mItems = Collections.emptyList();
+    private List<T> mPendingItems;
+    private boolean mDiffing;
+    private OnItemClickListener<T> mOnItemClickListener;
+
+    protected ItemListAdapter(Context context) {
+        mInflater = LayoutInflater.from(context);
+        setHasStableIds(true);
+    }
+
+    /**
+     * Gets the stable id of an item. Called on a background thread while comparing items.
+     * @param item the item
+     * @return the id
+     */
+    protected abstract long getStableId(T item);
+
+    /**
+     * Gets the text to display for an item. Called on a background thread while comparing items.
+     * @param item the item
+     * @return the text
+     */
+    protected abstract CharSequence getItemText(T item);
+
+    /**
+     * Set the listener to notify when an item is clicked
+     * @param listener the listener or null
+     */
+    public void setOnItemClickListener(@Nullable OnItemClickListener<T> listener) {
+        mOnItemClickListener = listener;
+    }
+
+    /**
+     * Replaces the items displayed
+     * @param items the items, which are copied
+     */
+    public void setItems(List<T> items) {
+        List<T> newItems = new ArrayList<>(items);
+        if (mDiffing) {
+            mPendingItems = newItems;
+            return;
+        }
+        dispatch(newItems);
+    }
+
+    /**
+     * Gets the item displayed at a position
+     * @param position the position
+     * @return the item
+     */
+    public T getItem(int position) {
+        return mItems.get(position);
+    }
+
+    @Override
+    public int getItemCount() {
+        return mItems.size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getStableId(mItems.get(position));
+    }
+
+    @Override
+    public ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        final ViewHolder holder = new ViewHolder(mInflater.inflate(android.R.layout.simple_list_item_1, parent, false));
+        holder.itemView.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                int position = holder.getAdapterPosition();
+                if (position != RecyclerView.NO_POSITION && mOnItemClickListener != null) {
+                    mOnItemClickListener.onItemClick(mItems.get(position));
+                }
+            }
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(ViewHolder holder, int position) {
+        holder.text.setText(getItemText(mItems.get(position)));
+    }
+
+    private void dispatch(final List<T> newItems) {
+        final List<T> oldItems = mItems;
+
+        // nothing to compare, so don't wait for the background thread
+        if (oldItems.isEmpty() || newItems.isEmpty()) {
+            mItems = newItems;
+            if (!oldItems.isEmpty()) {
+                notifyItemRangeRemoved(0, oldItems.size());
+            } else if (!newItems.isEmpty()) {
+                notifyItemRangeInserted(0, newItems.size());
+            }
+            return;
+        }
+        mDiffing = true;
+        DIFF_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                final Diff diff = diff(oldItems, newItems);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        mItems = newItems;
+                        diff.dispatchTo(ItemListAdapter.this);
+                        mDiffing = false;
+                        if (mPendingItems != null) {
+                            List<T> pendingItems = mPendingItems;
+                            mPendingItems = null;
+                            dispatch(pendingItems);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Finds the range which differs between the old and new items by skipping the items which are
+     * the same at the start and end of both lists. Pages are appended, and a page being replaced
+     * sits between pages which didn't change, so this finds the change without a full diff.
+     */
+    @VisibleForTesting
+    Diff diff(List<T> oldItems, List<T> newItems) {
+        int oldSize = oldItems.size();
+        int newSize = newItems.size();
+        int start = 0;
+        while (start < oldSize && start < newSize && isSame(oldItems.get(start), newItems.get(start))) {
+            start++;
+        }
+        int end = 0;
+        while (end < oldSize - start && end < newSize - start
+                && isSame(oldItems.get(oldSize - 1 - end), newItems.get(newSize - 1 - end))) {
+            end++;
+        }
+        return new Diff(start, oldSize - start - end, newSize - start - end);
+    }
+
+    private boolean isSame(T oldItem, T newItem) {
+        if (getStableId(oldItem) != getStableId(newItem)) {
+            return false;
+        }
+        CharSequence oldText = getItemText(oldItem);
+        CharSequence newText = getItemText(newItem);
+        return oldText == null ? newText == null : newText != null && oldText.toString().equals(newText.toString());
+    }
+
+    /**
+     * The range which differs between two lists
+     */
+    @VisibleForTesting
+    static class Diff {
+
+        final int start;
+        final int oldCount;
+        final int newCount;
+
+        Diff(int start, int oldCount, int newCount) {
+            this.start = start;
+            this.oldCount = oldCount;
+            this.newCount = newCount;
+        }
+
+        void dispatchTo(RecyclerView.Adapter<?> adapter) {
+            int changed = Math.min(oldCount, newCount);
+            if (changed > 0) {
+                adapter.notifyItemRangeChanged(start, changed);
+            }
+            if (newCount > oldCount) {
+                adapter.notifyItemRangeInserted(start + changed, newCount - oldCount);
+            } else if (oldCount > newCount) {
+                adapter.notifyItemRangeRemoved(start + changed, oldCount - newCount);
+            }
+        }
+    }
+
+    public static class ViewHolder extends RecyclerView.ViewHolder {
+
+        final TextView text;
+
+        public ViewHolder(View view) {
+            super(view);
+            text = (TextView) view.findViewById(android.R.id.text1);
+        }
+    }
+}
@@ -27,54 +27,31 @@
 package com.desk.android.sdk.adapter;
 
 import android.content.Context;
-import android.view.LayoutInflater;
-import android.view.View;
-import android.view.ViewGroup;
-import android.widget.ArrayAdapter;
-import android.widget.TextView;
 
 import com.desk.java.apiclient.model.Topic;
 
-import java.util.List;
-
 /**
  * <p>Adapter for a list of {@link Topic} objects. Displays the {@link Topic#getName()} using the
  * {@link android.R.layout#simple_list_item_1} layout. To customize the text appearance override the
  * {@link android.R.attr#textAppearanceListItemSmall} attribute with your text appearance in your theme.</p>
  *
+ * <p>The topic id is used as the stable id of each item.</p>
+ *
  * Created by Matt Kranzler on 6/29/15.
  */
-public class TopicListAdapter extends ArrayAdapter<Topic> {
+public class TopicListAdapter extends ItemListAdapter<Topic> {
 
-    private LayoutInflater mInflater;
-
-    public TopicListAdapter(Context context, List<Topic> topics) {
-        super(context, android.R.layout.simple_list_item_1, topics);
-        mInflater = LayoutInflater.from(context);
+    public TopicListAdapter(Context context) {
+        super(context);
     }
 
     @Override
-    public View getView(int position, View convertView, ViewGroup parent) {
-        ViewHolder holder;
-        if (convertView == null) {
-            convertView = mInflater.inflate(android.R.layout.simple_list_item_1, parent, false);
-            holder = new ViewHolder(convertView);
-            convertView.setTag(holder);
-        } else {
-            holder = (ViewHolder) convertView.getTag();
-        }
-
-        Topic topic = getItem(position);
-        holder.text.setText(topic.getName());
-
-        return convertView;
+    protected long getStableId(Topic topic) {
+        return topic.getId();
     }
 
-    static class ViewHolder {
-        TextView text;
-
-        public ViewHolder(View view) {
-            text = (TextView) view.findViewById(android.R.id.text1);
-        }
+    @Override
+    protected CharSequence getItemText(Topic topic) {
+        return topic.getName();
     }
 }
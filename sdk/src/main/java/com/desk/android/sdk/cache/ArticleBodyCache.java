@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+import com.desk.android.sdk.helper.GsonHelper;
+import com.desk.java.apiclient.model.Article;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * <p>Disk cache of the articles a user has viewed so they open instantly and can be read offline.
+ * Each brand has its own directory and the least recently viewed articles of all brands are evicted
+ * once the cache is larger than its maximum size.</p>
+ */
+public class ArticleBodyCache {
+
+    public static final long DEFAULT_MAX_SIZE = 5 * 1024 * 1024; // 5 mb
+
+    private static final String FILE_SUFFIX = ".json";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String CHARSET = "UTF-8";
+
+    private final File mDirectory;
+    private final long mMaxSize;
+    private final Executor mExecutor;
+    private final Handler mMainHandler;
+    private final Gson mGson;
+
+    /**
+     * Creates a cache
+     * @param directory the directory to store the articles in
+     * @param maxSize the maximum size of the cache in bytes
+     */
+    public ArticleBodyCache(@NonNull File directory, long maxSize) {
+        this(directory, maxSize, Executors.newSingleThreadExecutor());
+    }
+
+    /**
+     * Creates a cache that reads and writes on the given executor
+     * @param directory the directory to store the articles in
+     * @param maxSize the maximum size of the cache in bytes
+     * @param executor the executor to do the disk work on
+     */
+    public ArticleBodyCache(@NonNull File directory, long maxSize, @NonNull Executor executor) {
+        mDirectory = directory;
+        mMaxSize = maxSize;
+        mExecutor = executor;
+        mMainHandler = new Handler(Looper.getMainLooper());
+        mGson = GsonHelper.getGson();
+    }
+
+    /**
+     * Loads a cached article and notifies the callback on the main thread.
+     * @param brandId the brand id the article was viewed for
+     * @param articleId the article id
+     * @param callback the callback to notify
+     */
+    public void load(final int brandId, final int articleId, @NonNull final KnowledgeBaseStore.LoadCallback<Article> callback) {
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final Article article = read(brandId, articleId);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onLoaded(article);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Caches an article in the background, replacing any previously cached version, and evicts the
+     * least recently viewed articles if the cache has grown too large.
+     * @param brandId the brand id the article is viewed for
+     * @param article the article
+     */
+    public void put(final int brandId, final Article article) {
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                write(brandId, article);
+                trimToSize();
+            }
+        });
+    }
+
+    /**
+     * Removes every cached article in the background
+     */
+    public void clear() {
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (File file : listFiles()) {
+                    file.delete();
+                }
+            }
+        });
+    }
+
+    @WorkerThread
+    @Nullable
+    Article read(int brandId, int articleId) {
+        File file = getFile(brandId, articleId);
+        if (!file.exists()) {
+            return null;
+        }
+        Reader reader = null;
+        try {
+            reader = new InputStreamReader(new FileInputStream(file), CHARSET);
+            Article article = mGson.fromJson(reader, Article.class);
+
+            // reading counts as a use so recently viewed articles are evicted last
+            file.setLastModified(System.currentTimeMillis());
+            return article;
+        } catch (IOException | JsonParseException e) {
+            file.delete();
+            return null;
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    @WorkerThread
+    void write(int brandId, Article article) {
+        File file = getFile(brandId, article.getId());
+        File directory = file.getParentFile();
+        if (!directory.exists() && !directory.mkdirs()) {
+            return;
+        }
+        File temp = new File(directory, file.getName() + TEMP_SUFFIX);
+        Writer writer = null;
+        try {
+            writer = new OutputStreamWriter(new FileOutputStream(temp), CHARSET);
+            mGson.toJson(article, writer);
+            writer.close();
+            writer = null;
+            if (!temp.renameTo(file)) {
+                temp.delete();
+            }
+        } catch (IOException e) {
+            temp.delete();
+        } finally {
+            closeQuietly(writer);
+        }
+    }
+
+    @WorkerThread
+    void trimToSize() {
+        List<File> files = listFiles();
+        long size = 0;
+        for (File file : files) {
+            size += file.length();
+        }
+        if (size <= mMaxSize) {
+            return;
+        }
+        Collections.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File lhs, File rhs) {
+                long lhsModified = lhs.lastModified();
+                long rhsModified = rhs.lastModified();
+                return lhsModified < rhsModified ? -1 : (lhsModified == rhsModified ? 0 : 1);
+            }
+        });
+        for (File file : files) {
+            if (size <= mMaxSize) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                size -= length;
+            }
+        }
+    }
+
+    private File getFile(int brandId, int articleId) {
+        return new File(new File(mDirectory, String.valueOf(brandId)), articleId + FILE_SUFFIX);
+    }
+
+    private List<File> listFiles() {
+        List<File> files = new ArrayList<>();
+        File[] brandDirectories = mDirectory.listFiles();
+        if (brandDirectories == null) {
+            return files;
+        }
+        for (File brandDirectory : brandDirectories) {
+            File[] brandFiles = brandDirectory.listFiles();
+            if (brandFiles != null) {
+                Collections.addAll(files, brandFiles);
+            }
+        }
+        return files;
+    }
+
+    private static void closeQuietly(@Nullable Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+                // nothing left to do
+            }
+        }
+    }
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.support.annotation.WorkerThread;
+
+import com.desk.android.sdk.helper.GsonHelper;
+import com.desk.java.apiclient.model.Article;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.desk.android.sdk.provider.ArticleProvider.ALL_BRANDS;
+import static com.desk.android.sdk.provider.ArticleProvider.ALL_TOPICS;
+
+/**
+ * <p>In memory inverted index over the subjects and bodies of the articles which have been loaded
+ * from the Desk.com api, so searches can be answered on the device at once and while offline. The
+ * index keeps the tokens of each article and a copy of it without its bodies, so the articles it
+ * returns have to be loaded before they can be shown. The least recently used articles are dropped
+ * once it holds more than its maximum amount of articles.</p>
+ *
+ * <p>Articles are added in the background as they are loaded, together with the topic and brand
+ * they were loaded for. Searches can be limited to a topic and brand the same way
+ * {@link com.desk.java.apiclient.model.TopicIds} and {@link com.desk.java.apiclient.model.BrandIds}
+ * limit a search with the api. The topic of an article is read from its topic link and falls back
+ * to the topic it was loaded for. Articles don't link their brand, so an article matches a brand it
+ * has been loaded for or the brand its topic has been loaded for. An article whose topic or brand
+ * is not known doesn't match a search limited to one.</p>
+ *
+ * <p>Every word of the query has to match. The last word also matches as a prefix since the user
+ * may still be typing it. Results matching in the subject are ranked first.</p>
+ */
+public class ArticleIndex {
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>|&[#a-zA-Z0-9]+;");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern TRAILING_ID = Pattern.compile("/(\\d+)/?$");
+    private static final String BODY_PREFIX = "body";
+    private static final String LINKS = "_links";
+    private static final String LINK_TOPIC = "topic";
+    private static final String LINK_HREF = "href";
+
+    /**
+     * Default amount of articles kept in the index
+     */
+    public static final int DEFAULT_MAX_ARTICLES = 500;
+
+    private final int mMaxArticles;
+    private final Executor mExecutor;
+    private final Gson mGson;
+    private final TreeMap<String, Set<Integer>> mPostings = new TreeMap<>();
+    private final LinkedHashMap<Integer, Entry> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The brands each topic has been loaded for, since an article belongs to the brand of its topic
+     */
+    private final HashMap<Integer, Set<Integer>> mTopicBrands = new HashMap<>();
+    private int mSequence;
+
+    public ArticleIndex() {
+        this(DEFAULT_MAX_ARTICLES, Executors.newSingleThreadExecutor());
+    }
+
+    /**
+     * Creates an index
+     * @param maxArticles the maximum amount of articles to keep
+     */
+    public ArticleIndex(int maxArticles) {
+        this(maxArticles, Executors.newSingleThreadExecutor());
+    }
+
+    /**
+     * Creates an index which adds articles on the given executor
+     * @param maxArticles the maximum amount of articles to keep
+     * @param executor the executor to index the articles on
+     */
+    public ArticleIndex(int maxArticles, @NonNull Executor executor) {
+        mMaxArticles = maxArticles;
+        mExecutor = executor;
+        mGson = GsonHelper.getGson();
+    }
+
+    /**
+     * Adds articles to the index in the background. Articles which are already indexed are updated
+     * and remember every brand they have been loaded for.
+     * @param articles the articles
+     * @param topicId the topic the articles were loaded for or {@code ALL_TOPICS}
+     * @param brandId the brand the articles were loaded for or {@code ALL_BRANDS}
+     */
+    public void add(@Nullable final List<Article> articles, final int topicId, final int brandId) {
+        if (articles == null || articles.isEmpty()) {
+            return;
+        }
+
+        // copy as the caller keeps using the list
+        final List<Article> copy = new ArrayList<>(articles);
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                index(copy, topicId, brandId);
+            }
+        });
+    }
+
+    @WorkerThread
+    @VisibleForTesting
+    void index(List<Article> articles, int topicId, int brandId) {
+
+        // tokenize before taking the lock so searches aren't held up
+        List<Entry> entries = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            if (article != null) {
+                Set<String> subjectTokens = tokenize(article.getSubject());
+                Set<String> tokens = new HashSet<>(subjectTokens);
+                tokens.addAll(tokenize(article.getBody()));
+                JsonObject json = mGson.toJsonTree(article).getAsJsonObject();
+                int linkedTopicId = getLinkedId(json, LINK_TOPIC);
+                Entry entry = new Entry(withoutBodies(json), subjectTokens, tokens);
+                if (linkedTopicId != ALL_TOPICS) {
+                    entry.topicIds.add(linkedTopicId);
+                }
+                entries.add(entry);
+            }
+        }
+        synchronized (this) {
+            for (Entry entry : entries) {
+                int id = entry.article.getId();
+                Entry previous = mEntries.get(id);
+                if (previous != null) {
+                    removePostings(id, previous.tokens);
+
+                    // the topic link is authoritative, otherwise keep every topic it was loaded for
+                    if (entry.topicIds.isEmpty()) {
+                        entry.topicIds.addAll(previous.topicIds);
+                    }
+                    entry.brandIds.addAll(previous.brandIds);
+                    entry.sequence = previous.sequence;
+                } else {
+                    entry.sequence = mSequence++;
+                }
+                if (entry.topicIds.isEmpty() && topicId != ALL_TOPICS) {
+                    entry.topicIds.add(topicId);
+                }
+                if (brandId != ALL_BRANDS) {
+                    entry.brandIds.add(brandId);
+                    for (Integer entryTopicId : entry.topicIds) {
+                        Set<Integer> brandIds = mTopicBrands.get(entryTopicId);
+                        if (brandIds == null) {
+                            brandIds = new HashSet<>();
+                            mTopicBrands.put(entryTopicId, brandIds);
+                        }
+                        brandIds.add(brandId);
+                    }
+                }
+                mEntries.put(id, entry);
+                for (String token : entry.tokens) {
+                    Set<Integer> ids = mPostings.get(token);
+                    if (ids == null) {
+                        ids = new HashSet<>();
+                        mPostings.put(token, ids);
+                    }
+                    ids.add(id);
+                }
+            }
+            trimToSize();
+        }
+    }
+
+    /**
+     * Searches the index
+     * @param query the search query
+     * @param topicId the topic to limit results to or {@code ALL_TOPICS}
+     * @param brandId the brand to limit results to or {@code ALL_BRANDS}
+     * @param limit the maximum amount of results
+     * @return the matching articles, best match first
+     */
+    @NonNull
+    public synchronized List<Article> search(@Nullable String query, int topicId, int brandId, int limit) {
+        List<String> words = new ArrayList<>(tokenize(query));
+        if (words.isEmpty() || mEntries.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Integer> matches = null;
+        for (int i = 0; i < words.size(); i++) {
+            Set<Integer> ids = i == words.size() - 1 ? findPrefix(words.get(i)) : findExact(words.get(i));
+            if (matches == null) {
+                matches = new HashSet<>(ids);
+            } else {
+                matches.retainAll(ids);
+            }
+            if (matches.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+        List<Entry> results = new ArrayList<>(matches.size());
+        for (Integer id : matches) {
+            Entry entry = mEntries.get(id);
+            if ((topicId == ALL_TOPICS || entry.topicIds.contains(topicId))
+                    && (brandId == ALL_BRANDS || isInBrand(entry, brandId))) {
+                entry.score = score(entry, words);
+                results.add(entry);
+            }
+        }
+        Collections.sort(results, RANKING);
+        List<Article> articles = new ArrayList<>(Math.min(limit, results.size()));
+        for (int i = 0; i < results.size() && i < limit; i++) {
+            articles.add(results.get(i).article);
+        }
+        return articles;
+    }
+
+    /**
+     * Removes every article from the index
+     */
+    public synchronized void clear() {
+        mPostings.clear();
+        mEntries.clear();
+        mTopicBrands.clear();
+    }
+
+    @VisibleForTesting
+    synchronized int size() {
+        return mEntries.size();
+    }
+
+    @VisibleForTesting
+    static Set<String> tokenize(@Nullable String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        String plain = HTML_TAG.matcher(text).replaceAll(" ").toLowerCase(Locale.US);
+        for (String token : NON_WORD.split(plain)) {
+            if (token.length() > 0) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Gets the id at the end of a link of the article, e.g. 782168 for "/api/v2/topics/782168"
+     * @return the id or 0 if the article has no such link
+     */
+    private static int getLinkedId(JsonObject json, String relation) {
+        JsonElement links = json.get(LINKS);
+        JsonElement link = links != null && links.isJsonObject() ? links.getAsJsonObject().get(relation) : null;
+        JsonElement href = link != null && link.isJsonObject() ? link.getAsJsonObject().get(LINK_HREF) : null;
+        if (href == null || !href.isJsonPrimitive()) {
+            return 0;
+        }
+        Matcher matcher = TRAILING_ID.matcher(href.getAsString());
+        if (!matcher.find()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private boolean isInBrand(Entry entry, int brandId) {
+        if (entry.brandIds.contains(brandId)) {
+            return true;
+        }
+        for (Integer topicId : entry.topicIds) {
+            Set<Integer> brandIds = mTopicBrands.get(topicId);
+            if (brandIds != null && brandIds.contains(brandId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies the article without its bodies, which are by far the largest part of it
+     */
+    private Article withoutBodies(JsonObject json) {
+        List<String> bodies = new ArrayList<>();
+        for (Map.Entry<String, ?> member : json.entrySet()) {
+            if (member.getKey().startsWith(BODY_PREFIX)) {
+                bodies.add(member.getKey());
+            }
+        }
+        for (String body : bodies) {
+            json.remove(body);
+        }
+        return mGson.fromJson(json, Article.class);
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<Integer, Entry>> iterator = mEntries.entrySet().iterator();
+        while (mEntries.size() > mMaxArticles && iterator.hasNext()) {
+            Map.Entry<Integer, Entry> eldest = iterator.next();
+            iterator.remove();
+            removePostings(eldest.getKey(), eldest.getValue().tokens);
+        }
+    }
+
+    private Set<Integer> findExact(String word) {
+        Set<Integer> ids = mPostings.get(word);
+        return ids == null ? Collections.<Integer>emptySet() : ids;
+    }
+
+    private Set<Integer> findPrefix(String prefix) {
+        SortedMap<String, Set<Integer>> tail = mPostings.subMap(prefix, prefix + Character.MAX_VALUE);
+        if (tail.size() == 1) {
+            return tail.values().iterator().next();
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (Set<Integer> postings : tail.values()) {
+            ids.addAll(postings);
+        }
+        return ids;
+    }
+
+    private void removePostings(int id, Set<String> tokens) {
+        for (String token : tokens) {
+            Set<Integer> ids = mPostings.get(token);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    mPostings.remove(token);
+                }
+            }
+        }
+    }
+
+    private static int score(Entry entry, List<String> words) {
+        int score = 0;
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            boolean inSubject = entry.subjectTokens.contains(word);
+            if (!inSubject && i == words.size() - 1) {
+                for (String token : entry.subjectTokens) {
+                    if (token.startsWith(word)) {
+                        inSubject = true;
+                        break;
+                    }
+                }
+            }
+            score += inSubject ? 2 : 1;
+        }
+        return score;
+    }
+
+    /**
+     * Highest score first, then in the order the articles were first loaded
+     */
+    private static final Comparator<Entry> RANKING = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry lhs, Entry rhs) {
+            if (lhs.score != rhs.score) {
+                return lhs.score > rhs.score ? -1 : 1;
+            }
+            return lhs.sequence < rhs.sequence ? -1 : (lhs.sequence == rhs.sequence ? 0 : 1);
+        }
+    };
+
+    private static class Entry {
+
+        final Article article;
+        final Set<String> subjectTokens;
+        final Set<String> tokens;
+        final Set<Integer> topicIds = new HashSet<>();
+        final Set<Integer> brandIds = new HashSet<>();
+        int sequence;
+        int score;
+
+        Entry(Article article, Set<String> subjectTokens, Set<String> tokens) {
+            this.article = article;
+            this.subjectTokens = subjectTokens;
+            this.tokens = tokens;
+        }
+    }
+}
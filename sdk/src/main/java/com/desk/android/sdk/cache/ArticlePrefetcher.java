@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.MainThread;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.util.SparseArray;
+
+import com.desk.android.sdk.error.ErrorResponse;
+import com.desk.android.sdk.provider.ArticleProvider;
+import com.desk.android.sdk.provider.RequestHandle;
+import com.desk.java.apiclient.model.Article;
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.Callback;
+import com.squareup.okhttp.HttpUrl;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import okio.Buffer;
+import okio.BufferedSource;
+
+/**
+ * <p>Speculatively fetches the content of articles a user is likely to open, so the article renders
+ * from warm data. The images of an article's body are fetched into the response cache of the http
+ * client. An article without its body, such as one found in the {@link ArticleIndex}, is loaded with
+ * the {@link ArticleProvider} first and handed to the {@link OnArticleLoadedListener} so it can be
+ * cached where the article screen reads it.</p>
+ *
+ * <p>Prefetching is limited by a budget of articles and of articles fetching at the same time.
+ * Prefetches which are canceled before completing don't count against the budget. An urgent
+ * prefetch, of an article the user is about to open, isn't limited by the budget of articles and
+ * cancels a speculative prefetch which is still fetching when too many are fetching already.</p>
+ */
+public class ArticlePrefetcher {
+
+    /**
+     * Listener notified on the main thread with articles loaded because they had no body
+     */
+    public interface OnArticleLoadedListener {
+        void onArticleLoaded(Article article);
+    }
+
+    public static final int DEFAULT_MAX_ARTICLES = 10;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 2;
+
+    @VisibleForTesting static final int MAX_IMAGES_PER_ARTICLE = 3;
+
+    private static final long READ_BUFFER_SIZE = 8192;
+
+    private static final Pattern IMAGE_SOURCE = Pattern.compile(
+            "<img\\b[^>]*?\\bsrc\\s*=\\s*[\"']([^\"']+)[\"']", Pattern.CASE_INSENSITIVE);
+
+    private final OkHttpClient mHttpClient;
+    private final ArticleProvider mArticleProvider;
+    private final int mMaxArticles;
+    private final int mMaxInFlight;
+    private final Set<Integer> mPrefetched = new HashSet<>();
+    private final SparseArray<Prefetch> mInFlight = new SparseArray<>();
+    private final Set<Integer> mUrgent = new HashSet<>();
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private OnArticleLoadedListener mOnArticleLoadedListener;
+
+    /**
+     * Creates a prefetcher
+     * @param httpClient the http client whose response cache is warmed
+     * @param articleProvider the provider to load articles without a body with, or null to skip them
+     * @param maxArticles the maximum amount of articles to prefetch
+     * @param maxInFlight the maximum amount of articles to prefetch at the same time
+     */
+    public ArticlePrefetcher(OkHttpClient httpClient, @Nullable ArticleProvider articleProvider, int maxArticles,
+                             int maxInFlight) {
+        mHttpClient = httpClient;
+        mArticleProvider = articleProvider;
+        mMaxArticles = maxArticles;
+        mMaxInFlight = maxInFlight;
+    }
+
+    /**
+     * Set the listener to notify with articles loaded because they had no body
+     * @param listener the listener or null
+     */
+    public void setOnArticleLoadedListener(@Nullable OnArticleLoadedListener listener) {
+        mOnArticleLoadedListener = listener;
+    }
+
+    /**
+     * Starts speculatively prefetching the article unless it was prefetched already or the budget is
+     * used up
+     * @param article the article
+     * @return true if the prefetch started
+     */
+    @MainThread
+    public boolean prefetch(Article article) {
+        return prefetch(article, false);
+    }
+
+    /**
+     * Starts prefetching the article unless it was prefetched already or can't be fetched right now
+     * @param article the article
+     * @param urgent true if the user is about to open the article, which ignores the budget of
+     *               articles and cancels a speculative prefetch to make room if needed
+     * @return true if the prefetch started
+     */
+    @MainThread
+    public boolean prefetch(Article article, boolean urgent) {
+        final int articleId = article.getId();
+        if (mPrefetched.contains(articleId)) {
+
+            // a speculative prefetch of the article which is still fetching must not be canceled now
+            if (urgent && mInFlight.get(articleId) != null) {
+                mUrgent.add(articleId);
+            }
+            return false;
+        }
+        boolean hasBody = article.getBody() != null;
+        List<HttpUrl> urls = hasBody ? getUrls(article) : new ArrayList<HttpUrl>();
+        if (hasBody ? urls.isEmpty() : mArticleProvider == null) {
+            return false;
+        }
+        if (urgent && mInFlight.size() >= mMaxInFlight) {
+            cancelSpeculative();
+        }
+        if (mInFlight.size() >= mMaxInFlight || (!urgent && mPrefetched.size() >= mMaxArticles)) {
+            return false;
+        }
+        mPrefetched.add(articleId);
+        if (urgent) {
+            mUrgent.add(articleId);
+        }
+        final Prefetch prefetch = new Prefetch();
+        mInFlight.put(articleId, prefetch);
+        if (hasBody) {
+            fetch(articleId, prefetch, urls);
+        } else {
+            prefetch.articleHandle = mArticleProvider.getArticle(articleId, new ArticleProvider.ArticleCallback() {
+                @Override
+                public void onArticleLoaded(Article loaded) {
+                    prefetch.articleHandle = null;
+                    if (mOnArticleLoadedListener != null) {
+                        mOnArticleLoadedListener.onArticleLoaded(loaded);
+                    }
+                    fetch(articleId, prefetch, getUrls(loaded));
+                }
+
+                @Override
+                public void onArticleLoadError(ErrorResponse error) {
+                    prefetch.articleHandle = null;
+                    finishIfDone(articleId, prefetch);
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Cancels the prefetch of an article if it is still fetching
+     * @param articleId the article id
+     */
+    @MainThread
+    public void cancel(int articleId) {
+        Prefetch prefetch = mInFlight.get(articleId);
+        if (prefetch == null) {
+            return;
+        }
+        mInFlight.remove(articleId);
+        mPrefetched.remove(articleId);
+        mUrgent.remove(articleId);
+        if (prefetch.articleHandle != null) {
+            prefetch.articleHandle.cancel();
+        }
+        for (Call call : prefetch.calls) {
+            call.cancel();
+        }
+    }
+
+    /**
+     * Cancels every prefetch which is still fetching
+     */
+    @MainThread
+    public void cancelAll() {
+        while (mInFlight.size() > 0) {
+            cancel(mInFlight.keyAt(0));
+        }
+    }
+
+    /**
+     * Cancels one speculative prefetch which is still fetching, if there is any
+     */
+    private void cancelSpeculative() {
+        for (int i = 0; i < mInFlight.size(); i++) {
+            int articleId = mInFlight.keyAt(i);
+            if (!mUrgent.contains(articleId)) {
+                cancel(articleId);
+                return;
+            }
+        }
+    }
+
+    private void fetch(final int articleId, final Prefetch prefetch, List<HttpUrl> urls) {
+        for (HttpUrl url : urls) {
+            final Call call = mHttpClient.newCall(new Request.Builder().url(url).build());
+            prefetch.calls.add(call);
+            call.enqueue(new Callback() {
+                @Override
+                public void onFailure(Request request, IOException e) {
+                    done(articleId, prefetch, call);
+                }
+
+                @Override
+                public void onResponse(Response response) throws IOException {
+
+                    // reading the whole body is what writes it to the response cache
+                    BufferedSource source = response.body().source();
+                    Buffer buffer = new Buffer();
+                    try {
+                        while (source.read(buffer, READ_BUFFER_SIZE) != -1) {
+                            buffer.clear();
+                        }
+                    } finally {
+                        response.body().close();
+                        done(articleId, prefetch, call);
+                    }
+                }
+            });
+        }
+        finishIfDone(articleId, prefetch);
+    }
+
+    private void done(final int articleId, final Prefetch prefetch, final Call call) {
+        mMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                prefetch.calls.remove(call);
+                finishIfDone(articleId, prefetch);
+            }
+        });
+    }
+
+    private void finishIfDone(int articleId, Prefetch prefetch) {
+        if (prefetch.calls.isEmpty() && prefetch.articleHandle == null && mInFlight.get(articleId) == prefetch) {
+            mInFlight.remove(articleId);
+            mUrgent.remove(articleId);
+        }
+    }
+
+    /**
+     * Gets the urls to prefetch for an article
+     * @param article the article
+     * @return the first images of the body, resolved against the public url, empty if there is no body
+     */
+    @VisibleForTesting
+    static List<HttpUrl> getUrls(Article article) {
+        List<HttpUrl> urls = new ArrayList<>();
+        HttpUrl publicUrl = article.getPublicUrl() != null ? HttpUrl.parse(article.getPublicUrl()) : null;
+        String body = article.getBody();
+        if (body == null) {
+            return urls;
+        }
+        Matcher matcher = IMAGE_SOURCE.matcher(body);
+        while (matcher.find() && urls.size() < MAX_IMAGES_PER_ARTICLE) {
+            String source = matcher.group(1);
+            HttpUrl url = HttpUrl.parse(source);
+            if (url == null && publicUrl != null) {
+                url = publicUrl.resolve(source);
+            }
+            if (url != null && !urls.contains(url)) {
+                urls.add(url);
+            }
+        }
+        return urls;
+    }
+
+    private static class Prefetch {
+
+        final List<Call> calls = new ArrayList<>();
+        RequestHandle articleHandle;
+    }
+}
@@ -0,0 +1,618 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.support.annotation.WorkerThread;
+
+import com.desk.android.sdk.helper.GsonHelper;
+import com.desk.java.apiclient.model.Article;
+import com.desk.java.apiclient.model.Topic;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * <p>On-device store of the topics and articles which have been loaded from the Desk.com api. Rows
+ * are keyed by brand, topic, language and position so lists can be rendered from disk before the
+ * network has responded and then revalidated in the background.</p>
+ *
+ * <p>Pages of search results are also stored, keyed by a {@link SearchCache} key, as the on-disk
+ * tier of the {@link SearchCache}.</p>
+ *
+ * <p>Each Desk site (hostname) gets its own database. All reads and writes happen on a single
+ * background thread and loads are delivered on the main thread. Call {@link #close()} once the store
+ * is no longer used to release the thread and the database.</p>
+ */
+public class KnowledgeBaseStore {
+
+    /**
+     * Callback notified on the main thread when a load from the store has completed
+     * @param <T> the type loaded
+     */
+    public interface LoadCallback<T> {
+
+        /**
+         * Called when the load has completed
+         * @param result the result or null if nothing is stored
+         */
+        void onLoaded(@Nullable T result);
+    }
+
+    /**
+     * A stored page of results
+     * @param <T> the type of entries
+     */
+    public static class Page<T> {
+
+        private final int page;
+        private final List<T> entries;
+        private final boolean hasNextPage;
+
+        public Page(int page, List<T> entries, boolean hasNextPage) {
+            this.page = page;
+            this.entries = entries;
+            this.hasNextPage = hasNextPage;
+        }
+
+        public int getPage() {
+            return page;
+        }
+
+        public List<T> getEntries() {
+            return entries;
+        }
+
+        public boolean hasNextPage() {
+            return hasNextPage;
+        }
+    }
+
+    /**
+     * A page read from the store along with the time it was saved
+     */
+    public static class StoredPage<T> extends Page<T> {
+
+        private final long savedAtMillis;
+
+        public StoredPage(int page, List<T> entries, boolean hasNextPage, long savedAtMillis) {
+            super(page, entries, hasNextPage);
+            this.savedAtMillis = savedAtMillis;
+        }
+
+        public long getSavedAtMillis() {
+            return savedAtMillis;
+        }
+    }
+
+    private static final String DATABASE_PREFIX = "desk_knowledge_base_";
+    private static final String DATABASE_SUFFIX = ".db";
+    private static final int DATABASE_VERSION = 2;
+
+    @VisibleForTesting static final String TABLE_ARTICLES = "articles";
+    @VisibleForTesting static final String TABLE_ARTICLE_PAGES = "article_pages";
+    @VisibleForTesting static final String TABLE_TOPICS = "topics";
+    @VisibleForTesting static final String TABLE_SEARCH_PAGES = "search_pages";
+
+    private static final String COL_BRAND_ID = "brand_id";
+    private static final String COL_TOPIC_ID = "topic_id";
+    private static final String COL_LANGUAGE = "language";
+    private static final String COL_POSITION = "position";
+    private static final String COL_PAGE = "page";
+    private static final String COL_ARTICLE_ID = "article_id";
+    private static final String COL_HAS_NEXT_PAGE = "has_next_page";
+    private static final String COL_UPDATED_AT = "updated_at";
+    private static final String COL_DATA = "data";
+    private static final String COL_SEARCH_KEY = "search_key";
+
+    private static final Type ARTICLE_LIST_TYPE = new TypeToken<List<Article>>() {}.getType();
+
+    private static final String WHERE_ARTICLE_PAGE = COL_BRAND_ID + " = ? AND " + COL_TOPIC_ID + " = ? AND "
+            + COL_LANGUAGE + " = ? AND " + COL_PAGE + " = ?";
+    private static final String WHERE_TOPICS = COL_BRAND_ID + " = ? AND " + COL_LANGUAGE + " = ?";
+    private static final String WHERE_SEARCH_PAGE = COL_SEARCH_KEY + " = ? AND " + COL_UPDATED_AT + " >= ?";
+
+    private final String mHostname;
+    private final DatabaseHelper mHelper;
+    private final ExecutorService mExecutor;
+    private final Handler mMainHandler;
+    private final Gson mGson;
+
+    /**
+     * Creates a store for the Desk site with the hostname provided
+     * @param context the context
+     * @param hostname the hostname of the Desk site
+     */
+    public KnowledgeBaseStore(@NonNull Context context, @Nullable String hostname) {
+        mHostname = hostname;
+        mHelper = new DatabaseHelper(context.getApplicationContext(), buildDatabaseName(hostname));
+        mExecutor = Executors.newSingleThreadExecutor();
+        mMainHandler = new Handler(Looper.getMainLooper());
+        mGson = GsonHelper.getGson();
+    }
+
+    /**
+     * Get the hostname of the Desk site this store is for
+     * @return the hostname
+     */
+    @Nullable
+    public String getHostname() {
+        return mHostname;
+    }
+
+    @VisibleForTesting
+    static String buildDatabaseName(@Nullable String hostname) {
+        String name = hostname == null ? "default" : hostname.replaceAll("[^A-Za-z0-9.]", "_");
+        return DATABASE_PREFIX + name + DATABASE_SUFFIX;
+    }
+
+    /**
+     * Loads a stored page of articles and notifies the callback on the main thread.
+     * @param brandId the brand id
+     * @param topicId the topic id
+     * @param language the language
+     * @param page the page
+     * @param callback the callback to notify
+     */
+    public void loadArticlePage(final int brandId, final int topicId, final String language, final int page,
+                                @NonNull final LoadCallback<Page<Article>> callback) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                deliver(callback, readArticlePage(brandId, topicId, language, page));
+            }
+        });
+    }
+
+    /**
+     * Saves a page of articles in the background, replacing any rows previously stored for that page.
+     * @param brandId the brand id
+     * @param topicId the topic id
+     * @param language the language
+     * @param page the page
+     * @param perPage the amount of articles requested per page
+     * @param articles the articles of the page
+     * @param hasNextPage whether there is another page
+     */
+    public void saveArticlePage(final int brandId, final int topicId, final String language, final int page,
+                                final int perPage, final List<Article> articles, final boolean hasNextPage) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                writeArticlePage(brandId, topicId, language, page, perPage, articles, hasNextPage);
+            }
+        });
+    }
+
+    /**
+     * Loads a stored article by id and notifies the callback on the main thread. Both the articles
+     * of topics and the stored search results are looked through.
+     * @param articleId the article id
+     * @param callback the callback to notify
+     */
+    public void loadArticle(final int articleId, @NonNull final LoadCallback<Article> callback) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                deliver(callback, readArticle(articleId));
+            }
+        });
+    }
+
+    /**
+     * Loads a stored topic by id and notifies the callback on the main thread.
+     * @param topicId the topic id
+     * @param callback the callback to notify
+     */
+    public void loadTopic(final int topicId, @NonNull final LoadCallback<Topic> callback) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                deliver(callback, readTopic(topicId));
+            }
+        });
+    }
+
+    /**
+     * Loads the stored topics and notifies the callback on the main thread.
+     * @param brandId the brand id
+     * @param language the language
+     * @param callback the callback to notify
+     */
+    public void loadTopics(final int brandId, final String language, @NonNull final LoadCallback<List<Topic>> callback) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                deliver(callback, readTopics(brandId, language));
+            }
+        });
+    }
+
+    /**
+     * Saves the topics in the background, replacing any topics previously stored.
+     * @param brandId the brand id
+     * @param language the language
+     * @param topics the topics
+     */
+    public void saveTopics(final int brandId, final String language, final List<Topic> topics) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                writeTopics(brandId, language, topics);
+            }
+        });
+    }
+
+    /**
+     * Loads a stored page of search results and notifies the callback on the main thread.
+     * @param key the search cache key
+     * @param maxAgeMillis the maximum age of the page, older pages are not returned
+     * @param callback the callback to notify
+     */
+    public void loadSearchPage(final String key, final long maxAgeMillis, @NonNull final LoadCallback<StoredPage<Article>> callback) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                deliver(callback, readSearchPage(key, System.currentTimeMillis() - maxAgeMillis));
+            }
+        });
+    }
+
+    /**
+     * Saves a page of search results in the background and removes pages older than the max age as
+     * well as the least recently saved pages over the max amount.
+     * @param key the search cache key
+     * @param page the page of results
+     * @param maxAgeMillis the maximum age of stored pages
+     * @param maxPages the maximum amount of stored pages
+     */
+    public void saveSearchPage(final String key, final Page<Article> page, final long maxAgeMillis, final int maxPages) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                writeSearchPage(key, page, System.currentTimeMillis() - maxAgeMillis, maxPages);
+            }
+        });
+    }
+
+    /**
+     * Opens (and creates if necessary) the database in the background so the first load does not
+     * pay for it.
+     */
+    public void open() {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                mHelper.getWritableDatabase();
+            }
+        });
+    }
+
+    /**
+     * Removes everything from the store in the background.
+     */
+    public void clear() {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                SQLiteDatabase db = mHelper.getWritableDatabase();
+                db.beginTransaction();
+                try {
+                    db.delete(TABLE_ARTICLES, null, null);
+                    db.delete(TABLE_ARTICLE_PAGES, null, null);
+                    db.delete(TABLE_TOPICS, null, null);
+                    db.delete(TABLE_SEARCH_PAGES, null, null);
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            }
+        });
+    }
+
+    /**
+     * Closes the database and stops the background thread once the reads and writes already
+     * requested have completed. Loads requested after the store is closed are never delivered.
+     */
+    public void close() {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                mHelper.close();
+            }
+        });
+        mExecutor.shutdown();
+    }
+
+    private void execute(Runnable task) {
+        try {
+            mExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // the store has been closed
+        }
+    }
+
+    @WorkerThread
+    @Nullable
+    Page<Article> readArticlePage(int brandId, int topicId, String language, int page) {
+        SQLiteDatabase db = mHelper.getReadableDatabase();
+        String[] args = new String[] { String.valueOf(brandId), String.valueOf(topicId), language, String.valueOf(page) };
+        Cursor pageCursor = db.query(TABLE_ARTICLE_PAGES, new String[] { COL_HAS_NEXT_PAGE }, WHERE_ARTICLE_PAGE,
+                args, null, null, null);
+        boolean hasNextPage;
+        try {
+            if (!pageCursor.moveToFirst()) {
+                return null;
+            }
+            hasNextPage = pageCursor.getInt(0) == 1;
+        } finally {
+            pageCursor.close();
+        }
+        Cursor cursor = db.query(TABLE_ARTICLES, new String[] { COL_DATA }, WHERE_ARTICLE_PAGE, args, null, null,
+                COL_POSITION + " ASC");
+        try {
+            List<Article> articles = new ArrayList<>(cursor.getCount());
+            while (cursor.moveToNext()) {
+                articles.add(mGson.fromJson(cursor.getString(0), Article.class));
+            }
+            return new Page<>(page, articles, hasNextPage);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    @WorkerThread
+    void writeArticlePage(int brandId, int topicId, String language, int page, int perPage,
+                          List<Article> articles, boolean hasNextPage) {
+        SQLiteDatabase db = mHelper.getWritableDatabase();
+        String[] args = new String[] { String.valueOf(brandId), String.valueOf(topicId), language, String.valueOf(page) };
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_ARTICLES, WHERE_ARTICLE_PAGE, args);
+            ContentValues values = new ContentValues();
+            int position = (page - 1) * perPage;
+            for (Article article : articles) {
+                values.clear();
+                values.put(COL_BRAND_ID, brandId);
+                values.put(COL_TOPIC_ID, topicId);
+                values.put(COL_LANGUAGE, language);
+                values.put(COL_POSITION, position++);
+                values.put(COL_PAGE, page);
+                values.put(COL_ARTICLE_ID, article.getId());
+                values.put(COL_DATA, mGson.toJson(article));
+                db.insertWithOnConflict(TABLE_ARTICLES, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            values.clear();
+            values.put(COL_BRAND_ID, brandId);
+            values.put(COL_TOPIC_ID, topicId);
+            values.put(COL_LANGUAGE, language);
+            values.put(COL_PAGE, page);
+            values.put(COL_HAS_NEXT_PAGE, hasNextPage ? 1 : 0);
+            values.put(COL_UPDATED_AT, System.currentTimeMillis());
+            db.insertWithOnConflict(TABLE_ARTICLE_PAGES, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    @WorkerThread
+    @Nullable
+    Article readArticle(int articleId) {
+        SQLiteDatabase db = mHelper.getReadableDatabase();
+        Cursor cursor = db.query(TABLE_ARTICLES, new String[] { COL_DATA }, COL_ARTICLE_ID + " = ?",
+                new String[] { String.valueOf(articleId) }, null, null, null, "1");
+        try {
+            if (cursor.moveToFirst()) {
+                return mGson.fromJson(cursor.getString(0), Article.class);
+            }
+        } finally {
+            cursor.close();
+        }
+
+        // search results are stored a page at a time so look through the most recent pages
+        Cursor searchCursor = db.query(TABLE_SEARCH_PAGES, new String[] { COL_DATA }, null, null, null, null,
+                COL_UPDATED_AT + " DESC");
+        try {
+            while (searchCursor.moveToNext()) {
+                List<Article> articles = mGson.fromJson(searchCursor.getString(0), ARTICLE_LIST_TYPE);
+                for (Article article : articles) {
+                    if (article.getId() == articleId) {
+                        return article;
+                    }
+                }
+            }
+            return null;
+        } finally {
+            searchCursor.close();
+        }
+    }
+
+    @WorkerThread
+    @Nullable
+    Topic readTopic(int topicId) {
+        SQLiteDatabase db = mHelper.getReadableDatabase();
+        Cursor cursor = db.query(TABLE_TOPICS, new String[] { COL_DATA }, COL_TOPIC_ID + " = ?",
+                new String[] { String.valueOf(topicId) }, null, null, null, "1");
+        try {
+            return cursor.moveToFirst() ? mGson.fromJson(cursor.getString(0), Topic.class) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    @WorkerThread
+    @Nullable
+    List<Topic> readTopics(int brandId, String language) {
+        SQLiteDatabase db = mHelper.getReadableDatabase();
+        Cursor cursor = db.query(TABLE_TOPICS, new String[] { COL_DATA }, WHERE_TOPICS,
+                new String[] { String.valueOf(brandId), language }, null, null, COL_POSITION + " ASC");
+        try {
+            if (cursor.getCount() == 0) {
+                return null;
+            }
+            List<Topic> topics = new ArrayList<>(cursor.getCount());
+            while (cursor.moveToNext()) {
+                topics.add(mGson.fromJson(cursor.getString(0), Topic.class));
+            }
+            return topics;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    @WorkerThread
+    void writeTopics(int brandId, String language, List<Topic> topics) {
+        SQLiteDatabase db = mHelper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_TOPICS, WHERE_TOPICS, new String[] { String.valueOf(brandId), language });
+            ContentValues values = new ContentValues();
+            int position = 0;
+            for (Topic topic : topics) {
+                values.clear();
+                values.put(COL_BRAND_ID, brandId);
+                values.put(COL_LANGUAGE, language);
+                values.put(COL_POSITION, position++);
+                values.put(COL_TOPIC_ID, topic.getId());
+                values.put(COL_DATA, mGson.toJson(topic));
+                db.insert(TABLE_TOPICS, null, values);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    @WorkerThread
+    @Nullable
+    StoredPage<Article> readSearchPage(String key, long updatedSinceMillis) {
+        SQLiteDatabase db = mHelper.getReadableDatabase();
+        Cursor cursor = db.query(TABLE_SEARCH_PAGES, new String[] { COL_PAGE, COL_HAS_NEXT_PAGE, COL_DATA, COL_UPDATED_AT },
+                WHERE_SEARCH_PAGE, new String[] { key, String.valueOf(updatedSinceMillis) }, null, null, null);
+        try {
+            if (!cursor.moveToFirst()) {
+                return null;
+            }
+            List<Article> articles = mGson.fromJson(cursor.getString(2), ARTICLE_LIST_TYPE);
+            return new StoredPage<>(cursor.getInt(0), articles, cursor.getInt(1) == 1, cursor.getLong(3));
+        } finally {
+            cursor.close();
+        }
+    }
+
+    @WorkerThread
+    void writeSearchPage(String key, Page<Article> page, long expiredBeforeMillis, int maxPages) {
+        SQLiteDatabase db = mHelper.getWritableDatabase();
+        db.delete(TABLE_SEARCH_PAGES, COL_UPDATED_AT + " < ?", new String[] { String.valueOf(expiredBeforeMillis) });
+        ContentValues values = new ContentValues();
+        values.put(COL_SEARCH_KEY, key);
+        values.put(COL_PAGE, page.getPage());
+        values.put(COL_HAS_NEXT_PAGE, page.hasNextPage() ? 1 : 0);
+        values.put(COL_UPDATED_AT, System.currentTimeMillis());
+        values.put(COL_DATA, mGson.toJson(page.getEntries(), ARTICLE_LIST_TYPE));
+        db.insertWithOnConflict(TABLE_SEARCH_PAGES, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+        db.delete(TABLE_SEARCH_PAGES, COL_SEARCH_KEY + " NOT IN (SELECT " + COL_SEARCH_KEY + " FROM " + TABLE_SEARCH_PAGES
+                + " ORDER BY " + COL_UPDATED_AT + " DESC LIMIT " + maxPages + ")", null);
+    }
+
+    private <T> void deliver(final LoadCallback<T> callback, final T result) {
+        mMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                callback.onLoaded(result);
+            }
+        });
+    }
+
+    private static class DatabaseHelper extends SQLiteOpenHelper {
+
+        DatabaseHelper(Context context, String name) {
+            super(context, name, null, DATABASE_VERSION);
+        }
+
+        @Override
+        public void onCreate(SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE " + TABLE_ARTICLES + " ("
+                    + COL_BRAND_ID + " INTEGER NOT NULL, "
+                    + COL_TOPIC_ID + " INTEGER NOT NULL, "
+                    + COL_LANGUAGE + " TEXT NOT NULL, "
+                    + COL_POSITION + " INTEGER NOT NULL, "
+                    + COL_PAGE + " INTEGER NOT NULL, "
+                    + COL_ARTICLE_ID + " INTEGER NOT NULL, "
+                    + COL_DATA + " TEXT NOT NULL, "
+                    + "PRIMARY KEY (" + COL_BRAND_ID + ", " + COL_TOPIC_ID + ", " + COL_LANGUAGE + ", " + COL_POSITION + "))");
+            db.execSQL("CREATE TABLE " + TABLE_ARTICLE_PAGES + " ("
+                    + COL_BRAND_ID + " INTEGER NOT NULL, "
+                    + COL_TOPIC_ID + " INTEGER NOT NULL, "
+                    + COL_LANGUAGE + " TEXT NOT NULL, "
+                    + COL_PAGE + " INTEGER NOT NULL, "
+                    + COL_HAS_NEXT_PAGE + " INTEGER NOT NULL, "
+                    + COL_UPDATED_AT + " INTEGER NOT NULL, "
+                    + "PRIMARY KEY (" + COL_BRAND_ID + ", " + COL_TOPIC_ID + ", " + COL_LANGUAGE + ", " + COL_PAGE + "))");
+            db.execSQL("CREATE TABLE " + TABLE_TOPICS + " ("
+                    + COL_BRAND_ID + " INTEGER NOT NULL, "
+                    + COL_LANGUAGE + " TEXT NOT NULL, "
+                    + COL_POSITION + " INTEGER NOT NULL, "
+                    + COL_TOPIC_ID + " INTEGER NOT NULL, "
+                    + COL_DATA + " TEXT NOT NULL, "
+                    + "PRIMARY KEY (" + COL_BRAND_ID + ", " + COL_LANGUAGE + ", " + COL_POSITION + "))");
+            db.execSQL("CREATE TABLE " + TABLE_SEARCH_PAGES + " ("
+                    + COL_SEARCH_KEY + " TEXT PRIMARY KEY, "
+                    + COL_PAGE + " INTEGER NOT NULL, "
+                    + COL_HAS_NEXT_PAGE + " INTEGER NOT NULL, "
+                    + COL_UPDATED_AT + " INTEGER NOT NULL, "
+                    + COL_DATA + " TEXT NOT NULL)");
+        }
+
+        @Override
+        public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+
+            // everything in the store can be fetched again so start over
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE_ARTICLES);
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE_ARTICLE_PAGES);
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE_TOPICS);
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE_SEARCH_PAGES);
+            onCreate(db);
+        }
+    }
+}
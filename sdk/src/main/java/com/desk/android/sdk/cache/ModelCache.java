@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>In memory cache of models keyed by id, so a view only has to save the ids of the models it
+ * displays and can look the models up again when its state is restored. The least recently used
+ * models are evicted once the cache holds more than its maximum size, which is the amount of models
+ * unless {@link #sizeOf(Object)} is overridden to e.g. count the bytes of large models. Activities also pass only
+ * the id of a model to the activity they start and look the shared instance up here.</p>
+ *
+ * @param <T> the type of model
+ */
+public abstract class ModelCache<T> {
+
+    private final LinkedHashMap<Integer, T> mModels = new LinkedHashMap<>(16, 0.75f, true);
+    private final int mMaxSize;
+    private int mSize;
+
+    /**
+     * Creates a cache
+     * @param maxSize the maximum size of the models to keep, in the units of {@link #sizeOf(Object)}
+     */
+    public ModelCache(int maxSize) {
+        mMaxSize = maxSize;
+    }
+
+    /**
+     * Gets the id of a model
+     * @param model the model
+     * @return the id
+     */
+    protected abstract int getId(T model);
+
+    /**
+     * Gets the size of a model. Defaults to 1 so the maximum size is the amount of models.
+     * @param model the model
+     * @return the size, which must not change while the model is cached
+     */
+    protected int sizeOf(T model) {
+        return 1;
+    }
+
+    /**
+     * Puts a model in the cache
+     * @param model the model
+     */
+    public synchronized void put(T model) {
+        putModel(model);
+        trimToSize();
+    }
+
+    /**
+     * Gets the model for the id
+     * @param id the id
+     * @return the model or null if it isn't cached
+     */
+    @Nullable
+    public synchronized T get(int id) {
+        return mModels.get(id);
+    }
+
+    /**
+     * Puts the models in the cache
+     * @param models the models
+     */
+    public synchronized void putAll(List<T> models) {
+        for (T model : models) {
+            putModel(model);
+        }
+        trimToSize();
+    }
+
+    /**
+     * Gets the models for the ids
+     * @param ids the ids
+     * @return the models in the same order as the ids, or null if any model isn't cached
+     */
+    @Nullable
+    public synchronized List<T> getAll(int[] ids) {
+        List<T> models = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            T model = mModels.get(id);
+            if (model == null) {
+                return null;
+            }
+            models.add(model);
+        }
+        return models;
+    }
+
+    /**
+     * Gets the ids of the models
+     * @param models the models
+     * @return the ids in the same order as the models
+     */
+    public int[] getIds(List<T> models) {
+        int[] ids = new int[models.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = getId(models.get(i));
+        }
+        return ids;
+    }
+
+    /**
+     * Removes every model from the cache
+     */
+    public synchronized void clear() {
+        mModels.clear();
+        mSize = 0;
+    }
+
+    private void putModel(T model) {
+        T previous = mModels.put(getId(model), model);
+        if (previous != null) {
+            mSize -= sizeOf(previous);
+        }
+        mSize += sizeOf(model);
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<Integer, T>> iterator = mModels.entrySet().iterator();
+        while (mSize > mMaxSize && iterator.hasNext()) {
+            mSize -= sizeOf(iterator.next().getValue());
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+
+import com.desk.android.sdk.cache.KnowledgeBaseStore.LoadCallback;
+import com.desk.android.sdk.cache.KnowledgeBaseStore.Page;
+import com.desk.android.sdk.cache.KnowledgeBaseStore.StoredPage;
+import com.desk.java.apiclient.model.Article;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p>Least recently used cache of search result pages keyed by the normalized query, topic, brand,
+ * language and page (see {@link #buildKey(String, int, int, String, int)}). Pages expire after a
+ * time to live and the least recently used pages are evicted once the cache holds more than its
+ * budget of articles.</p>
+ *
+ * <p>Lookups in memory are synchronous. If created with a {@link KnowledgeBaseStore} pages are also
+ * written to disk, which keeps up to {@link #MAX_DISK_PAGES} pages, and can be loaded asynchronously
+ * via {@link #load(String, LoadCallback)}. A page keeps the time it was first cached when loaded
+ * back from disk, so it expires at the same time in either tier.</p>
+ */
+public class SearchCache {
+
+    /**
+     * Default amount of articles kept in memory
+     */
+    public static final int DEFAULT_MAX_ARTICLES = 500;
+
+    /**
+     * Default time to live of a page of results; 10 minutes
+     */
+    public static final long DEFAULT_TTL_MILLIS = 10 * 60 * 1000;
+
+    /**
+     * Amount of pages kept on disk; the least recently cached pages are removed beyond it
+     */
+    public static final int MAX_DISK_PAGES = 100;
+
+    private final int mMaxArticles;
+    private final long mTtlMillis;
+    private final KnowledgeBaseStore mDiskTier;
+    private final LinkedHashMap<String, Entry> mEntries;
+    private int mArticleCount;
+
+    /**
+     * Creates a cache which only lives in memory
+     * @param maxArticles the maximum amount of articles to keep
+     * @param ttlMillis the time to live of a page in milliseconds
+     */
+    public SearchCache(int maxArticles, long ttlMillis) {
+        this(maxArticles, ttlMillis, null);
+    }
+
+    /**
+     * Creates a cache which also stores pages on disk
+     * @param maxArticles the maximum amount of articles to keep in memory
+     * @param ttlMillis the time to live of a page in milliseconds
+     * @param diskTier the store to keep pages on disk or null
+     */
+    public SearchCache(int maxArticles, long ttlMillis, @Nullable KnowledgeBaseStore diskTier) {
+        mMaxArticles = maxArticles;
+        mTtlMillis = ttlMillis;
+        mDiskTier = diskTier;
+        mEntries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Builds the key of a page of search results. The query is trimmed, lower cased and runs of
+     * whitespace are collapsed so equivalent queries share a key.
+     * @param query the search query
+     * @param topicId the topic id
+     * @param brandId the brand id
+     * @param language the language
+     * @param page the page
+     * @return the key
+     */
+    @NonNull
+    public static String buildKey(@Nullable String query, int topicId, int brandId, String language, int page) {
+        String normalized = query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.US);
+        return normalized + '|' + topicId + '|' + brandId + '|' + language + '|' + page;
+    }
+
+    /**
+     * Gets a page from memory
+     * @param key the key
+     * @return the page or null if it isn't cached or has expired
+     */
+    @Nullable
+    public Page<Article> get(String key) {
+        return get(key, System.currentTimeMillis());
+    }
+
+    @VisibleForTesting
+    synchronized Page<Article> get(String key, long nowMillis) {
+        Entry entry = mEntries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (nowMillis - entry.createdMillis > mTtlMillis) {
+            remove(key);
+            return null;
+        }
+        return entry.page;
+    }
+
+    /**
+     * Loads a page from disk. The callback is notified with null if there is no disk tier, nothing
+     * stored or the stored page has expired. Pages loaded from disk are put back in memory with the
+     * time they were stored, so they don't live longer than their time to live.
+     * @param key the key
+     * @param callback the callback to notify on the main thread
+     */
+    public void load(final String key, @NonNull final LoadCallback<Page<Article>> callback) {
+        if (mDiskTier == null) {
+            callback.onLoaded(null);
+            return;
+        }
+        mDiskTier.loadSearchPage(key, mTtlMillis, new LoadCallback<StoredPage<Article>>() {
+            @Override
+            public void onLoaded(@Nullable StoredPage<Article> result) {
+                if (result != null) {
+                    putInMemory(key, result, result.getSavedAtMillis());
+                }
+                callback.onLoaded(result);
+            }
+        });
+    }
+
+    /**
+     * Puts a page in memory and on disk
+     * @param key the key
+     * @param page the page
+     */
+    public void put(String key, Page<Article> page) {
+        putInMemory(key, page, System.currentTimeMillis());
+        if (mDiskTier != null) {
+            mDiskTier.saveSearchPage(key, page, mTtlMillis, MAX_DISK_PAGES);
+        }
+    }
+
+    @VisibleForTesting
+    synchronized void putInMemory(String key, Page<Article> page, long nowMillis) {
+        remove(key);
+        mEntries.put(key, new Entry(page, nowMillis));
+        mArticleCount += page.getEntries().size();
+        trimToSize();
+    }
+
+    /**
+     * Removes every page from memory
+     */
+    public synchronized void clear() {
+        mEntries.clear();
+        mArticleCount = 0;
+    }
+
+    @VisibleForTesting
+    synchronized int size() {
+        return mEntries.size();
+    }
+
+    private void remove(String key) {
+        Entry entry = mEntries.remove(key);
+        if (entry != null) {
+            mArticleCount -= entry.page.getEntries().size();
+        }
+    }
+
+    private void trimToSize() {
+
+        // always keep the most recent page even if it is over budget on its own
+        Iterator<Map.Entry<String, Entry>> iterator = mEntries.entrySet().iterator();
+        while (mArticleCount > mMaxArticles && mEntries.size() > 1 && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            mArticleCount -= eldest.page.getEntries().size();
+        }
+    }
+
+    private static class Entry {
+
+        final Page<Article> page;
+        final long createdMillis;
+
+        Entry(Page<Article> page, long createdMillis) {
+            this.page = page;
+            this.createdMillis = createdMillis;
+        }
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+
+import com.desk.java.apiclient.model.Article;
+import com.desk.java.apiclient.model.Topic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * <p>Prefix trie of search suggestions built from article subjects, topic names and recent queries.
+ * Subjects and names can be found by the start of any of their words, e.g. "pass" suggests
+ * "Resetting your password".</p>
+ *
+ * <p>Every node keeps its best {@link #MAX_SUGGESTIONS} suggestions, so a lookup only walks the
+ * prefix and never the subtree below it. Children are kept in sorted arrays rather than maps to keep
+ * the trie compact. Recent queries rank above topic names, which rank above article subjects.</p>
+ *
+ * <p>Only the first {@link #MAX_KEY_LENGTH} characters from the start of each word are added to the
+ * trie, so a subject takes a node per character of its words rather than per character of every
+ * suffix. Once the trie has more than its maximum amount of nodes it is rebuilt from its best and
+ * most recent suggestions until it is three quarters full, dropping the rest.</p>
+ *
+ * <p>Subjects and names are added in the background as pages load. Lookups are thread safe.</p>
+ */
+public class SuggestionTrie {
+
+    /**
+     * The maximum amount of suggestions returned
+     */
+    public static final int MAX_SUGGESTIONS = 5;
+
+    /**
+     * Default maximum amount of nodes in the trie
+     */
+    public static final int DEFAULT_MAX_NODES = 20000;
+
+    /**
+     * The maximum amount of characters of a prefix which are kept in the trie. Longer prefixes are
+     * matched by filtering the suggestions of their first characters.
+     */
+    @VisibleForTesting static final int MAX_KEY_LENGTH = 32;
+
+    @VisibleForTesting static final int WEIGHT_ARTICLE = 1;
+    @VisibleForTesting static final int WEIGHT_TOPIC = 2;
+    @VisibleForTesting static final int WEIGHT_QUERY = 3;
+
+    private final Executor mExecutor;
+    private final int mMaxNodes;
+    private final HashMap<String, Suggestion> mSuggestions = new HashMap<>();
+    private Node mRoot = new Node();
+    private int mNodeCount;
+    private int mSequence;
+
+    /**
+     * Increases with every recent query so later queries rank above earlier ones
+     */
+    private int mQueryCount;
+
+    public SuggestionTrie() {
+        this(Executors.newSingleThreadExecutor());
+    }
+
+    /**
+     * Creates a trie which adds subjects and names on the given executor
+     * @param executor the executor to add subjects and names on
+     */
+    public SuggestionTrie(@NonNull Executor executor) {
+        this(executor, DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * Creates a trie which adds subjects and names on the given executor
+     * @param executor the executor to add subjects and names on
+     * @param maxNodes the maximum amount of nodes to keep
+     */
+    public SuggestionTrie(@NonNull Executor executor, int maxNodes) {
+        mExecutor = executor;
+        mMaxNodes = maxNodes;
+    }
+
+    /**
+     * Adds the subjects of the articles in the background
+     * @param articles the articles
+     */
+    public void addArticles(@Nullable List<Article> articles) {
+        if (articles == null || articles.isEmpty()) {
+            return;
+        }
+        final List<String> subjects = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            if (article != null) {
+                subjects.add(article.getSubject());
+            }
+        }
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (String subject : subjects) {
+                    add(subject, WEIGHT_ARTICLE, true);
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds the names of the topics in the background
+     * @param topics the topics
+     */
+    public void addTopics(@Nullable List<Topic> topics) {
+        if (topics == null || topics.isEmpty()) {
+            return;
+        }
+        final List<String> names = new ArrayList<>(topics.size());
+        for (Topic topic : topics) {
+            if (topic != null) {
+                names.add(topic.getName());
+            }
+        }
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (String name : names) {
+                    add(name, WEIGHT_TOPIC, true);
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds a query the user searched for. Recent queries are only found by their start.
+     * @param query the query
+     */
+    public synchronized void addQuery(@Nullable String query) {
+        add(query, WEIGHT_QUERY + mQueryCount++, false);
+    }
+
+    /**
+     * Finds the best suggestions starting with the prefix
+     * @param prefix the prefix typed by the user
+     * @return up to {@link #MAX_SUGGESTIONS} suggestions, best first
+     */
+    @NonNull
+    public synchronized List<String> suggest(@Nullable String prefix) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Node node = mRoot;
+        for (int i = 0; i < key.length() && i < MAX_KEY_LENGTH && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        List<String> suggestions = new ArrayList<>(MAX_SUGGESTIONS);
+        if (node != null) {
+            for (int i = 0; i < node.suggestionCount; i++) {
+                Suggestion suggestion = node.suggestions[i];
+                if (key.length() <= MAX_KEY_LENGTH || suggestion.matches(key)) {
+                    suggestions.add(suggestion.text);
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    @VisibleForTesting
+    synchronized int getNodeCount() {
+        return mNodeCount;
+    }
+
+    @VisibleForTesting
+    synchronized void add(@Nullable String text, int weight, boolean everyWord) {
+        if (text == null) {
+            return;
+        }
+        String display = text.trim().replaceAll("\\s+", " ");
+        String key = normalize(display);
+        if (key.isEmpty()) {
+            return;
+        }
+        Suggestion existing = mSuggestions.get(key);
+        if (existing != null && existing.weight >= weight) {
+            // subjects are added again with every page which loads them
+            return;
+        }
+        Suggestion suggestion = new Suggestion(display, key, weight, everyWord, mSequence++);
+        mSuggestions.put(key, suggestion);
+        insert(suggestion);
+        if (mNodeCount > mMaxNodes) {
+            trim();
+        }
+    }
+
+    private void insert(Suggestion suggestion) {
+        String key = suggestion.key;
+        insert(key, 0, suggestion);
+        if (suggestion.everyWord) {
+            for (int i = 1; i < key.length(); i++) {
+                if (key.charAt(i - 1) == ' ') {
+                    insert(key, i, suggestion);
+                }
+            }
+        }
+    }
+
+    private void insert(String key, int start, Suggestion suggestion) {
+        Node node = mRoot;
+        int end = Math.min(key.length(), start + MAX_KEY_LENGTH);
+        for (int i = start; i < end; i++) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                child = node.addChild(key.charAt(i));
+                mNodeCount++;
+            }
+            node = child;
+            node.offer(suggestion);
+        }
+    }
+
+    /**
+     * Rebuilds the trie from the best and most recent suggestions until it is three quarters full
+     */
+    private void trim() {
+        List<Suggestion> suggestions = new ArrayList<>(mSuggestions.values());
+        Collections.sort(suggestions, new Comparator<Suggestion>() {
+            @Override
+            public int compare(Suggestion lhs, Suggestion rhs) {
+                if (lhs.weight != rhs.weight) {
+                    return lhs.weight > rhs.weight ? -1 : 1;
+                }
+                return lhs.sequence > rhs.sequence ? -1 : (lhs.sequence == rhs.sequence ? 0 : 1);
+            }
+        });
+        mRoot = new Node();
+        mNodeCount = 0;
+        mSuggestions.clear();
+        int target = mMaxNodes * 3 / 4;
+        for (Suggestion suggestion : suggestions) {
+            if (mNodeCount >= target) {
+                break;
+            }
+            mSuggestions.put(suggestion.key, suggestion);
+            insert(suggestion);
+        }
+    }
+
+    private static String normalize(@Nullable String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.US);
+    }
+
+    private static class Suggestion {
+
+        final String text;
+        final String key;
+        final int weight;
+        final boolean everyWord;
+        final int sequence;
+
+        Suggestion(String text, String key, int weight, boolean everyWord, int sequence) {
+            this.text = text;
+            this.key = key;
+            this.weight = weight;
+            this.everyWord = everyWord;
+            this.sequence = sequence;
+        }
+
+        boolean matches(String prefix) {
+            return key.startsWith(prefix) || (everyWord && key.contains(" " + prefix));
+        }
+    }
+
+    private static class Node {
+
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        char[] labels = NO_LABELS;
+        Node[] children = NO_CHILDREN;
+        Suggestion[] suggestions;
+        int suggestionCount;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(labels, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char c) {
+            int insertAt = -Arrays.binarySearch(labels, c) - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            Node child = new Node();
+            newLabels[insertAt] = c;
+            newChildren[insertAt] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        /**
+         * Keeps the suggestion if it is among the best of this node. A suggestion with the same text
+         * replaces the existing one if it has a higher weight.
+         */
+        void offer(Suggestion suggestion) {
+            if (suggestions == null) {
+                suggestions = new Suggestion[MAX_SUGGESTIONS];
+            }
+            for (int i = 0; i < suggestionCount; i++) {
+                if (suggestions[i].text.equalsIgnoreCase(suggestion.text)) {
+                    if (suggestions[i].weight >= suggestion.weight) {
+                        return;
+                    }
+                    System.arraycopy(suggestions, i + 1, suggestions, i, suggestionCount - i - 1);
+                    suggestionCount--;
+                    break;
+                }
+            }
+            int position = suggestionCount;
+            while (position > 0 && suggestions[position - 1].weight < suggestion.weight) {
+                position--;
+            }
+            if (position >= MAX_SUGGESTIONS) {
+                return;
+            }
+            int moved = Math.min(suggestionCount, MAX_SUGGESTIONS - 1) - position;
+            System.arraycopy(suggestions, position, suggestions, position + 1, moved);
+            suggestions[position] = suggestion;
+            suggestionCount = Math.min(suggestionCount + 1, MAX_SUGGESTIONS);
+        }
+    }
+}
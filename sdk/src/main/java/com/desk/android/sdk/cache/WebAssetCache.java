@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.os.Build;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.support.annotation.WorkerThread;
+import android.webkit.WebResourceResponse;
+
+import com.squareup.okhttp.CacheControl;
+import com.squareup.okhttp.Headers;
+import com.squareup.okhttp.HttpUrl;
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Serves the static assets of web pages on the Desk site (stylesheets, scripts, fonts and images)
+ * to web views through the response cache of the http client, so assets shared by every portal page
+ * are only downloaded once and are revalidated with their ETag or Last-Modified validators
+ * afterwards.</p>
+ *
+ * <p>Only the hostname of the Desk site in the {@link com.desk.android.sdk.config.DeskConfig} is
+ * intercepted. Assets of any other host, including assets the site serves from a CDN, are left to
+ * the web view and its own cache, so they get no benefit from this class.</p>
+ *
+ * <p>Bodies are streamed to the web view as they download and the original response headers are
+ * passed on from Lollipop. Concurrent requests for the same asset, from any web view, briefly wait
+ * for the first download to land in the cache instead of downloading it again. Since the web view
+ * loads its resources on a single thread, a download which takes longer than that is not waited
+ * for; the web view then loads the asset itself. When the network is unreachable a cached copy is
+ * served even if it is stale.</p>
+ */
+public class WebAssetCache {
+
+    private static final Set<String> STATIC_EXTENSIONS = new HashSet<>(Arrays.asList(
+            "css", "js", "woff", "woff2", "ttf", "otf", "eot", "png", "jpg", "jpeg", "gif", "svg", "webp", "ico"));
+
+    // how long to block the web view's thread for another web view to download an asset
+    private static final long SHARED_DOWNLOAD_TIMEOUT_MILLIS = 500;
+
+    private final OkHttpClient mHttpClient;
+    private final String mHostname;
+    private final Map<String, CountDownLatch> mInFlight = new HashMap<>();
+
+    /**
+     * Creates an asset cache
+     * @param httpClient the http client whose response cache stores the assets
+     * @param hostname the hostname of the Desk site whose assets are served
+     */
+    public WebAssetCache(OkHttpClient httpClient, String hostname) {
+        mHttpClient = httpClient;
+        mHostname = hostname;
+    }
+
+    /**
+     * Gets the response for a request made by a web view
+     * @param url the url requested
+     * @return the response, or null if the url is not a static asset of the Desk site or could not be
+     * loaded so the web view loads it itself
+     */
+    @WorkerThread
+    @Nullable
+    public WebResourceResponse get(String url) {
+        if (!isSiteUrl(url, mHostname) || !isStaticAsset(url)) {
+            return null;
+        }
+        CountDownLatch download;
+        CountDownLatch ownDownload = null;
+        synchronized (mInFlight) {
+            download = mInFlight.get(url);
+            if (download == null) {
+                ownDownload = new CountDownLatch(1);
+                mInFlight.put(url, ownDownload);
+            }
+        }
+        if (ownDownload == null) {
+            try {
+
+                // another web view is downloading the asset, load it from the cache once it is done
+                // or let the web view load it itself if that takes too long
+                if (!download.await(SHARED_DOWNLOAD_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return null;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        try {
+            return load(url, ownDownload);
+        } catch (IOException e) {
+            release(url, ownDownload);
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the url is on the Desk site
+     * @param url the url
+     * @param hostname the hostname of the Desk site
+     * @return true if the url is an http(s) url of the hostname
+     */
+    @VisibleForTesting
+    static boolean isSiteUrl(@Nullable String url, @Nullable String hostname) {
+        HttpUrl httpUrl = url != null ? HttpUrl.parse(url) : null;
+        return httpUrl != null && hostname != null && httpUrl.host().equalsIgnoreCase(hostname);
+    }
+
+    /**
+     * Checks whether the url is a static asset judging by the extension of its path
+     * @param url the url
+     * @return true if the url is an http(s) url of a static asset
+     */
+    @VisibleForTesting
+    static boolean isStaticAsset(@Nullable String url) {
+        HttpUrl httpUrl = url != null ? HttpUrl.parse(url) : null;
+        if (httpUrl == null) {
+            return false;
+        }
+        List<String> segments = httpUrl.pathSegments();
+        String name = segments.get(segments.size() - 1);
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && STATIC_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.US));
+    }
+
+    /**
+     * Flattens response headers into the map a {@link WebResourceResponse} takes, joining repeated
+     * headers with commas
+     * @param headers the response headers
+     * @return the headers by name
+     */
+    @VisibleForTesting
+    static Map<String, String> toHeaderMap(Headers headers) {
+        Map<String, String> map = new HashMap<>();
+        for (String name : headers.names()) {
+            StringBuilder value = new StringBuilder();
+            for (String part : headers.values(name)) {
+                if (value.length() > 0) {
+                    value.append(", ");
+                }
+                value.append(part);
+            }
+            map.put(name, value.toString());
+        }
+        return map;
+    }
+
+    /**
+     * Loads the asset and streams its body to the web view. The download is released once the web
+     * view closes the body, by which time the response cache holds the asset.
+     */
+    @Nullable
+    private WebResourceResponse load(final String url, @Nullable final CountDownLatch download) throws IOException {
+        Request request = new Request.Builder().url(url).build();
+        Response response;
+        try {
+            response = mHttpClient.newCall(request).execute();
+        } catch (IOException e) {
+
+            // offline so serve whatever is cached, no matter how old
+            response = mHttpClient.newCall(request.newBuilder().cacheControl(CacheControl.FORCE_CACHE).build()).execute();
+        }
+        MediaType contentType = response.body().contentType();
+        if (!response.isSuccessful() || contentType == null) {
+            response.body().close();
+            release(url, download);
+            return null;
+        }
+        InputStream body = new FilterInputStream(response.body().byteStream()) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (!closed) {
+                        closed = true;
+                        release(url, download);
+                    }
+                }
+            }
+        };
+        String mimeType = contentType.type() + "/" + contentType.subtype();
+        Charset charset = contentType.charset();
+        String encoding = charset != null ? charset.name() : null;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            String reasonPhrase = response.message() == null || response.message().isEmpty() ? "OK" : response.message();
+            return new WebResourceResponse(mimeType, encoding, response.code(), reasonPhrase, toHeaderMap(response.headers()), body);
+        }
+        return new WebResourceResponse(mimeType, encoding, body);
+    }
+
+    private void release(String url, @Nullable CountDownLatch download) {
+        if (download == null) {
+            return;
+        }
+        synchronized (mInFlight) {
+            if (mInFlight.get(url) == download) {
+                mInFlight.remove(url);
+            }
+        }
+        download.countDown();
+    }
+}
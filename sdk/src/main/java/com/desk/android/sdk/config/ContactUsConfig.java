@@ -33,7 +33,8 @@ import java.util.List;
 
 /**
  * Configuration options for 'Contact Us' which allows submitting feedback / issues and creating a
- * case.
+ * case. The custom fields of an app supplied config are read every time a case is created, so they
+ * may be computed on each call.
  */
 public interface ContactUsConfig {
 
@@ -29,9 +29,9 @@ package com.desk.android.sdk.config;
 import android.content.Context;
 import android.support.annotation.NonNull;
 import android.text.TextUtils;
+import android.util.SparseArray;
 
 import com.desk.android.sdk.DeskProperties;
-import com.desk.android.sdk.helper.PropertyHelper;
 import com.desk.android.sdk.model.CustomFieldProperties;
 
 import java.util.Arrays;
@@ -39,6 +39,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static com.desk.android.sdk.helper.PropertyHelper.*;
 import static com.desk.android.sdk.helper.PropertyHelper.getBoolean;
@@ -47,6 +49,10 @@ import static com.desk.android.sdk.helper.PropertyHelper.getString;
 /**
  * {@link com.desk.android.sdk.config.ContactUsConfig} which pulls configuration out of a {@link Properties}
  * object.
+ *
+ * <p>The properties are resolved once when the config is created into an immutable {@link Snapshot}
+ * for the default configuration and one for each brand which has brand specific properties. Lookups
+ * then read fields of a snapshot rather than formatting keys and querying the properties.</p>
  */
 public class ContactUsPropertyConfig extends BaseContactUsConfig implements PropertyConfig {
 
@@ -100,7 +106,12 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     public static final String KEY_CONTACT_US_CUSTOM_FIELD_VALUE = "contact.us.custom.field.%s.value";
 
+    private static final Pattern BRAND_KEY_PATTERN = Pattern.compile("\\.brand\\.(\\d+)$");
+
     private Properties properties;
+    private Snapshot defaultSnapshot;
+    private Snapshot unknownBrandSnapshot;
+    private SparseArray<Snapshot> brandSnapshots;
 
     /**
      * Creates an instance which will pull properties from {@link DeskProperties}.
@@ -109,6 +120,23 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
     public ContactUsPropertyConfig(Context applicationContext) {
         super(applicationContext);
         this.properties = DeskProperties.with(applicationContext);
+        this.defaultSnapshot = resolveDefaultSnapshot();
+        this.unknownBrandSnapshot = defaultSnapshot.withCustomFieldKeys(Collections.<String>emptyList());
+        this.brandSnapshots = new SparseArray<>();
+        for (String key : properties.stringPropertyNames()) {
+            Matcher matcher = BRAND_KEY_PATTERN.matcher(key);
+            if (matcher.find()) {
+                int brandId;
+                try {
+                    brandId = Integer.parseInt(matcher.group(1));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if (brandSnapshots.get(brandId) == null) {
+                    brandSnapshots.put(brandId, resolveBrandSnapshot(brandId));
+                }
+            }
+        }
     }
 
     /**
@@ -116,7 +144,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public boolean isContactUsEnabled() {
-        return getBoolean(KEY_CONTACT_US_ENABLED, super.isContactUsEnabled(), properties);
+        return defaultSnapshot.contactUsEnabled;
     }
 
     /**
@@ -124,7 +152,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public boolean isContactUsEnabled(int brandId) {
-        return PropertyHelper.getBooleanWithArgs(buildBrandKey(KEY_CONTACT_US_ENABLED), isContactUsEnabled(), properties, brandId);
+        return getSnapshot(brandId).contactUsEnabled;
     }
 
     /**
@@ -132,7 +160,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public String getSubject() {
-        return getString(KEY_CONTACT_US_SUBJECT, super.getSubject(), properties);
+        return defaultSnapshot.subject;
     }
 
     /**
@@ -140,7 +168,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public String getSubject(int brandId) {
-        return getStringWithArgs(buildBrandKey(KEY_CONTACT_US_SUBJECT), getSubject(), properties, brandId);
+        return getSnapshot(brandId).subject;
     }
 
     /**
@@ -148,7 +176,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public boolean isSubjectEnabled() {
-        return getBoolean(KEY_CONTACT_US_SUBJECT_ENABLED, properties);
+        return defaultSnapshot.subjectEnabled;
     }
 
     /**
@@ -156,7 +184,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public boolean isSubjectEnabled(int brandId) {
-        return PropertyHelper.getBooleanWithArgs(buildBrandKey(KEY_CONTACT_US_SUBJECT_ENABLED), isSubjectEnabled(), properties, brandId);
+        return getSnapshot(brandId).subjectEnabled;
     }
 
     /**
@@ -164,7 +192,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public boolean isUserNameEnabled() {
-        return getBoolean(KEY_CONTACT_US_USER_NAME_ENABLED, properties);
+        return defaultSnapshot.userNameEnabled;
     }
 
     /**
@@ -172,7 +200,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public boolean isUserNameEnabled(int brandId) {
-        return PropertyHelper.getBooleanWithArgs(buildBrandKey(KEY_CONTACT_US_USER_NAME_ENABLED), isUserNameEnabled(), properties, brandId);
+        return getSnapshot(brandId).userNameEnabled;
     }
 
     /**
@@ -180,7 +208,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public boolean isWebFormEnabled() {
-        return getBoolean(KEY_CONTACT_US_WEB_FORM_ENABLED, properties);
+        return defaultSnapshot.webFormEnabled;
     }
 
     /**
@@ -188,7 +216,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public boolean isWebFormEnabled(int brandId) {
-        return PropertyHelper.getBooleanWithArgs(buildBrandKey(KEY_CONTACT_US_WEB_FORM_ENABLED), isWebFormEnabled(), properties, brandId);
+        return getSnapshot(brandId).webFormEnabled;
     }
 
     /**
@@ -196,7 +224,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public String getEmailAddress() {
-        return getString(KEY_CONTACT_US_EMAIL_ADDRESS, properties);
+        return defaultSnapshot.emailAddress;
     }
 
     /**
@@ -204,7 +232,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public String getEmailAddress(int brandId) {
-        return getStringWithArgs(buildBrandKey(KEY_CONTACT_US_EMAIL_ADDRESS), getEmailAddress(), properties, brandId);
+        return getSnapshot(brandId).emailAddress;
     }
 
     /**
@@ -212,7 +240,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public boolean isCallUsEnabled() {
-        return getBoolean(KEY_CONTACT_US_CALL_US_ENABLED, properties);
+        return defaultSnapshot.callUsEnabled;
     }
 
     /**
@@ -220,7 +248,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public boolean isCallUsEnabled(int brandId) {
-        return PropertyHelper.getBooleanWithArgs(buildBrandKey(KEY_CONTACT_US_CALL_US_ENABLED), isCallUsEnabled(), properties, brandId);
+        return getSnapshot(brandId).callUsEnabled;
     }
 
     /**
@@ -228,7 +256,7 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public String getCallUsPhoneNumber() {
-        return getString(KEY_CONTACT_US_PHONE_NUMBER, properties);
+        return defaultSnapshot.callUsPhoneNumber;
     }
 
     /**
@@ -236,62 +264,146 @@ public class ContactUsPropertyConfig extends BaseContactUsConfig implements Prop
      */
     @Override
     public String getCallUsPhoneNumber(int brandId) {
-        return getStringWithArgs(buildBrandKey(KEY_CONTACT_US_PHONE_NUMBER), getCallUsPhoneNumber(), properties, brandId);
+        return getSnapshot(brandId).callUsPhoneNumber;
     }
 
+    /**
+     * The returned list is shared and must not be modified.
+     */
     @Override
     @NonNull
     public List<String> getCustomFieldKeys() {
-        return getCustomFieldKeys(KEY_CONTACT_US_CUSTOM_FIELD_KEYS);
+        return defaultSnapshot.customFieldKeys;
     }
 
+    /**
+     * The returned list is shared and must not be modified.
+     */
     @Override
     @NonNull
     public List<String> getCustomFieldKeys(int brandId) {
-        return getCustomFieldKeys(buildBrandKey(KEY_CONTACT_US_CUSTOM_FIELD_KEYS), brandId);
+        return getSnapshot(brandId).customFieldKeys;
     }
 
+    /**
+     * The returned map is shared and must not be modified.
+     */
     @Override
     public HashMap<String, CustomFieldProperties> getCustomFieldProperties() {
-        List<String> keys = getCustomFieldKeys();
-        HashMap<String, CustomFieldProperties> customFields = new HashMap<>(keys.size());
-        if (keys.size() > 0) {
-            for (String key : keys) {
-                String value = getStringWithArgs(KEY_CONTACT_US_CUSTOM_FIELD_VALUE, properties, key.trim());
-                CustomFieldProperties properties = new CustomFieldProperties.Builder(key).value(value).create();
-                customFields.put(key, properties);
-            }
-        }
-        return customFields;
+        return defaultSnapshot.customFieldProperties;
     }
 
+    /**
+     * The returned map is shared and must not be modified.
+     */
     @Override
     public HashMap<String, CustomFieldProperties> getCustomFieldProperties(int brandId) {
-        List<String> keys = getCustomFieldKeys(brandId);
-        if (keys.size() > 0) {
-            HashMap<String, CustomFieldProperties> customFields = new HashMap<>(keys.size());
-            for (String key : keys) {
+        return getSnapshot(brandId).customFieldProperties;
+    }
+
+    @NonNull
+    private Snapshot getSnapshot(int brandId) {
+        Snapshot snapshot = brandSnapshots.get(brandId);
+        return snapshot != null ? snapshot : unknownBrandSnapshot;
+    }
+
+    private Snapshot resolveDefaultSnapshot() {
+        List<String> customFieldKeys = resolveCustomFieldKeys(KEY_CONTACT_US_CUSTOM_FIELD_KEYS);
+        HashMap<String, CustomFieldProperties> customFields = new HashMap<>(customFieldKeys.size());
+        for (String key : customFieldKeys) {
+            String value = getStringWithArgs(KEY_CONTACT_US_CUSTOM_FIELD_VALUE, properties, key.trim());
+            customFields.put(key, new CustomFieldProperties.Builder(key).value(value).create());
+        }
+        return new Snapshot(
+                getBoolean(KEY_CONTACT_US_ENABLED, super.isContactUsEnabled(), properties),
+                getString(KEY_CONTACT_US_SUBJECT, super.getSubject(), properties),
+                getBoolean(KEY_CONTACT_US_SUBJECT_ENABLED, properties),
+                getBoolean(KEY_CONTACT_US_USER_NAME_ENABLED, properties),
+                getBoolean(KEY_CONTACT_US_WEB_FORM_ENABLED, properties),
+                getString(KEY_CONTACT_US_EMAIL_ADDRESS, properties),
+                getBoolean(KEY_CONTACT_US_CALL_US_ENABLED, properties),
+                getString(KEY_CONTACT_US_PHONE_NUMBER, properties),
+                customFieldKeys,
+                customFields
+        );
+    }
+
+    private Snapshot resolveBrandSnapshot(int brandId) {
+        Snapshot defaults = defaultSnapshot;
+        List<String> customFieldKeys = resolveCustomFieldKeys(buildBrandKey(KEY_CONTACT_US_CUSTOM_FIELD_KEYS), brandId);
+        HashMap<String, CustomFieldProperties> customFields;
+        if (customFieldKeys.size() > 0) {
+            customFields = new HashMap<>(customFieldKeys.size());
+            for (String key : customFieldKeys) {
                 String value = getStringWithArgs(buildBrandKey(KEY_CONTACT_US_CUSTOM_FIELD_VALUE), properties, key.trim(), brandId);
-                CustomFieldProperties properties = new CustomFieldProperties.Builder(key).value(value).create();
-                customFields.put(key, properties);
+                customFields.put(key, new CustomFieldProperties.Builder(key).value(value).create());
             }
-            return customFields;
+        } else {
+            // use default custom fields
+            customFields = defaults.customFieldProperties;
         }
-
-        // return default custom fields
-        return getCustomFieldProperties();
+        return new Snapshot(
+                getBooleanWithArgs(buildBrandKey(KEY_CONTACT_US_ENABLED), defaults.contactUsEnabled, properties, brandId),
+                getStringWithArgs(buildBrandKey(KEY_CONTACT_US_SUBJECT), defaults.subject, properties, brandId),
+                getBooleanWithArgs(buildBrandKey(KEY_CONTACT_US_SUBJECT_ENABLED), defaults.subjectEnabled, properties, brandId),
+                getBooleanWithArgs(buildBrandKey(KEY_CONTACT_US_USER_NAME_ENABLED), defaults.userNameEnabled, properties, brandId),
+                getBooleanWithArgs(buildBrandKey(KEY_CONTACT_US_WEB_FORM_ENABLED), defaults.webFormEnabled, properties, brandId),
+                getStringWithArgs(buildBrandKey(KEY_CONTACT_US_EMAIL_ADDRESS), defaults.emailAddress, properties, brandId),
+                getBooleanWithArgs(buildBrandKey(KEY_CONTACT_US_CALL_US_ENABLED), defaults.callUsEnabled, properties, brandId),
+                getStringWithArgs(buildBrandKey(KEY_CONTACT_US_PHONE_NUMBER), defaults.callUsPhoneNumber, properties, brandId),
+                customFieldKeys,
+                customFields
+        );
     }
 
     @NonNull
-    private List<String> getCustomFieldKeys(String key, Object... keyArgs) {
+    private List<String> resolveCustomFieldKeys(String key, Object... keyArgs) {
         String keysString = getStringWithArgs(key, properties, keyArgs);
         if (TextUtils.isEmpty(keysString)) {
             return Collections.emptyList();
         }
-        return Arrays.asList(keysString.trim().split(","));
+        return Collections.unmodifiableList(Arrays.asList(keysString.trim().split(",")));
     }
 
     private String buildBrandKey(String key) {
         return key + BRAND_SUFFIX;
     }
+
+    /**
+     * Immutable contact us configuration resolved from the properties for the default configuration
+     * or a single brand.
+     */
+    private static final class Snapshot {
+
+        final boolean contactUsEnabled;
+        final String subject;
+        final boolean subjectEnabled;
+        final boolean userNameEnabled;
+        final boolean webFormEnabled;
+        final String emailAddress;
+        final boolean callUsEnabled;
+        final String callUsPhoneNumber;
+        final List<String> customFieldKeys;
+        final HashMap<String, CustomFieldProperties> customFieldProperties;
+
+        Snapshot(boolean contactUsEnabled, String subject, boolean subjectEnabled, boolean userNameEnabled,
+                 boolean webFormEnabled, String emailAddress, boolean callUsEnabled, String callUsPhoneNumber,
+                 List<String> customFieldKeys, HashMap<String, CustomFieldProperties> customFieldProperties) {
+            this.contactUsEnabled = contactUsEnabled;
+            this.subject = subject;
+            this.subjectEnabled = subjectEnabled;
+            this.userNameEnabled = userNameEnabled;
+            this.webFormEnabled = webFormEnabled;
+            this.emailAddress = emailAddress;
+            this.callUsEnabled = callUsEnabled;
+            this.callUsPhoneNumber = callUsPhoneNumber;
+            this.customFieldKeys = customFieldKeys;
+            this.customFieldProperties = customFieldProperties;
+        }
+
+        Snapshot withCustomFieldKeys(List<String> customFieldKeys) {
+            return new Snapshot(contactUsEnabled, subject, subjectEnabled, userNameEnabled, webFormEnabled,
+                    emailAddress, callUsEnabled, callUsPhoneNumber, customFieldKeys, customFieldProperties);
+        }
+    }
 }
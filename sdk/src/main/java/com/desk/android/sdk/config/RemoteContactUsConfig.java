@@ -0,0 +1,590 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.config;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.support.annotation.WorkerThread;
+import android.util.SparseArray;
+
+import com.desk.android.sdk.Desk;
+import com.desk.android.sdk.helper.GsonHelper;
+import com.desk.android.sdk.model.CustomFieldProperties;
+import com.google.gson.JsonParseException;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * <p>{@link ContactUsConfig} which is fetched from a remote endpoint so the contact us form can be
+ * changed without shipping a new version of the app. The last fetched config is persisted to disk
+ * and loaded in the background when the config is created. Until a remote config is available, and
+ * for any value it doesn't set, the fallback config is used.</p>
+ *
+ * <p>The endpoint returns a JSON object such as:</p>
+ * <pre>
+ * {
+ *   "contact_us_enabled": true,
+ *   "subject": "App Feedback",
+ *   "subject_enabled": false,
+ *   "user_name_enabled": true,
+ *   "web_form_enabled": false,
+ *   "email_address": "support@mysite.com",
+ *   "call_us_enabled": true,
+ *   "call_us_phone_number": "(555) 555-5555",
+ *   "custom_fields": { "app_version": "1.0.1" },
+ *   "brands": {
+ *     "1": { "subject": "Brand 1 App Feedback" }
+ *   }
+ * }
+ * </pre>
+ *
+ * <p>A brand value falls back to the remote default value and then to the fallback config for the
+ * brand. Lookups read an immutable snapshot which is swapped in the background whenever a new config
+ * is loaded, so they never block on disk or network. Creating an instance starts a fetch, so create
+ * one and keep it; call {@link #refresh()} to fetch the config again. All instances share one
+ * background thread.</p>
+ */
+public class RemoteContactUsConfig extends BaseContactUsConfig {
+
+    private static final String FILE_NAME = "desk_contact_us_config.json";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String CHARSET = "UTF-8";
+
+    // shared by every instance so they don't each keep a thread alive and never write the file at once
+    private static final Executor EXECUTOR = Executors.newSingleThreadExecutor();
+
+    private final Context mApplicationContext;
+    private final String mUrl;
+    private final ContactUsConfig mFallback;
+    private final File mFile;
+    private final Executor mExecutor;
+    private final Handler mMainHandler;
+
+    private volatile Snapshot mSnapshot = Snapshot.EMPTY;
+
+    /**
+     * Creates an instance which falls back to a {@link ContactUsPropertyConfig}. Creating it starts
+     * loading the persisted config and fetching the remote config in the background.
+     * @param applicationContext the application context
+     * @param url the url of the remote config
+     */
+    public RemoteContactUsConfig(Context applicationContext, @NonNull String url) {
+        this(applicationContext, url, new ContactUsPropertyConfig(applicationContext));
+    }
+
+    /**
+     * Creates an instance. Creating it starts loading the persisted config and fetching the remote
+     * config in the background.
+     * @param applicationContext the application context
+     * @param url the url of the remote config
+     * @param fallback the config to use for values the remote config doesn't set
+     */
+    public RemoteContactUsConfig(Context applicationContext, @NonNull String url, @NonNull ContactUsConfig fallback) {
+        this(applicationContext, url, fallback, new File(applicationContext.getFilesDir(), FILE_NAME), EXECUTOR);
+    }
+
+    @VisibleForTesting
+    RemoteContactUsConfig(Context applicationContext, @NonNull String url, @NonNull ContactUsConfig fallback,
+                          @NonNull File file, @NonNull Executor executor) {
+        super(applicationContext);
+        mApplicationContext = applicationContext.getApplicationContext();
+        mUrl = url;
+        mFallback = fallback;
+        mFile = file;
+        mExecutor = executor;
+        mMainHandler = new Handler(Looper.getMainLooper());
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                RemoteSettings settings = read();
+                if (settings != null && mSnapshot == Snapshot.EMPTY) {
+                    swap(settings);
+                }
+            }
+        });
+        refresh();
+    }
+
+    /**
+     * Fetches the remote config in the background and, if it is valid, persists it and swaps it in.
+     */
+    public void refresh() {
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                String json = fetch();
+                RemoteSettings settings = parse(json);
+                if (settings != null) {
+                    write(json);
+                    swap(settings);
+                }
+            }
+        });
+    }
+
+    /**
+     * See {@link ContactUsConfig#isContactUsEnabled()}
+     */
+    @Override
+    public boolean isContactUsEnabled() {
+        Boolean value = mSnapshot.defaults.contactUsEnabled;
+        return value != null ? value : mFallback.isContactUsEnabled();
+    }
+
+    /**
+     * See {@link ContactUsConfig#isContactUsEnabled(int)}
+     */
+    @Override
+    public boolean isContactUsEnabled(int brandId) {
+        Snapshot snapshot = mSnapshot;
+        RemoteSettings brand = snapshot.brands.get(brandId);
+        if (brand != null && brand.contactUsEnabled != null) {
+            return brand.contactUsEnabled;
+        }
+        Boolean value = snapshot.defaults.contactUsEnabled;
+        return value != null ? value : mFallback.isContactUsEnabled(brandId);
+    }
+
+    /**
+     * See {@link ContactUsConfig#getSubject()}
+     */
+    @Override
+    public String getSubject() {
+        String value = mSnapshot.defaults.subject;
+        return value != null ? value : mFallback.getSubject();
+    }
+
+    /**
+     * See {@link ContactUsConfig#getSubject(int)}
+     */
+    @Override
+    public String getSubject(int brandId) {
+        Snapshot snapshot = mSnapshot;
+        RemoteSettings brand = snapshot.brands.get(brandId);
+        if (brand != null && brand.subject != null) {
+            return brand.subject;
+        }
+        String value = snapshot.defaults.subject;
+        return value != null ? value : mFallback.getSubject(brandId);
+    }
+
+    /**
+     * See {@link ContactUsConfig#isSubjectEnabled()}
+     */
+    @Override
+    public boolean isSubjectEnabled() {
+        Boolean value = mSnapshot.defaults.subjectEnabled;
+        return value != null ? value : mFallback.isSubjectEnabled();
+    }
+
+    /**
+     * See {@link ContactUsConfig#isSubjectEnabled(int)}
+     */
+    @Override
+    public boolean isSubjectEnabled(int brandId) {
+        Snapshot snapshot = mSnapshot;
+        RemoteSettings brand = snapshot.brands.get(brandId);
+        if (brand != null && brand.subjectEnabled != null) {
+            return brand.subjectEnabled;
+        }
+        Boolean value = snapshot.defaults.subjectEnabled;
+        return value != null ? value : mFallback.isSubjectEnabled(brandId);
+    }
+
+    /**
+     * See {@link ContactUsConfig#isUserNameEnabled()}
+     */
+    @Override
+    public boolean isUserNameEnabled() {
+        Boolean value = mSnapshot.defaults.userNameEnabled;
+        return value != null ? value : mFallback.isUserNameEnabled();
+    }
+
+    /**
+     * See {@link ContactUsConfig#isUserNameEnabled(int)}
+     */
+    @Override
+    public boolean isUserNameEnabled(int brandId) {
+        Snapshot snapshot = mSnapshot;
+        RemoteSettings brand = snapshot.brands.get(brandId);
+        if (brand != null && brand.userNameEnabled != null) {
+            return brand.userNameEnabled;
+        }
+        Boolean value = snapshot.defaults.userNameEnabled;
+        return value != null ? value : mFallback.isUserNameEnabled(brandId);
+    }
+
+    /**
+     * See {@link ContactUsConfig#isWebFormEnabled()}
+     */
+    @Override
+    public boolean isWebFormEnabled() {
+        Boolean value = mSnapshot.defaults.webFormEnabled;
+        return value != null ? value : mFallback.isWebFormEnabled();
+    }
+
+    /**
+     * See {@link ContactUsConfig#isWebFormEnabled(int)}
+     */
+    @Override
+    public boolean isWebFormEnabled(int brandId) {
+        Snapshot snapshot = mSnapshot;
+        RemoteSettings brand = snapshot.brands.get(brandId);
+        if (brand != null && brand.webFormEnabled != null) {
+            return brand.webFormEnabled;
+        }
+        Boolean value = snapshot.defaults.webFormEnabled;
+        return value != null ? value : mFallback.isWebFormEnabled(brandId);
+    }
+
+    /**
+     * See {@link ContactUsConfig#getEmailAddress()}
+     */
+    @Override
+    public String getEmailAddress() {
+        String value = mSnapshot.defaults.emailAddress;
+        return value != null ? value : mFallback.getEmailAddress();
+    }
+
+    /**
+     * See {@link ContactUsConfig#getEmailAddress(int)}
+     */
+    @Override
+    public String getEmailAddress(int brandId) {
+        Snapshot snapshot = mSnapshot;
+        RemoteSettings brand = snapshot.brands.get(brandId);
+        if (brand != null && brand.emailAddress != null) {
+            return brand.emailAddress;
+        }
+        String value = snapshot.defaults.emailAddress;
+        return value != null ? value : mFallback.getEmailAddress(brandId);
+    }
+
+    /**
+     * See {@link ContactUsConfig#isCallUsEnabled()}
+     */
+    @Override
+    public boolean isCallUsEnabled() {
+        Boolean value = mSnapshot.defaults.callUsEnabled;
+        return value != null ? value : mFallback.isCallUsEnabled();
+    }
+
+    /**
+     * See {@link ContactUsConfig#isCallUsEnabled(int)}
+     */
+    @Override
+    public boolean isCallUsEnabled(int brandId) {
+        Snapshot snapshot = mSnapshot;
+        RemoteSettings brand = snapshot.brands.get(brandId);
+        if (brand != null && brand.callUsEnabled != null) {
+            return brand.callUsEnabled;
+        }
+        Boolean value = snapshot.defaults.callUsEnabled;
+        return value != null ? value : mFallback.isCallUsEnabled(brandId);
+    }
+
+    /**
+     * See {@link ContactUsConfig#getCallUsPhoneNumber()}
+     */
+    @Override
+    public String getCallUsPhoneNumber() {
+        String value = mSnapshot.defaults.callUsPhoneNumber;
+        return value != null ? value : mFallback.getCallUsPhoneNumber();
+    }
+
+    /**
+     * See {@link ContactUsConfig#getCallUsPhoneNumber(int)}
+     */
+    @Override
+    public String getCallUsPhoneNumber(int brandId) {
+        Snapshot snapshot = mSnapshot;
+        RemoteSettings brand = snapshot.brands.get(brandId);
+        if (brand != null && brand.callUsPhoneNumber != null) {
+            return brand.callUsPhoneNumber;
+        }
+        String value = snapshot.defaults.callUsPhoneNumber;
+        return value != null ? value : mFallback.getCallUsPhoneNumber(brandId);
+    }
+
+    /**
+     * The returned list is shared and must not be modified.
+     */
+    @Override
+    public List<String> getCustomFieldKeys() {
+        List<String> value = mSnapshot.defaults.customFieldKeys;
+        return value != null ? value : mFallback.getCustomFieldKeys();
+    }
+
+    /**
+     * The returned list is shared and must not be modified.
+     */
+    @Override
+    public List<String> getCustomFieldKeys(int brandId) {
+        Snapshot snapshot = mSnapshot;
+        RemoteSettings brand = snapshot.brands.get(brandId);
+        if (brand != null && brand.customFieldKeys != null) {
+            return brand.customFieldKeys;
+        }
+        List<String> value = snapshot.defaults.customFieldKeys;
+        return value != null ? value : mFallback.getCustomFieldKeys(brandId);
+    }
+
+    /**
+     * The returned map is shared and must not be modified.
+     */
+    @Override
+    public HashMap<String, CustomFieldProperties> getCustomFieldProperties() {
+        HashMap<String, CustomFieldProperties> value = mSnapshot.defaults.customFieldProperties;
+        return value != null ? value : mFallback.getCustomFieldProperties();
+    }
+
+    /**
+     * The returned map is shared and must not be modified.
+     */
+    @Override
+    public HashMap<String, CustomFieldProperties> getCustomFieldProperties(int brandId) {
+        Snapshot snapshot = mSnapshot;
+        RemoteSettings brand = snapshot.brands.get(brandId);
+        if (brand != null && brand.customFieldProperties != null) {
+            return brand.customFieldProperties;
+        }
+        HashMap<String, CustomFieldProperties> value = snapshot.defaults.customFieldProperties;
+        return value != null ? value : mFallback.getCustomFieldProperties(brandId);
+    }
+
+    /**
+     * Parses and resolves a remote config.
+     * @param json the remote config json
+     * @return the settings, null if the json is missing or invalid
+     */
+    @VisibleForTesting
+    @Nullable
+    static RemoteSettings parse(@Nullable String json) {
+        if (json == null) {
+            return null;
+        }
+        RemoteSettings settings;
+        try {
+            settings = GsonHelper.getGson().fromJson(json, RemoteSettings.class);
+        } catch (JsonParseException e) {
+            return null;
+        }
+        if (settings == null) {
+            return null;
+        }
+        settings.resolve();
+        if (settings.brands != null) {
+            for (RemoteSettings brand : settings.brands.values()) {
+                if (brand != null) {
+                    brand.resolve();
+                }
+            }
+        }
+        return settings;
+    }
+
+    @WorkerThread
+    private void swap(RemoteSettings settings) {
+        mSnapshot = new Snapshot(settings);
+
+        // drop the custom field schemas resolved from the previous snapshot
+        mMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                Desk.with(mApplicationContext).notifyContactUsConfigChanged();
+            }
+        });
+    }
+
+    @WorkerThread
+    @Nullable
+    private String fetch() {
+        OkHttpClient client = Desk.with(mApplicationContext).getHttpClient();
+        Request request = new Request.Builder().url(mUrl).build();
+        Response response = null;
+        try {
+            response = client.newCall(request).execute();
+            return response.isSuccessful() ? response.body().string() : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        } finally {
+            if (response != null) {
+                closeQuietly(response.body());
+            }
+        }
+    }
+
+    @WorkerThread
+    @Nullable
+    private RemoteSettings read() {
+        if (!mFile.exists()) {
+            return null;
+        }
+        Reader reader = null;
+        try {
+            reader = new InputStreamReader(new FileInputStream(mFile), CHARSET);
+            StringBuilder json = new StringBuilder();
+            char[] buffer = new char[1024];
+            int count;
+            while ((count = reader.read(buffer)) != -1) {
+                json.append(buffer, 0, count);
+            }
+            RemoteSettings settings = parse(json.toString());
+            if (settings == null) {
+                mFile.delete();
+            }
+            return settings;
+        } catch (IOException e) {
+            return null;
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    @WorkerThread
+    private void write(String json) {
+        File directory = mFile.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            return;
+        }
+        File temp = new File(directory, mFile.getName() + TEMP_SUFFIX);
+        Writer writer = null;
+        try {
+            writer = new OutputStreamWriter(new FileOutputStream(temp), CHARSET);
+            writer.write(json);
+            writer.close();
+            writer = null;
+            if (!temp.renameTo(mFile)) {
+                temp.delete();
+            }
+        } catch (IOException e) {
+            temp.delete();
+        } finally {
+            closeQuietly(writer);
+        }
+    }
+
+    private static void closeQuietly(@Nullable Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+                // nothing left to do
+            }
+        }
+    }
+
+    /**
+     * Contact us values of a remote config. A null value isn't set by the remote config.
+     */
+    @VisibleForTesting
+    static class RemoteSettings {
+
+        Boolean contactUsEnabled;
+        String subject;
+        Boolean subjectEnabled;
+        Boolean userNameEnabled;
+        Boolean webFormEnabled;
+        String emailAddress;
+        Boolean callUsEnabled;
+        String callUsPhoneNumber;
+        LinkedHashMap<String, String> customFields;
+        HashMap<String, RemoteSettings> brands;
+
+        transient List<String> customFieldKeys;
+        transient HashMap<String, CustomFieldProperties> customFieldProperties;
+
+        /**
+         * Resolves the custom fields once so lookups don't build them.
+         */
+        void resolve() {
+            if (customFields == null) {
+                return;
+            }
+            List<String> keys = new ArrayList<>(customFields.size());
+            HashMap<String, CustomFieldProperties> properties = new HashMap<>(customFields.size());
+            for (Map.Entry<String, String> entry : customFields.entrySet()) {
+                String key = entry.getKey();
+                keys.add(key);
+                properties.put(key, new CustomFieldProperties.Builder(key).value(entry.getValue()).create());
+            }
+            customFieldKeys = Collections.unmodifiableList(keys);
+            customFieldProperties = properties;
+        }
+    }
+
+    /**
+     * Immutable remote config with the brand settings keyed by brand id.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new RemoteSettings());
+
+        final RemoteSettings defaults;
+        final SparseArray<RemoteSettings> brands;
+
+        Snapshot(RemoteSettings settings) {
+            defaults = settings;
+            brands = new SparseArray<>();
+            if (settings.brands != null) {
+                for (Map.Entry<String, RemoteSettings> entry : settings.brands.entrySet()) {
+                    if (entry.getValue() == null) {
+                        continue;
+                    }
+                    try {
+                        brands.put(Integer.parseInt(entry.getKey().trim()), entry.getValue());
+                    } catch (NumberFormatException ignored) {
+                        // not a brand id
+                    }
+                }
+            }
+        }
+    }
+}
@@ -43,6 +43,7 @@ import com.desk.android.sdk.error.ErrorResponse;
 import com.desk.android.sdk.helper.DeskThemeHelper;
 import com.desk.android.sdk.helper.MenuHelper;
 import com.desk.android.sdk.provider.InboundMailboxProvider;
+import com.desk.android.sdk.provider.RequestHandle;
 import com.desk.java.apiclient.model.InboundMailbox;
 import com.desk.java.apiclient.util.StringUtils;
 
@@ -50,7 +51,8 @@ import java.util.List;
 
 /**
  * <p>Headless fragment which handles adding contact us options to the overflow menu by getting attributes
- * out of the {@link Activity}'s theme. This fragment also handles the menu options.</p>
+ * out of the {@link Activity}'s theme. This fragment also handles the menu options. When the web form
+ * is enabled it is preloaded in the {@link com.desk.android.sdk.widget.WebViewPool}.</p>
  *
  * Created by Matt Kranzler on 7/9/15.
  */
@@ -67,6 +69,8 @@ public class ContactUsHelper extends Fragment {
 
     private String mEmailAddress;
 
+    private RequestHandle mMailboxRequest;
+
     /**
      * Attaches the fragment to the activity
      * @param activity the activity to attach to
@@ -112,6 +116,15 @@ public class ContactUsHelper extends Fragment {
         initializeVariables();
     }
 
+    @Override
+    public void onDetach() {
+        super.onDetach();
+        if (mMailboxRequest != null) {
+            mMailboxRequest.cancel();
+            mMailboxRequest = null;
+        }
+    }
+
     private void initializeVariables() {
         if (mThemeHelper.hasBrandId()) {
             int brandId = mThemeHelper.getBrandId();
@@ -124,6 +137,11 @@ public class ContactUsHelper extends Fragment {
             mUseWebForm = mConfig.isWebFormEnabled();
         }
 
+        // load the web form ahead of time so it shows at once when contact us is selected
+        if (mContactUsEnabled && mUseWebForm) {
+            mDesk.getWebViewPool().preload(mDesk.getContactUsWebFormUrl());
+        }
+
         // if there isn't an overridden email address lets load an email address
         if (mContactUsEnabled && StringUtils.isEmpty(mEmailAddress) && !mUseWebForm) {
             mContactUsEnabled = false;
@@ -133,7 +151,7 @@ public class ContactUsHelper extends Fragment {
     }
 
     private void loadInboundMailbox() {
-        mDesk.getInboundMailboxProvider()
+        mMailboxRequest = mDesk.getInboundMailboxProvider()
                 .getMailboxes(1, new InboundMailboxProvider.InboundMailboxCallbacks() {
                     @Override
                     public void onInboundMailboxesLoaded(int page, List<InboundMailbox> mailboxes) {
@@ -29,19 +29,40 @@ package com.desk.android.sdk.fragment;
 import android.app.Activity;
 import android.app.Fragment;
 import android.app.FragmentManager;
+import android.app.SearchManager;
+import android.database.Cursor;
+import android.database.MatrixCursor;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.provider.BaseColumns;
+import android.support.annotation.VisibleForTesting;
 import android.support.v4.view.MenuItemCompat;
+import android.support.v4.widget.CursorAdapter;
+import android.support.v4.widget.SimpleCursorAdapter;
 import android.support.v7.widget.SearchView;
 import android.view.Menu;
 import android.view.MenuInflater;
 import android.view.MenuItem;
+import android.widget.FilterQueryProvider;
 
+import com.desk.android.sdk.Desk;
 import com.desk.android.sdk.R;
+import com.desk.android.sdk.cache.SuggestionTrie;
+
+import java.util.List;
 
 /**
  * <p>Headless fragment which adds a SearchView to the action bar and manages action bar state related
  * to the SearchView. Searches performed will notify via {@link com.desk.android.sdk.fragment.SearchViewHelper.SearchListener#onPerformSearch(String)}.</p>
  *
+ * <p>If the activity implements {@link com.desk.android.sdk.fragment.SearchViewHelper.LiveSearchListener}
+ * it is also notified while the user types. Keystrokes are debounced by {@link #DEBOUNCE_MILLIS} so
+ * only the query the user settles on is searched.</p>
+ *
+ * <p>While the user types, suggestions are shown from the {@link SuggestionTrie} of article
+ * subjects, topic names and recent queries. Picking one searches for it.</p>
+ *
  * Created by Matt Kranzler on 7/9/15.
  */
 public class SearchViewHelper extends Fragment {
@@ -49,13 +70,38 @@ public class SearchViewHelper extends Fragment {
     private static final String FRAG_TAG = SearchViewHelper.class.getCanonicalName();
     private static final String ARG_QUERY_HINT = "queryHint";
 
+    @VisibleForTesting static final long DEBOUNCE_MILLIS = 300;
+    @VisibleForTesting static final int MIN_QUERY_LENGTH = 2;
+
     private SearchView mSearchView;
     private MenuItem mSearchMenuItem;
 
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private final QueryChangedRunnable mQueryChangedRunnable = new QueryChangedRunnable();
+    private String mLastLiveQuery;
+    private SuggestionTrie mSuggestionTrie;
+
     public interface SearchListener {
         void onPerformSearch(String query);
     }
 
+    /**
+     * Listener which is notified of the query while the user types
+     */
+    public interface LiveSearchListener extends SearchListener {
+
+        /**
+         * Called once the user has stopped typing for {@link #DEBOUNCE_MILLIS}
+         * @param query the trimmed query, empty if it is shorter than {@link #MIN_QUERY_LENGTH}
+         */
+        void onQueryChanged(String query);
+
+        /**
+         * Called when the search view is closed
+         */
+        void onSearchClosed();
+    }
+
     /**
      * Attaches the fragment to the activity and adds the menu provided.
      * @param parent the activity which extends {@link Activity} & {@link com.desk.android.sdk.fragment.SearchViewHelper.SearchListener}
@@ -71,6 +117,7 @@ public class SearchViewHelper extends Fragment {
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setHasOptionsMenu(true);
+        mSuggestionTrie = Desk.with(getActivity()).getSuggestionTrie();
     }
 
     @Override
@@ -78,10 +125,23 @@ public class SearchViewHelper extends Fragment {
         inflater.inflate(R.menu.search_menu, menu);
         mSearchMenuItem = menu.findItem(R.id.search);
         if (mSearchMenuItem != null) {
+            MenuItemCompat.setOnActionExpandListener(mSearchMenuItem, new MenuItemCompat.OnActionExpandListener() {
+                @Override
+                public boolean onMenuItemActionExpand(MenuItem item) {
+                    return true;
+                }
+
+                @Override
+                public boolean onMenuItemActionCollapse(MenuItem item) {
+                    onSearchClosed();
+                    return true;
+                }
+            });
             mSearchView = (SearchView) MenuItemCompat.getActionView(mSearchMenuItem);
             if (mSearchView != null) {
                 mSearchView.setQueryHint(getArguments().getString(ARG_QUERY_HINT));
                 setupSearchViewListeners();
+                setupSuggestions();
             }
         }
         super.onCreateOptionsMenu(menu, inflater);
@@ -93,6 +153,8 @@ public class SearchViewHelper extends Fragment {
         mSearchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
             @Override
             public boolean onQueryTextSubmit(String query) {
+                mHandler.removeCallbacks(mQueryChangedRunnable);
+                mSuggestionTrie.addQuery(query);
                 if (getParent() != null) {
                     getParent().onPerformSearch(query.trim());
                 }
@@ -102,11 +164,98 @@ public class SearchViewHelper extends Fragment {
 
             @Override
             public boolean onQueryTextChange(String newText) {
+                if (!(getParent() instanceof LiveSearchListener)) {
+                    return false;
+                }
+                mHandler.removeCallbacks(mQueryChangedRunnable);
+                mQueryChangedRunnable.query = newText;
+                mHandler.postDelayed(mQueryChangedRunnable, DEBOUNCE_MILLIS);
+                return true;
+            }
+        });
+    }
+
+    private void setupSuggestions() {
+        SimpleCursorAdapter adapter = new SimpleCursorAdapter(mSearchView.getContext(),
+                android.R.layout.simple_list_item_1, null, new String[] { SearchManager.SUGGEST_COLUMN_TEXT_1 },
+                new int[] { android.R.id.text1 }, 0);
+
+        // the lookup is cheap enough to run on every keystroke without debouncing
+        adapter.setFilterQueryProvider(new FilterQueryProvider() {
+            @Override
+            public Cursor runQuery(CharSequence constraint) {
+                return buildSuggestionsCursor(mSuggestionTrie.suggest(constraint == null ? null : constraint.toString()));
+            }
+        });
+        mSearchView.setSuggestionsAdapter(adapter);
+        mSearchView.setOnSuggestionListener(new SearchView.OnSuggestionListener() {
+            @Override
+            public boolean onSuggestionSelect(int position) {
                 return false;
             }
+
+            @Override
+            public boolean onSuggestionClick(int position) {
+                CursorAdapter suggestionsAdapter = mSearchView.getSuggestionsAdapter();
+                Cursor cursor = suggestionsAdapter == null ? null : suggestionsAdapter.getCursor();
+                if (cursor == null || !cursor.moveToPosition(position)) {
+                    return false;
+                }
+                mSearchView.setQuery(cursor.getString(cursor.getColumnIndex(SearchManager.SUGGEST_COLUMN_TEXT_1)), true);
+                return true;
+            }
         });
     }
 
+    private static Cursor buildSuggestionsCursor(List<String> suggestions) {
+        MatrixCursor cursor = new MatrixCursor(new String[] { BaseColumns._ID, SearchManager.SUGGEST_COLUMN_TEXT_1 },
+                suggestions.size());
+        for (int i = 0; i < suggestions.size(); i++) {
+            cursor.addRow(new Object[] { i, suggestions.get(i) });
+        }
+        return cursor;
+    }
+
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        mHandler.removeCallbacks(mQueryChangedRunnable);
+    }
+
+    private void onQueryChanged(String query) {
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.length() < MIN_QUERY_LENGTH) {
+            trimmed = "";
+        }
+
+        // don't search again if only whitespace or short queries changed
+        if (trimmed.equals(mLastLiveQuery == null ? "" : mLastLiveQuery)) {
+            return;
+        }
+        mLastLiveQuery = trimmed;
+        if (getParent() instanceof LiveSearchListener) {
+            ((LiveSearchListener) getParent()).onQueryChanged(trimmed);
+        }
+    }
+
+    private void onSearchClosed() {
+        mHandler.removeCallbacks(mQueryChangedRunnable);
+        mLastLiveQuery = null;
+        if (getParent() instanceof LiveSearchListener) {
+            ((LiveSearchListener) getParent()).onSearchClosed();
+        }
+    }
+
+    private class QueryChangedRunnable implements Runnable {
+
+        String query;
+
+        @Override
+        public void run() {
+            onQueryChanged(query);
+        }
+    }
+
     /**
      * Attempts to iconify the search view
      * @return true if the search view iconified (closed), false if not
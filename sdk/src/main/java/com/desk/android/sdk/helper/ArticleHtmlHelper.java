@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.helper;
+
+import android.support.annotation.Nullable;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Helper methods for rendering the body html of an article natively
+ */
+public class ArticleHtmlHelper {
+
+    /**
+     * Tags that can't be rendered as styled text and need a web view
+     */
+    private static final Pattern RICH_CONTENT = Pattern.compile(
+            "<\\s*(iframe|video|audio|object|embed|table|script|form|canvas|svg)\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(subject|body)\\}\\}");
+    private static final String PLACEHOLDER_SUBJECT = "subject";
+
+    /**
+     * Checks whether the body of an article needs a web view to be displayed correctly
+     * @param html the body html
+     * @return true if the body is missing or contains rich content such as tables or embedded media
+     */
+    public static boolean requiresWebView(@Nullable String html) {
+        return html == null || html.trim().isEmpty() || RICH_CONTENT.matcher(html).find();
+    }
+
+    /**
+     * Fills the article template with the subject and body of an article in a single pass, so
+     * placeholders within the subject or body are left as they are
+     * @param template the template html containing the {{subject}} and {{body}} placeholders
+     * @param subject the subject of the article, which is escaped
+     * @param body the body html of the article
+     * @return the html page
+     */
+    public static String applyTemplate(String template, @Nullable String subject, @Nullable String body) {
+        String escapedSubject = escapeHtml(subject);
+        String bodyHtml = body == null ? "" : body;
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuffer html = new StringBuffer(template.length() + escapedSubject.length() + bodyHtml.length());
+        while (matcher.find()) {
+            String value = PLACEHOLDER_SUBJECT.equals(matcher.group(1)) ? escapedSubject : bodyHtml;
+            matcher.appendReplacement(html, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(html);
+        return html.toString();
+    }
+
+    /**
+     * Escapes the characters of the text which have a meaning in html
+     * @param text the text
+     * @return the escaped text
+     */
+    public static String escapeHtml(@Nullable String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                case '\'':
+                    escaped.append("&#39;");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Calculates the power of two sample size to decode an image with so it is no smaller than the
+     * width it is displayed at
+     * @param width the width of the image
+     * @param maxWidth the width the image is displayed at
+     * @return the sample size
+     */
+    public static int calculateInSampleSize(int width, int maxWidth) {
+        int inSampleSize = 1;
+        if (maxWidth <= 0) {
+            return inSampleSize;
+        }
+        while (width / (inSampleSize * 2) >= maxWidth) {
+            inSampleSize *= 2;
+        }
+        return inSampleSize;
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.metrics;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * <p>Timings and details for a single request made through one of the providers. To create an instance
+ * use the {@link com.desk.android.sdk.metrics.RequestMetrics.Builder} class.</p>
+ *
+ * <p>All timestamps are wall clock times in milliseconds. Timings which are unknown, e.g. network
+ * timings for a response served from the response cache or a request which failed before it was
+ * sent, are returned as {@link #UNKNOWN}. The HTTP client does not report DNS, connect and TLS times
+ * separately so they are included in {@link #getQueueAndConnectMillis()}.</p>
+ */
+public class RequestMetrics {
+
+    public static final String ENDPOINT_ARTICLES = "articles";
+    public static final String ENDPOINT_SEARCH = "search";
+    public static final String ENDPOINT_TOPICS = "topics";
+    public static final String ENDPOINT_CASES = "cases";
+    public static final String ENDPOINT_MAILBOXES = "mailboxes";
+
+    public static final long UNKNOWN = -1;
+
+    private final String endpoint;
+    private final long startMillis;
+    private final long sentMillis;
+    private final long receivedMillis;
+    private final long responseMillis;
+    private final long deliveredMillis;
+    private final boolean cacheHit;
+    private final int pageSize;
+    private final int statusCode;
+    private final Throwable error;
+
+    private RequestMetrics(Builder builder) {
+        this.endpoint = builder.endpoint;
+        this.startMillis = builder.startMillis;
+        this.sentMillis = builder.sentMillis;
+        this.receivedMillis = builder.receivedMillis;
+        this.responseMillis = builder.responseMillis;
+        this.deliveredMillis = builder.deliveredMillis;
+        this.cacheHit = builder.cacheHit;
+        this.pageSize = builder.pageSize;
+        this.statusCode = builder.statusCode;
+        this.error = builder.error;
+    }
+
+    /**
+     * Get the endpoint of the request, one of the {@code ENDPOINT_} constants
+     * @return the endpoint
+     */
+    @NonNull
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Get the time the provider was asked to make the request
+     * @return the start time
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * Get the time between the provider call and the request being written to the socket. This
+     * includes waiting in the dispatcher queue, DNS, connecting and the TLS handshake.
+     * @return the time in milliseconds or {@link #UNKNOWN}
+     */
+    public long getQueueAndConnectMillis() {
+        return between(startMillis, sentMillis);
+    }
+
+    /**
+     * Get the time between the request being sent and the response headers being received
+     * @return the time in milliseconds or {@link #UNKNOWN}
+     */
+    public long getTimeToFirstByteMillis() {
+        return between(sentMillis, receivedMillis);
+    }
+
+    /**
+     * Get the time between the response headers being received and the parsed response being handed
+     * to the provider. This includes downloading the body and parsing the JSON.
+     * @return the time in milliseconds or {@link #UNKNOWN}
+     */
+    public long getBodyAndParseMillis() {
+        return between(receivedMillis, responseMillis);
+    }
+
+    /**
+     * Get the time spent notifying the provider callback
+     * @return the time in milliseconds
+     */
+    public long getCallbackMillis() {
+        return between(responseMillis, deliveredMillis);
+    }
+
+    /**
+     * Get the time between the provider call and the provider callback returning
+     * @return the time in milliseconds
+     */
+    public long getTotalMillis() {
+        return between(startMillis, deliveredMillis);
+    }
+
+    /**
+     * Whether the response was served from the response cache without going to the network
+     * @return true if the cache was hit
+     */
+    public boolean isCacheHit() {
+        return cacheHit;
+    }
+
+    /**
+     * Get the number of entries in the response
+     * @return the page size or {@link #UNKNOWN} if the request failed
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Get the HTTP status code of the response
+     * @return the status code or 0 if there was no response
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Get the error the request failed with
+     * @return the error or null if the request did not fail
+     */
+    @Nullable
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * Whether the request completed with a successful response
+     * @return true if successful
+     */
+    public boolean isSuccessful() {
+        return error == null && statusCode >= 200 && statusCode < 300;
+    }
+
+    private static long between(long from, long to) {
+        return from == UNKNOWN || to == UNKNOWN ? UNKNOWN : to - from;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestMetrics{" +
+                "endpoint='" + endpoint + '\'' +
+                ", queueAndConnectMillis=" + getQueueAndConnectMillis() +
+                ", timeToFirstByteMillis=" + getTimeToFirstByteMillis() +
+                ", bodyAndParseMillis=" + getBodyAndParseMillis() +
+                ", callbackMillis=" + getCallbackMillis() +
+                ", totalMillis=" + getTotalMillis() +
+                ", cacheHit=" + cacheHit +
+                ", pageSize=" + pageSize +
+                ", statusCode=" + statusCode +
+                ", error=" + error +
+                '}';
+    }
+
+    /**
+     * Builder used to create a {@link RequestMetrics}.
+     */
+    public static class Builder {
+
+        private String endpoint;
+        private long startMillis = UNKNOWN;
+        private long sentMillis = UNKNOWN;
+        private long receivedMillis = UNKNOWN;
+        private long responseMillis = UNKNOWN;
+        private long deliveredMillis = UNKNOWN;
+        private boolean cacheHit;
+        private int pageSize = (int) UNKNOWN;
+        private int statusCode;
+        private Throwable error;
+
+        /**
+         * Creates a builder for a request to the endpoint
+         * @param endpoint the endpoint
+         * @param startMillis the time the request was started
+         */
+        public Builder(@NonNull String endpoint, long startMillis) {
+            this.endpoint = endpoint;
+            this.startMillis = startMillis;
+        }
+
+        /**
+         * Set the time the request was sent
+         * @param sentMillis the time
+         * @return the builder instance
+         */
+        public Builder sentMillis(long sentMillis) {
+            this.sentMillis = sentMillis;
+            return this;
+        }
+
+        /**
+         * Set the time the response headers were received
+         * @param receivedMillis the time
+         * @return the builder instance
+         */
+        public Builder receivedMillis(long receivedMillis) {
+            this.receivedMillis = receivedMillis;
+            return this;
+        }
+
+        /**
+         * Set the time the parsed response was handed to the provider
+         * @param responseMillis the time
+         * @return the builder instance
+         */
+        public Builder responseMillis(long responseMillis) {
+            this.responseMillis = responseMillis;
+            return this;
+        }
+
+        /**
+         * Set the time the provider callback returned
+         * @param deliveredMillis the time
+         * @return the builder instance
+         */
+        public Builder deliveredMillis(long deliveredMillis) {
+            this.deliveredMillis = deliveredMillis;
+            return this;
+        }
+
+        /**
+         * Set whether the response was served from the response cache
+         * @param cacheHit true if the cache was hit
+         * @return the builder instance
+         */
+        public Builder cacheHit(boolean cacheHit) {
+            this.cacheHit = cacheHit;
+            return this;
+        }
+
+        /**
+         * Set the number of entries in the response
+         * @param pageSize the page size
+         * @return the builder instance
+         */
+        public Builder pageSize(int pageSize) {
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Set the HTTP status code of the response
+         * @param statusCode the status code
+         * @return the builder instance
+         */
+        public Builder statusCode(int statusCode) {
+            this.statusCode = statusCode;
+            return this;
+        }
+
+        /**
+         * Set the error the request failed with
+         * @param error the error
+         * @return the builder instance
+         */
+        public Builder error(@Nullable Throwable error) {
+            this.error = error;
+            return this;
+        }
+
+        /**
+         * Creates the {@link RequestMetrics} instance
+         * @return the instance
+         */
+        public RequestMetrics create() {
+            return new RequestMetrics(this);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.model;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ *     Immutable set of custom field keys and default values which is resolved once from a
+ *     {@link com.desk.android.sdk.config.ContactUsConfig} and used to build the custom fields of
+ *     each {@link CreateCaseRequest}.
+ * </p>
+ */
+public final class CustomFieldSchema {
+
+    /**
+     * Schema used when the config doesn't provide custom field properties.
+     */
+    public static final CustomFieldSchema NONE = new CustomFieldSchema(null, null);
+
+    private final String[] keys;
+    private final String[] values;
+
+    private CustomFieldSchema(String[] keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Creates a schema from custom field properties.
+     * @param properties the custom field properties keyed by custom field key
+     * @return the schema, {@link #NONE} if properties is null
+     */
+    @NonNull
+    public static CustomFieldSchema from(@Nullable Map<String, CustomFieldProperties> properties) {
+        if (properties == null) {
+            return NONE;
+        }
+        String[] keys = new String[properties.size()];
+        String[] values = new String[properties.size()];
+        int i = 0;
+        for (Map.Entry<String, CustomFieldProperties> entry : properties.entrySet()) {
+            keys[i] = entry.getKey();
+            values[i] = entry.getValue().getValue();
+            i++;
+        }
+        return new CustomFieldSchema(keys, values);
+    }
+
+    /**
+     * Get the number of custom fields
+     * @return the number of custom fields
+     */
+    public int size() {
+        return keys == null ? 0 : keys.length;
+    }
+
+    /**
+     * Creates the custom fields for a {@link CreateCaseRequest}.
+     * @return a new map of custom field keys to default values, null if this is {@link #NONE}
+     */
+    @Nullable
+    public HashMap<String, String> toCustomFields() {
+        if (keys == null) {
+            return null;
+        }
+        // size the map so it never rehashes while being filled
+        HashMap<String, String> customFields = new HashMap<>((int) (keys.length / 0.75f) + 1);
+        for (int i = 0; i < keys.length; i++) {
+            customFields.put(keys[i], values[i]);
+        }
+        return customFields;
+    }
+}
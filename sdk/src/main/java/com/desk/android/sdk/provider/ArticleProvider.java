@@ -27,10 +27,17 @@
 package com.desk.android.sdk.provider;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.annotation.VisibleForTesting;
 
 import com.desk.android.sdk.Desk;
+import com.desk.android.sdk.cache.ArticleIndex;
+import com.desk.android.sdk.cache.KnowledgeBaseStore;
+import com.desk.android.sdk.cache.SearchCache;
+import com.desk.android.sdk.cache.SuggestionTrie;
 import com.desk.android.sdk.error.ErrorResponse;
+import com.desk.android.sdk.metrics.DeskMetrics;
+import com.desk.android.sdk.metrics.RequestMetrics;
 import com.desk.java.apiclient.model.ApiResponse;
 import com.desk.java.apiclient.model.Article;
 import com.desk.java.apiclient.model.BrandIds;
@@ -38,8 +45,11 @@ import com.desk.java.apiclient.model.TopicIds;
 import com.desk.java.apiclient.service.ArticleService;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import retrofit.Call;
 import retrofit.Callback;
 import retrofit.Response;
 import retrofit.Retrofit;
@@ -50,6 +60,28 @@ import static com.desk.java.apiclient.service.ArticleService.FIELD_POSITION;
 /**
  * <p>Wraps a {@link ArticleService} to provide a higher level of abstraction.</p>
  *
+ * <p>When created with a {@link KnowledgeBaseStore}, {@link #getArticles(int, int, int, ArticleCallbacks)}
+ * first delivers the page stored on the device (if any) and then delivers the page again once it
+ * has been revalidated with the api.</p>
+ *
+ * <p>When {@link #setIncrementalFirstPage(boolean)} is enabled the first page is also requested as
+ * a small leading batch which is delivered as soon as it arrives, so the first rows can be shown
+ * before the full page has been downloaded and parsed. The full page then replaces the batch. This
+ * sends a second request for every first page so it is disabled by default.</p>
+ *
+ * <p>When a {@link SearchCache} is set, {@link #findArticles(int, int, String, int, ArticleCallbacks)}
+ * delivers cached result pages synchronously without a request, or delivers a page cached on disk
+ * while the request is in flight.</p>
+ *
+ * <p>When an {@link ArticleIndex} is set, every article delivered is added to it and
+ * {@link #searchIndex(int, int, String)} searches the articles loaded so far on the device. The
+ * subjects of delivered articles are likewise added to the {@link SuggestionTrie} if one is set.</p>
+ *
+ * <p>Identical requests made while one is already in flight are coalesced; the duplicate callers
+ * are attached to the in flight {@link Call} and are all notified with its single response. The
+ * response is saved to the {@link KnowledgeBaseStore} or {@link SearchCache} once, not once per
+ * caller.</p>
+ *
  * Created by Jerrell Mardis
  * Copyright (c) 2015 Desk.com. All rights reserved.
  */
@@ -75,78 +107,500 @@ public class ArticleProvider {
         void onArticlesLoadError(ErrorResponse error);
     }
 
+    /**
+     * Callbacks for loading a single article
+     */
+    public interface ArticleCallback {
+
+        /**
+         * Called when the article has loaded successfully
+         * @param article the article
+         */
+        void onArticleLoaded(Article article);
+
+        /**
+         * Called when there is an error loading the article
+         * @param error the error response
+         */
+        void onArticleLoadError(ErrorResponse error);
+    }
+
     public static final int ALL_TOPICS = 0;
     public static final int ALL_BRANDS = 0;
 
     @VisibleForTesting
     static final int PER_PAGE = 25;
 
+    @VisibleForTesting
+    static final int LEADING_BATCH_SIZE = 5;
+
     private ArticleService mArticleService;
+    private KnowledgeBaseStore mStore;
+    private DeskMetrics mMetrics;
+    private boolean mIncrementalFirstPage;
+    private SearchCache mSearchCache;
+    private ArticleIndex mArticleIndex;
+    private SuggestionTrie mSuggestionTrie;
+    private final Map<String, InFlightCall> mInFlightCalls = new HashMap<>();
 
     public ArticleProvider(ArticleService articleService) {
+        this(articleService, null);
+    }
+
+    public ArticleProvider(ArticleService articleService, @Nullable KnowledgeBaseStore store) {
         mArticleService = articleService;
+        mStore = store;
+    }
+
+    /**
+     * Set the listener to report the {@link RequestMetrics} of every request to
+     * @param metrics the metrics listener or null to stop reporting
+     */
+    public void setMetrics(@Nullable DeskMetrics metrics) {
+        mMetrics = metrics;
+    }
+
+    /**
+     * Set whether the first page should be delivered incrementally; first a leading batch of
+     * {@link #LEADING_BATCH_SIZE} articles and then the full page. The leading batch is a separate
+     * request, so enabling this doubles the requests made for first pages. Identical leading batch
+     * requests are coalesced like page requests. Disabled by default.
+     * @param incrementalFirstPage true to deliver the first page incrementally
+     */
+    public void setIncrementalFirstPage(boolean incrementalFirstPage) {
+        mIncrementalFirstPage = incrementalFirstPage;
+    }
+
+    /**
+     * Set the cache for search result pages
+     * @param searchCache the cache or null to always search with the api
+     */
+    public void setSearchCache(@Nullable SearchCache searchCache) {
+        mSearchCache = searchCache;
+    }
+
+    /**
+     * Set the index to add every loaded article to
+     * @param articleIndex the index or null to stop indexing
+     */
+    public void setArticleIndex(@Nullable ArticleIndex articleIndex) {
+        mArticleIndex = articleIndex;
     }
 
     /**
-     * Retrieves {@link Article}s for the given topic and brand.
+     * Set the trie to add the subjects of every loaded article to
+     * @param suggestionTrie the trie or null to stop adding subjects
+     */
+    public void setSuggestionTrie(@Nullable SuggestionTrie suggestionTrie) {
+        mSuggestionTrie = suggestionTrie;
+    }
+
+    /**
+     * Searches the articles loaded so far in the {@link ArticleIndex}. This doesn't make a request
+     * so it is fast enough to call on the main thread.
+     *
+     * @param topicId the topic Id
+     * @param brandId the brand Id
+     * @param query the search query
+     * @return the first page of matching articles without their bodies, empty if there is no index
+     */
+    @NonNull
+    public List<Article> searchIndex(int topicId, int brandId, String query) {
+        if (mArticleIndex == null) {
+            return new ArrayList<>();
+        }
+        return mArticleIndex.search(query, topicId, brandId, PER_PAGE);
+    }
+
+    /**
+     * Retrieves {@link Article}s for the given topic and brand. If a stored page is available the
+     * callback may be notified twice for the same page; first with the stored articles and then
+     * with the articles returned by the api. The callback may also be notified with a leading batch
+     * of the first page, see {@link #setIncrementalFirstPage(boolean)}.
      *
      * @param topicId the topic Id
      * @param brandId the brand Id
      * @param page the current page
      * @param callback the callback upon success or failure
+     * @return a handle to cancel the request
      */
-    public void getArticles(int topicId, int brandId, int page, @NonNull final ArticleCallbacks callback) {
+    public RequestHandle getArticles(int topicId, int brandId, int page, @NonNull ArticleCallbacks callback) {
+        callback = indexing(callback, topicId, brandId);
         TopicIds topicIds = ALL_TOPICS != topicId ? TopicIds.ids(topicId) : null;
         BrandIds brandIds = ALL_BRANDS != brandId ? BrandIds.ids(brandId) : null;
 
-        mArticleService.getArticles(
-                Desk.getLanguage(),
-                page,
-                PER_PAGE,
-                true,
-                topicIds,
-                brandIds,
-                FIELD_POSITION,
-                ASC)
-                .enqueue(new RetrofitCallback(callback));
+        String language = Desk.getLanguage();
+
+        RetrofitCallback retrofitCallback;
+        PagePersister persister;
+        if (mStore == null) {
+            retrofitCallback = new RetrofitCallback(callback);
+            persister = null;
+        } else {
+            StoreCallback storeCallback = new StoreCallback(callback);
+            mStore.loadArticlePage(brandId, topicId, language, page, storeCallback);
+            retrofitCallback = storeCallback;
+            persister = new StorePersister(mStore, topicId, brandId, language, page);
+        }
+
+        String key = buildKey("articles", topicId, brandId, page, language, null);
+        RequestHandle handle = attachToInFlightCall(key, retrofitCallback);
+        boolean attached = handle != null;
+        if (!attached) {
+            Call<ApiResponse<Article>> call = mArticleService.getArticles(
+                    language,
+                    page,
+                    PER_PAGE,
+                    true,
+                    topicIds,
+                    brandIds,
+                    FIELD_POSITION,
+                    ASC);
+            handle = enqueue(key, RequestMetrics.ENDPOINT_ARTICLES, call, retrofitCallback, persister);
+        }
+        if (page == 1 && mIncrementalFirstPage) {
+            String leadingKey = buildKey("articles-leading", topicId, brandId, page, language, null);
+            LeadingBatchCallback leadingCallback = new LeadingBatchCallback(retrofitCallback);
+            RequestHandle leadingHandle = attachToInFlightCall(leadingKey, leadingCallback);
+
+            // only request a leading batch along with a new page request
+            if (leadingHandle == null && !attached) {
+                Call<ApiResponse<Article>> leadingCall = mArticleService.getArticles(
+                        language,
+                        page,
+                        LEADING_BATCH_SIZE,
+                        true,
+                        topicIds,
+                        brandIds,
+                        FIELD_POSITION,
+                        ASC);
+                leadingHandle = enqueue(leadingKey, RequestMetrics.ENDPOINT_ARTICLES, leadingCall, leadingCallback, null);
+            }
+            handle = withLeadingBatch(handle, leadingHandle);
+        }
+        return handle;
     }
 
     /**
-     * Finds {@link Article}s based on the query, topic and brand.
+     * Retrieves a single {@link Article} by its id.
+     *
+     * @param articleId the article Id
+     * @param callback the callback upon success or failure
+     * @return a handle to cancel the request
+     */
+    public RequestHandle getArticle(int articleId, @NonNull ArticleCallback callback) {
+        Call<Article> call = mArticleService.getArticle(articleId);
+        SingleArticleCallback retrofitCallback = new SingleArticleCallback(callback);
+        call.enqueue(MetricsCallback.wrap(mMetrics, RequestMetrics.ENDPOINT_ARTICLES, retrofitCallback));
+        return new CallHandle(call, retrofitCallback);
+    }
+
+    /**
+     * Finds {@link Article}s based on the query, topic and brand. If the page is in the
+     * {@link SearchCache} the callback is notified before this method returns and no request is
+     * made.
      *
      * @param topicId the topic Id
      * @param brandId the brand Id
      * @param query the search query
      * @param page the current page
      * @param callback the callback upon success or failure
+     * @return a handle to cancel the request
      */
-    public void findArticles(int topicId, int brandId, String query, int page, @NonNull final ArticleCallbacks callback) {
+    public RequestHandle findArticles(int topicId, int brandId, String query, int page, @NonNull ArticleCallbacks callback) {
+        callback = indexing(callback, topicId, brandId);
         TopicIds topicIds = ALL_TOPICS != topicId ? TopicIds.ids(topicId) : null;
         BrandIds brandIds = ALL_BRANDS != brandId ? BrandIds.ids(brandId) : null;
 
-        mArticleService.searchArticles(
-                Desk.getLanguage(),
-                page,
-                PER_PAGE,
-                topicIds,
-                brandIds,
-                true,
-                FIELD_POSITION,
-                ASC,
-                query)
-                .enqueue(new RetrofitCallback(callback));
+        String language = Desk.getLanguage();
+
+        RetrofitCallback retrofitCallback;
+        PagePersister persister;
+        if (mSearchCache == null) {
+            retrofitCallback = new RetrofitCallback(callback);
+            persister = null;
+        } else {
+            String cacheKey = SearchCache.buildKey(query, topicId, brandId, language, page);
+            KnowledgeBaseStore.Page<Article> cachedPage = mSearchCache.get(cacheKey);
+            if (cachedPage != null) {
+                callback.onArticlesLoaded(cachedPage.getPage(), cachedPage.getEntries(), cachedPage.hasNextPage());
+                return COMPLETED;
+            }
+            SearchCacheCallback searchCacheCallback = new SearchCacheCallback(callback);
+            mSearchCache.load(cacheKey, searchCacheCallback);
+            retrofitCallback = searchCacheCallback;
+            persister = new SearchCachePersister(mSearchCache, cacheKey);
+        }
+        String key = buildKey("search", topicId, brandId, page, language, query);
+        RequestHandle handle = attachToInFlightCall(key, retrofitCallback);
+        boolean attached = handle != null;
+        if (!attached) {
+            Call<ApiResponse<Article>> call = mArticleService.searchArticles(
+                    language,
+                    page,
+                    PER_PAGE,
+                    topicIds,
+                    brandIds,
+                    true,
+                    FIELD_POSITION,
+                    ASC,
+                    query);
+            handle = enqueue(key, RequestMetrics.ENDPOINT_SEARCH, call, retrofitCallback, persister);
+        }
+        if (page == 1 && mIncrementalFirstPage) {
+            String leadingKey = buildKey("search-leading", topicId, brandId, page, language, query);
+            LeadingBatchCallback leadingCallback = new LeadingBatchCallback(retrofitCallback);
+            RequestHandle leadingHandle = attachToInFlightCall(leadingKey, leadingCallback);
+
+            // only request a leading batch along with a new page request
+            if (leadingHandle == null && !attached) {
+                Call<ApiResponse<Article>> leadingCall = mArticleService.searchArticles(
+                        language,
+                        page,
+                        LEADING_BATCH_SIZE,
+                        topicIds,
+                        brandIds,
+                        true,
+                        FIELD_POSITION,
+                        ASC,
+                        query);
+                leadingHandle = enqueue(leadingKey, RequestMetrics.ENDPOINT_SEARCH, leadingCall, leadingCallback, null);
+            }
+            handle = withLeadingBatch(handle, leadingHandle);
+        }
+        return handle;
+    }
+
+    /**
+     * Wraps the callback so delivered articles are added to the {@link ArticleIndex} and
+     * {@link SuggestionTrie}
+     */
+    private ArticleCallbacks indexing(final ArticleCallbacks callback, final int topicId, final int brandId) {
+        final ArticleIndex articleIndex = mArticleIndex;
+        final SuggestionTrie suggestionTrie = mSuggestionTrie;
+        if (articleIndex == null && suggestionTrie == null) {
+            return callback;
+        }
+        return new ArticleCallbacks() {
+            @Override
+            public void onArticlesLoaded(int page, List<Article> articles, boolean morePages) {
+                if (articleIndex != null) {
+                    articleIndex.add(articles, topicId, brandId);
+                }
+                if (suggestionTrie != null) {
+                    suggestionTrie.addArticles(articles);
+                }
+                callback.onArticlesLoaded(page, articles, morePages);
+            }
+
+            @Override
+            public void onArticlesLoadError(ErrorResponse error) {
+                callback.onArticlesLoadError(error);
+            }
+        };
+    }
+
+    /**
+     * Handle for a request which completed synchronously
+     */
+    @VisibleForTesting
+    static final RequestHandle COMPLETED = new RequestHandle() {
+        @Override
+        public void cancel() {/* no-op */}
+
+        @Override
+        public boolean isCanceled() {
+            return false;
+        }
+    };
+
+    @VisibleForTesting
+    static String buildKey(String type, int topicId, int brandId, int page, String language, @Nullable String query) {
+        return type + '|' + topicId + '|' + brandId + '|' + page + '|' + language + '|' + (query == null ? "" : query);
+    }
+
+    /**
+     * Attaches the callback to an identical request which is already in flight.
+     *
+     * @param key the request key
+     * @param callback the callback to attach
+     * @return a handle for the callback, or null if there is no request in flight
+     */
+    @Nullable
+    private RequestHandle attachToInFlightCall(String key, RetrofitCallback callback) {
+        synchronized (mInFlightCalls) {
+            InFlightCall inFlightCall = mInFlightCalls.get(key);
+            if (inFlightCall == null) {
+                return null;
+            }
+            inFlightCall.callbacks.add(callback);
+            return new InFlightHandle(inFlightCall, callback);
+        }
+    }
+
+    /**
+     * Enqueues the call unless an identical request was put in flight since
+     * {@link #attachToInFlightCall(String, RetrofitCallback)} was checked, in which case the callback
+     * is attached to that request instead. Checking and registering happen under the same lock that
+     * completing a request uses, so a callback is always either attached before the response is
+     * delivered or sent with a new request.
+     *
+     * @param key the request key
+     * @param endpoint the endpoint for metrics
+     * @param call the call to enqueue
+     * @param callback the callback to notify
+     * @param persister saves the response once for every callback, or null to not save it
+     * @return a handle for the callback
+     */
+    private RequestHandle enqueue(String key, String endpoint, Call<ApiResponse<Article>> call,
+                                  RetrofitCallback callback, @Nullable PagePersister persister) {
+        InFlightCall inFlightCall;
+        synchronized (mInFlightCalls) {
+            InFlightCall existing = mInFlightCalls.get(key);
+            if (existing != null) {
+                existing.callbacks.add(callback);
+                return new InFlightHandle(existing, callback);
+            }
+            inFlightCall = new InFlightCall(key, call, persister);
+            inFlightCall.callbacks.add(callback);
+            mInFlightCalls.put(key, inFlightCall);
+        }
+        call.enqueue(MetricsCallback.wrap(mMetrics, endpoint, inFlightCall));
+        return new InFlightHandle(inFlightCall, callback);
+    }
+
+    /**
+     * Combines the handles of a page request and its leading batch.
+     *
+     * @param pageHandle the handle of the full page request
+     * @param leadingHandle the handle of the leading batch or null if there is none
+     * @return a handle which cancels both requests
+     */
+    private static RequestHandle withLeadingBatch(final RequestHandle pageHandle, @Nullable final RequestHandle leadingHandle) {
+        if (leadingHandle == null) {
+            return pageHandle;
+        }
+        return new RequestHandle() {
+            @Override
+            public void cancel() {
+                leadingHandle.cancel();
+                pageHandle.cancel();
+            }
+
+            @Override
+            public boolean isCanceled() {
+                return pageHandle.isCanceled();
+            }
+        };
+    }
+
+    /**
+     * Handle for one of the callers of an in flight call. Canceling detaches the caller and only
+     * cancels the call itself once no callers remain.
+     */
+    class InFlightHandle implements RequestHandle {
+
+        private final InFlightCall inFlightCall;
+        private final RetrofitCallback callback;
+
+        InFlightHandle(InFlightCall inFlightCall, RetrofitCallback callback) {
+            this.inFlightCall = inFlightCall;
+            this.callback = callback;
+        }
+
+        @Override
+        public void cancel() {
+            callback.cancel();
+            boolean cancelCall;
+            synchronized (mInFlightCalls) {
+                inFlightCall.callbacks.remove(callback);
+                cancelCall = inFlightCall.callbacks.isEmpty();
+                if (cancelCall && mInFlightCalls.get(inFlightCall.key) == inFlightCall) {
+                    mInFlightCalls.remove(inFlightCall.key);
+                }
+            }
+            if (cancelCall) {
+                inFlightCall.call.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return callback.isCanceled();
+        }
+    }
+
+    /**
+     * Callback for a request which is in flight. Saves the single response once and fans it out to
+     * every callback that was attached while the request was in flight.
+     */
+    class InFlightCall implements Callback<ApiResponse<Article>> {
+
+        final String key;
+        final Call<ApiResponse<Article>> call;
+        final List<RetrofitCallback> callbacks = new ArrayList<>(1);
+
+        @Nullable
+        private final PagePersister persister;
+
+        InFlightCall(String key, Call<ApiResponse<Article>> call, @Nullable PagePersister persister) {
+            this.key = key;
+            this.call = call;
+            this.persister = persister;
+        }
+
+        @Override
+        public void onResponse(Response<ApiResponse<Article>> response, Retrofit retrofit) {
+            List<RetrofitCallback> attached = complete();
+            ApiResponse<Article> apiResponse = response.body();
+            if (persister != null && apiResponse != null) {
+                persister.persist(apiResponse);
+            }
+            for (RetrofitCallback callback : attached) {
+                callback.onResponse(response, retrofit);
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            for (RetrofitCallback callback : complete()) {
+                callback.onFailure(throwable);
+            }
+        }
+
+        /**
+         * Removes this call from the in flight calls so new requests are sent to the api again.
+         * @return the callbacks to notify
+         */
+        private List<RetrofitCallback> complete() {
+            synchronized (mInFlightCalls) {
+                if (mInFlightCalls.get(key) == this) {
+                    mInFlightCalls.remove(key);
+                }
+                return new ArrayList<>(callbacks);
+            }
+        }
     }
 
-    static class RetrofitCallback implements Callback<ApiResponse<Article>> {
+    static class RetrofitCallback extends CancelableCallback<ApiResponse<Article>> {
 
         ArticleCallbacks callbacks;
 
+        /**
+         * Whether any articles have been delivered to the callbacks
+         */
+        boolean delivered;
+
         public RetrofitCallback(ArticleCallbacks callbacks) {
             this.callbacks = callbacks;
         }
 
         @Override
         public void onResponse(Response<ApiResponse<Article>> response, Retrofit retrofit) {
+            if (isCanceled()) {
+                return;
+            }
+            delivered = true;
             ApiResponse<Article> apiResponse = response.body();
             if (apiResponse == null) {
                 callbacks.onArticlesLoaded(0, new ArrayList<Article>(), false);
@@ -157,7 +611,223 @@ public class ArticleProvider {
 
         @Override
         public void onFailure(Throwable throwable) {
+            if (isCanceled()) {
+                return;
+            }
             callbacks.onArticlesLoadError(new ErrorResponse(throwable));
         }
     }
+
+    static class SingleArticleCallback extends CancelableCallback<Article> {
+
+        private final ArticleCallback callback;
+
+        SingleArticleCallback(ArticleCallback callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void onResponse(Response<Article> response, Retrofit retrofit) {
+            if (isCanceled()) {
+                return;
+            }
+            Article article = response.body();
+            if (article == null) {
+                callback.onArticleLoadError(new ErrorResponse(false, response.message(), response.code()));
+                return;
+            }
+            callback.onArticleLoaded(article);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            if (isCanceled()) {
+                return;
+            }
+            callback.onArticleLoadError(new ErrorResponse(throwable));
+        }
+    }
+
+    /**
+     * Callback which delivers the stored page while the api request is in flight and then the page
+     * returned by the api. Errors are not reported if the stored page has been delivered.
+     */
+    static class StoreCallback extends RetrofitCallback implements KnowledgeBaseStore.LoadCallback<KnowledgeBaseStore.Page<Article>> {
+
+        private boolean responded;
+        private boolean deliveredStoredPage;
+
+        public StoreCallback(ArticleCallbacks callbacks) {
+            super(callbacks);
+        }
+
+        @Override
+        public void onLoaded(@Nullable KnowledgeBaseStore.Page<Article> storedPage) {
+            if (isCanceled() || responded || delivered || storedPage == null || storedPage.getEntries().isEmpty()) {
+                return;
+            }
+            delivered = true;
+            deliveredStoredPage = true;
+            callbacks.onArticlesLoaded(storedPage.getPage(), storedPage.getEntries(), storedPage.hasNextPage());
+        }
+
+        @Override
+        public void onResponse(Response<ApiResponse<Article>> response, Retrofit retrofit) {
+            responded = true;
+            ApiResponse<Article> apiResponse = response.body();
+            if (apiResponse == null) {
+
+                // keep showing the stored page rather than replacing it with nothing
+                if (!deliveredStoredPage) {
+                    super.onResponse(response, retrofit);
+                }
+                return;
+            }
+            super.onResponse(response, retrofit);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            responded = true;
+            if (!deliveredStoredPage) {
+                super.onFailure(throwable);
+            }
+        }
+    }
+
+    /**
+     * Callback which delivers a page of search results cached on disk while the api request is in
+     * flight and then the page returned by the api. Errors are not reported if the cached page has
+     * been delivered.
+     */
+    static class SearchCacheCallback extends RetrofitCallback implements KnowledgeBaseStore.LoadCallback<KnowledgeBaseStore.Page<Article>> {
+
+        private boolean responded;
+        private boolean deliveredCachedPage;
+
+        public SearchCacheCallback(ArticleCallbacks callbacks) {
+            super(callbacks);
+        }
+
+        @Override
+        public void onLoaded(@Nullable KnowledgeBaseStore.Page<Article> cachedPage) {
+            if (isCanceled() || responded || delivered || cachedPage == null) {
+                return;
+            }
+            delivered = true;
+            deliveredCachedPage = true;
+            callbacks.onArticlesLoaded(cachedPage.getPage(), cachedPage.getEntries(), cachedPage.hasNextPage());
+        }
+
+        @Override
+        public void onResponse(Response<ApiResponse<Article>> response, Retrofit retrofit) {
+            responded = true;
+            ApiResponse<Article> apiResponse = response.body();
+            if (apiResponse == null) {
+                if (!deliveredCachedPage) {
+                    super.onResponse(response, retrofit);
+                }
+                return;
+            }
+            super.onResponse(response, retrofit);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            responded = true;
+            if (!deliveredCachedPage) {
+                super.onFailure(throwable);
+            }
+        }
+    }
+
+    /**
+     * Saves the response of an in flight request once for all of its callers
+     */
+    interface PagePersister {
+
+        /**
+         * Called on the thread the response is delivered on before any caller is notified
+         * @param apiResponse the response
+         */
+        void persist(ApiResponse<Article> apiResponse);
+    }
+
+    /**
+     * Saves a page of articles to the {@link KnowledgeBaseStore}
+     */
+    static class StorePersister implements PagePersister {
+
+        private final KnowledgeBaseStore store;
+        private final int topicId;
+        private final int brandId;
+        private final String language;
+        private final int page;
+
+        StorePersister(KnowledgeBaseStore store, int topicId, int brandId, String language, int page) {
+            this.store = store;
+            this.topicId = topicId;
+            this.brandId = brandId;
+            this.language = language;
+            this.page = page;
+        }
+
+        @Override
+        public void persist(ApiResponse<Article> apiResponse) {
+            store.saveArticlePage(brandId, topicId, language, page, PER_PAGE, apiResponse.getEntriesAsList(),
+                    apiResponse.hasNextPage());
+        }
+    }
+
+    /**
+     * Saves a page of search results to the {@link SearchCache}
+     */
+    static class SearchCachePersister implements PagePersister {
+
+        private final SearchCache searchCache;
+        private final String cacheKey;
+
+        SearchCachePersister(SearchCache searchCache, String cacheKey) {
+            this.searchCache = searchCache;
+            this.cacheKey = cacheKey;
+        }
+
+        @Override
+        public void persist(ApiResponse<Article> apiResponse) {
+            searchCache.put(cacheKey, new KnowledgeBaseStore.Page<>(apiResponse.getPage(),
+                    apiResponse.getEntriesAsList(), apiResponse.hasNextPage()));
+        }
+    }
+
+    /**
+     * Callback for the leading batch of a page. The batch is only delivered if nothing has been
+     * delivered for the page yet and it never reports more pages, so the next page isn't requested
+     * before the full page arrives. Errors are left to the full page request.
+     */
+    static class LeadingBatchCallback extends RetrofitCallback {
+
+        private final RetrofitCallback pageCallback;
+
+        LeadingBatchCallback(RetrofitCallback pageCallback) {
+            super(pageCallback.callbacks);
+            this.pageCallback = pageCallback;
+        }
+
+        @Override
+        public void onResponse(Response<ApiResponse<Article>> response, Retrofit retrofit) {
+            ApiResponse<Article> apiResponse = response.body();
+            if (isCanceled() || pageCallback.isCanceled() || pageCallback.delivered || apiResponse == null) {
+                return;
+            }
+            List<Article> articles = apiResponse.getEntriesAsList();
+            if (articles == null || articles.isEmpty()) {
+                return;
+            }
+            pageCallback.delivered = true;
+            pageCallback.callbacks.onArticlesLoaded(apiResponse.getPage(), articles, false);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {/* no-op */}
+    }
 }
@@ -27,15 +27,18 @@
 package com.desk.android.sdk.provider;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.desk.android.sdk.error.ErrorResponse;
+import com.desk.android.sdk.metrics.DeskMetrics;
+import com.desk.android.sdk.metrics.RequestMetrics;
 import com.desk.android.sdk.model.CreateCaseRequest;
 import com.desk.java.apiclient.model.Case;
 import com.desk.java.apiclient.model.Message;
 import com.desk.java.apiclient.model.MessageDirection;
 import com.desk.java.apiclient.service.CaseService;
 
-import retrofit.Callback;
+import retrofit.Call;
 import retrofit.Response;
 import retrofit.Retrofit;
 
@@ -63,17 +66,27 @@ public class CaseProvider {
     }
 
     private CaseService caseService;
+    private DeskMetrics metrics;
 
     public CaseProvider(CaseService caseService) {
         this.caseService = caseService;
     }
 
+    /**
+     * Set the listener to report the {@link RequestMetrics} of every request to
+     * @param metrics the metrics listener or null to stop reporting
+     */
+    public void setMetrics(@Nullable DeskMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     /**
      * Creates a case
      * @param request the request object to build the case
      * @param callback the callback to notify on success or failure
+     * @return a handle to cancel the request
      */
-    public void createCase(@NonNull CreateCaseRequest request, @NonNull final CreateCaseCallback callback) {
+    public RequestHandle createCase(@NonNull CreateCaseRequest request, @NonNull final CreateCaseCallback callback) {
 
         // create case object
         Case newCase = new Case();
@@ -91,22 +104,26 @@ public class CaseProvider {
         newCase.setMessage(message);
 
         // create the case
-        caseService.createCase(
+        Call<Case> call = caseService.createCase(
                 newCase,
                 null,
-                null)
-                .enqueue(
-                        new Callback<Case>() {
-                            @Override
-                            public void onResponse(Response<Case> response, Retrofit retrofit) {
-                                callback.onCaseCreated(response.body());
-                            }
-
-                            @Override
-                            public void onFailure(Throwable throwable) {
-                                callback.onCreateCaseError(new ErrorResponse(throwable));
-                            }
-                        }
-                );
+                null);
+        CancelableCallback<Case> retrofitCallback = new CancelableCallback<Case>() {
+            @Override
+            public void onResponse(Response<Case> response, Retrofit retrofit) {
+                if (!isCanceled()) {
+                    callback.onCaseCreated(response.body());
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                if (!isCanceled()) {
+                    callback.onCreateCaseError(new ErrorResponse(throwable));
+                }
+            }
+        };
+        call.enqueue(MetricsCallback.wrap(metrics, RequestMetrics.ENDPOINT_CASES, retrofitCallback));
+        return new CallHandle(call, retrofitCallback);
     }
 }
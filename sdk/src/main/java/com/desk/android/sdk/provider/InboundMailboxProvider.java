@@ -26,16 +26,19 @@
 
 package com.desk.android.sdk.provider;
 
+import android.support.annotation.Nullable;
 import android.support.annotation.VisibleForTesting;
 
 import com.desk.android.sdk.error.ErrorResponse;
+import com.desk.android.sdk.metrics.DeskMetrics;
+import com.desk.android.sdk.metrics.RequestMetrics;
 import com.desk.java.apiclient.model.ApiResponse;
 import com.desk.java.apiclient.model.InboundMailbox;
 import com.desk.java.apiclient.service.InboundMailboxService;
 
 import java.util.List;
 
-import retrofit.Callback;
+import retrofit.Call;
 import retrofit.Response;
 import retrofit.Retrofit;
 
@@ -70,25 +73,37 @@ public class InboundMailboxProvider {
     static final int PER_PAGE = 1;
 
     private InboundMailboxService mInboundMailboxService;
+    private DeskMetrics mMetrics;
 
     public InboundMailboxProvider(InboundMailboxService inboundMailboxService) {
         mInboundMailboxService = inboundMailboxService;
     }
 
+    /**
+     * Set the listener to report the {@link RequestMetrics} of every request to
+     * @param metrics the metrics listener or null to stop reporting
+     */
+    public void setMetrics(@Nullable DeskMetrics metrics) {
+        mMetrics = metrics;
+    }
+
     /**
      * Retrieves {@link InboundMailbox}es for the given page.
      *
      * @param page the current page
      * @param cb the callback upon success or failure
+     * @return a handle to cancel the request
      */
-    public void getMailboxes(int page, InboundMailboxCallbacks cb) {
-        mInboundMailboxService.getInboundMailboxes(
+    public RequestHandle getMailboxes(int page, InboundMailboxCallbacks cb) {
+        Call<ApiResponse<InboundMailbox>> call = mInboundMailboxService.getInboundMailboxes(
                 PER_PAGE,
-                page)
-                .enqueue(new RetrofitCallback(cb));
+                page);
+        RetrofitCallback retrofitCallback = new RetrofitCallback(cb);
+        call.enqueue(MetricsCallback.wrap(mMetrics, RequestMetrics.ENDPOINT_MAILBOXES, retrofitCallback));
+        return new CallHandle(call, retrofitCallback);
     }
 
-    static class RetrofitCallback implements Callback<ApiResponse<InboundMailbox>> {
+    static class RetrofitCallback extends CancelableCallback<ApiResponse<InboundMailbox>> {
 
         InboundMailboxCallbacks callbacks;
 
@@ -98,12 +113,18 @@ public class InboundMailboxProvider {
 
         @Override
         public void onResponse(Response<ApiResponse<InboundMailbox>> response, Retrofit retrofit) {
+            if (isCanceled()) {
+                return;
+            }
             ApiResponse<InboundMailbox> apiResponse = response.body();
             callbacks.onInboundMailboxesLoaded(apiResponse.getPage(), apiResponse.getEntriesAsList());
         }
 
         @Override
         public void onFailure(Throwable throwable) {
+            if (isCanceled()) {
+                return;
+            }
             callbacks.onInboundMailboxLoadError(new ErrorResponse(throwable));
         }
     }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.provider;
+
+import android.support.annotation.Nullable;
+
+import com.desk.android.sdk.metrics.DeskMetrics;
+import com.desk.android.sdk.metrics.RequestMetrics;
+import com.desk.java.apiclient.model.ApiResponse;
+
+import java.util.List;
+
+import retrofit.Callback;
+import retrofit.Response;
+import retrofit.Retrofit;
+
+import static com.desk.android.sdk.metrics.RequestMetrics.UNKNOWN;
+
+/**
+ * Retrofit callback which wraps another callback and reports the {@link RequestMetrics} of the
+ * request to a {@link DeskMetrics} once the wrapped callback has been notified.
+ */
+class MetricsCallback<T> implements Callback<T> {
+
+    private static final String HEADER_SENT_MILLIS = "OkHttp-Sent-Millis";
+    private static final String HEADER_RECEIVED_MILLIS = "OkHttp-Received-Millis";
+
+    private final DeskMetrics metrics;
+    private final String endpoint;
+    private final Callback<T> callback;
+    private final long startMillis;
+
+    private MetricsCallback(DeskMetrics metrics, String endpoint, Callback<T> callback) {
+        this.metrics = metrics;
+        this.endpoint = endpoint;
+        this.callback = callback;
+        this.startMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Wraps the callback if metrics are being collected
+     * @param metrics the metrics listener or null
+     * @param endpoint the endpoint being requested
+     * @param callback the callback to wrap
+     * @return the callback to enqueue
+     */
+    static <T> Callback<T> wrap(@Nullable DeskMetrics metrics, String endpoint, Callback<T> callback) {
+        return metrics == null ? callback : new MetricsCallback<>(metrics, endpoint, callback);
+    }
+
+    @Override
+    public void onResponse(Response<T> response, Retrofit retrofit) {
+        long responseMillis = System.currentTimeMillis();
+        callback.onResponse(response, retrofit);
+        RequestMetrics.Builder builder = new RequestMetrics.Builder(endpoint, startMillis)
+                .responseMillis(responseMillis)
+                .deliveredMillis(System.currentTimeMillis())
+                .statusCode(response.code())
+                .pageSize(getPageSize(response.body()));
+
+        com.squareup.okhttp.Response raw = response.raw();
+        if (raw != null) {
+            com.squareup.okhttp.Response networkResponse = raw.networkResponse();
+            if (networkResponse != null) {
+                builder.sentMillis(getMillis(networkResponse, HEADER_SENT_MILLIS))
+                        .receivedMillis(getMillis(networkResponse, HEADER_RECEIVED_MILLIS));
+            } else {
+                builder.cacheHit(raw.cacheResponse() != null);
+            }
+        }
+        metrics.onRequestCompleted(builder.create());
+    }
+
+    @Override
+    public void onFailure(Throwable throwable) {
+        long responseMillis = System.currentTimeMillis();
+        callback.onFailure(throwable);
+        metrics.onRequestCompleted(new RequestMetrics.Builder(endpoint, startMillis)
+                .responseMillis(responseMillis)
+                .deliveredMillis(System.currentTimeMillis())
+                .error(throwable)
+                .create());
+    }
+
+    private static int getPageSize(Object body) {
+        if (body instanceof ApiResponse) {
+            List<?> entries = ((ApiResponse<?>) body).getEntriesAsList();
+            return entries == null ? 0 : entries.size();
+        }
+        return body == null ? 0 : 1;
+    }
+
+    private static long getMillis(com.squareup.okhttp.Response response, String header) {
+        String value = response.header(header);
+        if (value == null) {
+            return UNKNOWN;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return UNKNOWN;
+        }
+    }
+}
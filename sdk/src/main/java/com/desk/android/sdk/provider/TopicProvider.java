@@ -26,15 +26,21 @@
 
 package com.desk.android.sdk.provider;
 
+import android.support.annotation.Nullable;
+
 import com.desk.android.sdk.Desk;
+import com.desk.android.sdk.cache.KnowledgeBaseStore;
+import com.desk.android.sdk.cache.SuggestionTrie;
 import com.desk.android.sdk.error.ErrorResponse;
+import com.desk.android.sdk.metrics.DeskMetrics;
+import com.desk.android.sdk.metrics.RequestMetrics;
 import com.desk.java.apiclient.model.ApiResponse;
 import com.desk.java.apiclient.model.Topic;
 import com.desk.java.apiclient.service.TopicService;
 
 import java.util.List;
 
-import retrofit.Callback;
+import retrofit.Call;
 import retrofit.Response;
 import retrofit.Retrofit;
 
@@ -44,6 +50,12 @@ import static com.desk.java.apiclient.service.TopicService.FIELD_POSITION;
 /**
  * <p>Wraps a {@link TopicService} to provide a higher level of abstraction.</p>
  *
+ * <p>When created with a {@link KnowledgeBaseStore}, {@link #getTopics(int, TopicCallbacks)} first
+ * delivers the topics stored on the device (if any) and then delivers the topics again once they
+ * have been revalidated with the api.</p>
+ *
+ * <p>When a {@link SuggestionTrie} is set the names of delivered topics are added to it.</p>
+ *
  * Created by Jerrell Mardis
  * Copyright (c) 2015 Desk.com. All rights reserved.
  */
@@ -70,28 +82,89 @@ public class TopicProvider {
     public static final int ALL_BRANDS = 0;
 
     private TopicService mTopicService;
+    private KnowledgeBaseStore mStore;
+    private DeskMetrics mMetrics;
+    private SuggestionTrie mSuggestionTrie;
 
     public TopicProvider(TopicService topicService) {
+        this(topicService, null);
+    }
+
+    public TopicProvider(TopicService topicService, @Nullable KnowledgeBaseStore store) {
         mTopicService = topicService;
+        mStore = store;
+    }
+
+    /**
+     * Set the listener to report the {@link RequestMetrics} of every request to
+     * @param metrics the metrics listener or null to stop reporting
+     */
+    public void setMetrics(@Nullable DeskMetrics metrics) {
+        mMetrics = metrics;
+    }
+
+    /**
+     * Set the trie to add the names of every loaded topic to
+     * @param suggestionTrie the trie or null to stop adding names
+     */
+    public void setSuggestionTrie(@Nullable SuggestionTrie suggestionTrie) {
+        mSuggestionTrie = suggestionTrie;
     }
 
     /**
-     * Retrieves the {@link Topic}s based on the {@code brandId} provided.
+     * Retrieves the {@link Topic}s based on the {@code brandId} provided. If stored topics are
+     * available the callback may be notified twice; first with the stored topics and then with the
+     * topics returned by the api.
      *
      * @param brandId the brand Id
      * @param cb the callback upon success or failure
+     * @return a handle to cancel the request
      */
-    public void getTopics(int brandId, TopicCallbacks cb) {
-        mTopicService.getTopics(
-                Desk.getLanguage(),
+    public RequestHandle getTopics(int brandId, TopicCallbacks cb) {
+        cb = suggesting(cb);
+        String language = Desk.getLanguage();
+
+        Call<ApiResponse<Topic>> call = mTopicService.getTopics(
+                language,
                 true,
                 brandId == ALL_BRANDS ? null : brandId,
                 FIELD_POSITION,
-                ASC)
-                .enqueue(new RetrofitCallback(cb));
+                ASC);
+        RetrofitCallback retrofitCallback;
+        if (mStore == null) {
+            retrofitCallback = new RetrofitCallback(cb);
+        } else {
+            StoreCallback storeCallback = new StoreCallback(cb, mStore, brandId, language);
+            mStore.loadTopics(brandId, language, storeCallback);
+            retrofitCallback = storeCallback;
+        }
+        call.enqueue(MetricsCallback.wrap(mMetrics, RequestMetrics.ENDPOINT_TOPICS, retrofitCallback));
+        return new CallHandle(call, retrofitCallback);
+    }
+
+    /**
+     * Wraps the callback so the names of delivered topics are added to the {@link SuggestionTrie}
+     */
+    private TopicCallbacks suggesting(final TopicCallbacks cb) {
+        final SuggestionTrie suggestionTrie = mSuggestionTrie;
+        if (suggestionTrie == null) {
+            return cb;
+        }
+        return new TopicCallbacks() {
+            @Override
+            public void onTopicsLoaded(List<Topic> topics) {
+                suggestionTrie.addTopics(topics);
+                cb.onTopicsLoaded(topics);
+            }
+
+            @Override
+            public void onTopicsLoadError(ErrorResponse error) {
+                cb.onTopicsLoadError(error);
+            }
+        };
     }
 
-    static class RetrofitCallback implements Callback<ApiResponse<Topic>> {
+    static class RetrofitCallback extends CancelableCallback<ApiResponse<Topic>> {
 
         TopicCallbacks callbacks;
 
@@ -101,12 +174,70 @@ public class TopicProvider {
 
         @Override
         public void onResponse(Response<ApiResponse<Topic>> response, Retrofit retrofit) {
+            if (isCanceled()) {
+                return;
+            }
             callbacks.onTopicsLoaded(response.body().getEntriesAsList());
         }
 
         @Override
         public void onFailure(Throwable throwable) {
+            if (isCanceled()) {
+                return;
+            }
             callbacks.onTopicsLoadError(new ErrorResponse(throwable));
         }
     }
+
+    /**
+     * Callback which delivers the stored topics while the api request is in flight and then saves
+     * the topics returned by the api. Errors are not reported if the stored topics have been delivered.
+     */
+    static class StoreCallback extends RetrofitCallback implements KnowledgeBaseStore.LoadCallback<List<Topic>> {
+
+        private final KnowledgeBaseStore store;
+        private final int brandId;
+        private final String language;
+
+        private boolean responded;
+        private boolean deliveredStoredTopics;
+
+        public StoreCallback(TopicCallbacks callbacks, KnowledgeBaseStore store, int brandId, String language) {
+            super(callbacks);
+            this.store = store;
+            this.brandId = brandId;
+            this.language = language;
+        }
+
+        @Override
+        public void onLoaded(@Nullable List<Topic> storedTopics) {
+            if (isCanceled() || responded || storedTopics == null || storedTopics.isEmpty()) {
+                return;
+            }
+            deliveredStoredTopics = true;
+            callbacks.onTopicsLoaded(storedTopics);
+        }
+
+        @Override
+        public void onResponse(Response<ApiResponse<Topic>> response, Retrofit retrofit) {
+            responded = true;
+            ApiResponse<Topic> apiResponse = response.body();
+            if (apiResponse == null) {
+                if (!deliveredStoredTopics && !isCanceled()) {
+                    callbacks.onTopicsLoadError(new ErrorResponse(false, response.message(), response.code()));
+                }
+                return;
+            }
+            store.saveTopics(brandId, language, apiResponse.getEntriesAsList());
+            super.onResponse(response, retrofit);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            responded = true;
+            if (!deliveredStoredTopics) {
+                super.onFailure(throwable);
+            }
+        }
+    }
 }
@@ -26,21 +26,28 @@
 
 package com.desk.android.sdk.util;
 
-import android.widget.AbsListView;
+import android.os.SystemClock;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
 
 /**
  * Scroll listener which notifies implementations when more items should be loaded via {@link #onLoadMore(int, int)}.
  * Supports providing a visible threshold which is how many items are left off the screen before it
  * should load more items. Also supports providing a start page in cases where you want to start loading
- * where you left off previously.
+ * where you left off previously. The current scroll velocity is tracked so implementations can decide
+ * how far ahead to load via {@link #getVelocity()}. The {@link RecyclerView} must use a
+ * {@link LinearLayoutManager}.
  */
-public abstract class EndlessScrollListener implements AbsListView.OnScrollListener {
+public abstract class EndlessScrollListener extends RecyclerView.OnScrollListener {
 
     private int visibleThreshold = 5;
     private int currentPage = 0;
     private int previousTotalItemCount = 0;
     private boolean loading = true;
     private int startingPageIndex = 0;
+    private int lastFirstVisibleItem = 0;
+    private long lastFirstVisibleItemTime = 0;
+    private float velocity = 0;
 
     public EndlessScrollListener() {
     }
@@ -56,7 +63,14 @@ public abstract class EndlessScrollListener implements AbsListView.OnScrollListe
     }
 
     @Override
-    public void onScroll(AbsListView view, int firstVisibleItem, int visibleItemCount, int totalItemCount) {
+    public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        onScroll(layoutManager.findFirstVisibleItemPosition(), recyclerView.getChildCount(), layoutManager.getItemCount());
+    }
+
+    private void onScroll(int firstVisibleItem, int visibleItemCount, int totalItemCount) {
+        trackVelocity(firstVisibleItem);
+
         if (totalItemCount < previousTotalItemCount) {
             currentPage = startingPageIndex;
             previousTotalItemCount = totalItemCount;
@@ -83,6 +97,32 @@ public abstract class EndlessScrollListener implements AbsListView.OnScrollListe
      */
     public abstract void onLoadMore(int page, int totalItemsCount);
 
+    /**
+     * Gets the current scroll velocity in items per second. Positive values are towards the end of
+     * the list and the velocity is reset to 0 when scrolling stops.
+     * @return the velocity in items per second
+     */
+    public float getVelocity() {
+        return velocity;
+    }
+
+    private void trackVelocity(int firstVisibleItem) {
+        if (firstVisibleItem == lastFirstVisibleItem) {
+            return;
+        }
+        long now = SystemClock.uptimeMillis();
+        if (lastFirstVisibleItemTime != 0 && now > lastFirstVisibleItemTime) {
+            velocity = (firstVisibleItem - lastFirstVisibleItem) * 1000f / (now - lastFirstVisibleItemTime);
+        }
+        lastFirstVisibleItem = firstVisibleItem;
+        lastFirstVisibleItemTime = now;
+    }
+
     @Override
-    public void onScrollStateChanged(AbsListView view, int scrollState) {/* no-op */}
+    public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+        if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+            velocity = 0;
+            lastFirstVisibleItemTime = 0;
+        }
+    }
 }
\ No newline at end of file
@@ -31,25 +31,32 @@ import android.content.res.TypedArray;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.support.annotation.VisibleForTesting;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
 import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import android.util.SparseIntArray;
 import android.view.LayoutInflater;
+import android.view.MotionEvent;
 import android.view.View;
-import android.widget.AdapterView;
 import android.widget.FrameLayout;
-import android.widget.ListView;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 
 import com.desk.android.sdk.Desk;
 import com.desk.android.sdk.R;
 import com.desk.android.sdk.adapter.ArticleListAdapter;
+import com.desk.android.sdk.adapter.ItemListAdapter;
 import com.desk.android.sdk.brand.BrandProvider;
+import com.desk.android.sdk.cache.ArticlePrefetcher;
+import com.desk.android.sdk.cache.ModelCache;
 import com.desk.android.sdk.error.ErrorResponse;
 import com.desk.android.sdk.provider.ArticleProvider;
+import com.desk.android.sdk.provider.RequestHandle;
 import com.desk.android.sdk.util.EndlessScrollListener;
 import com.desk.java.apiclient.model.Article;
 
-import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -69,9 +76,24 @@ import static com.desk.android.sdk.provider.ArticleProvider.ALL_TOPICS;
  * and override the {@link com.desk.android.sdk.R.styleable#ArticleListView_dk_errorText} attribute, or
  * override the {@link com.desk.android.sdk.R.styleable#ArticleListView_dk_errorText} attribute in your layout file.</p>
  *
+ * <p>The next page is prefetched as soon as a page is shown and held in a small buffer until the list
+ * needs it. When the user is scrolling quickly one more page is prefetched.</p>
+ *
+ * <p>The content of an article is prefetched with an {@link ArticlePrefetcher} as soon as its row is
+ * pressed, or once its row has been fully visible for a moment while the list is at rest. A pressed
+ * row takes priority and cancels a prefetch of a row which is only visible when no more prefetches
+ * can start. Scrolling cancels the prefetches which are still fetching.</p>
+ *
+ * <p>Articles are displayed in a {@link RecyclerView} which only lays out the rows of a page as it
+ * is added or replaced. Rows are recycled together with the other lists in the same window only.</p>
+ *
+ * <p>The saved state only holds the ids of the articles, the pages and the scroll position. On
+ * restore the articles are looked up in {@link Desk#getArticleCache()}, or if they are no longer in
+ * memory the pages are loaded again (from the knowledge base store when available).</p>
+ *
  * Created by Matt Kranzler on 6/29/15.
  */
-public class ArticleListView extends FrameLayout implements AdapterView.OnItemClickListener {
+public class ArticleListView extends FrameLayout implements ItemListAdapter.OnItemClickListener<Article> {
 
     /**
      * Listener for when an article is selected from the list
@@ -86,8 +108,11 @@ public class ArticleListView extends FrameLayout implements AdapterView.OnItemCl
     static final int MODE_SEARCH = 1;
 
     private static final int VISIBLE_THRESHOLD = 10;
+    private static final int MAX_PREFETCHED_PAGES = 2;
+    private static final float FAST_SCROLL_VELOCITY = 20f;
+    private static final long PREFETCH_DWELL_MILLIS = 1000;
 
-    private ListView mList;
+    private RecyclerView mList;
     private ProgressBar mProgress;
     private TextView mEmpty;
 
@@ -97,6 +122,19 @@ public class ArticleListView extends FrameLayout implements AdapterView.OnItemCl
     private Desk mDesk;
     private ArticleListAdapter mAdapter;
     private List<Article> mArticles;
+    private SparseIntArray mPageStarts;
+    private SparseArray<PrefetchedPage> mPrefetchedPages;
+    private SparseBooleanArray mPrefetchingPages;
+    private EndlessScrollListener mScrollListener;
+    private ArticlePrefetcher mPrefetcher;
+    private int mPendingPage;
+    private int mGeneration;
+    private List<RequestHandle> mRequests;
+    private int mLoadingPage;
+    private int mReloadPageOnAttach;
+    private boolean mClearOnNextPage;
+    private int mRestoreToPage;
+    private int mRestorePosition = RecyclerView.NO_POSITION;
 
     private int mTopicId;
     private String mQuery;
@@ -130,7 +168,8 @@ public class ArticleListView extends FrameLayout implements AdapterView.OnItemCl
     private void init(Context context) {
         mDesk = Desk.with(context);
         LayoutInflater.from(context).inflate(R.layout.list_view_with_progress_empty, this, true);
-        mList = (ListView) findViewById(android.R.id.list);
+        mList = (RecyclerView) findViewById(android.R.id.list);
+        mList.setLayoutManager(new LinearLayoutManager(context));
         mProgress = (ProgressBar) findViewById(android.R.id.progress);
         mEmpty = (TextView) findViewById(android.R.id.empty);
         if (getContext() instanceof BrandProvider) {
@@ -139,24 +178,108 @@ public class ArticleListView extends FrameLayout implements AdapterView.OnItemCl
             mBrandId = mIsBranded ? provider.getBrandId() : ALL_BRANDS;
         }
         mArticles = new ArrayList<>();
-        mAdapter = new ArticleListAdapter(getContext(), mArticles);
+        mPageStarts = new SparseIntArray();
+        mPrefetchedPages = new SparseArray<>();
+        mPrefetchingPages = new SparseBooleanArray();
+        mRequests = new ArrayList<>();
+        mAdapter = new ArticleListAdapter(getContext());
+        mAdapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+
+                // rows are added once compared in the background so scroll when they arrive
+                scrollToRestorePosition();
+                scheduleDwellPrefetch();
+            }
+        });
     }
 
     private void initializeList() {
         if (mList.getAdapter() == null) {
             mList.setAdapter(mAdapter);
-            mList.setOnScrollListener(new EndlessScrollListener(VISIBLE_THRESHOLD, mCurrentPage) {
+            mScrollListener = new EndlessScrollListener(VISIBLE_THRESHOLD, mCurrentPage) {
                 @Override
                 public void onLoadMore(int page, int totalItemsCount) {
-                    if (mHaveNextPage) {
-                        loadPage(page);
+
+                    // the list can grow without a new page (a leading batch being replaced) so go by
+                    // the last page shown rather than the listener's page count
+                    int nextPage = mCurrentPage + 1;
+                    if (mHaveNextPage && mLoadingPage != nextPage) {
+                        loadPage(nextPage);
                     }
                 }
-            });
-            mList.setOnItemClickListener(this);
+            };
+            mList.addOnScrollListener(mScrollListener);
+            mAdapter.setOnItemClickListener(this);
+            initializePrefetch();
         }
     }
 
+    private void initializePrefetch() {
+        mPrefetcher = new ArticlePrefetcher(mDesk.getHttpClient(), mDesk.getArticleProvider(),
+                ArticlePrefetcher.DEFAULT_MAX_ARTICLES, ArticlePrefetcher.DEFAULT_MAX_IN_FLIGHT);
+
+        // articles found in the index come without a body, keep the loaded one where the article screen looks
+        mPrefetcher.setOnArticleLoadedListener(new ArticlePrefetcher.OnArticleLoadedListener() {
+            @Override
+            public void onArticleLoaded(Article article) {
+                mDesk.getArticleCache().put(article);
+                mDesk.getArticleBodyCache().put(mBrandId, article);
+            }
+        });
+
+        // a row being pressed is the earliest sign the article is about to be opened
+        mList.addOnItemTouchListener(new RecyclerView.SimpleOnItemTouchListener() {
+            @Override
+            public boolean onInterceptTouchEvent(RecyclerView rv, MotionEvent e) {
+                if (e.getActionMasked() == MotionEvent.ACTION_DOWN) {
+                    View child = rv.findChildViewUnder(e.getX(), e.getY());
+                    int position = child != null ? rv.getChildAdapterPosition(child) : RecyclerView.NO_POSITION;
+                    if (position != RecyclerView.NO_POSITION) {
+                        mPrefetcher.prefetch(mAdapter.getItem(position), true);
+                    }
+                }
+                return false;
+            }
+        });
+        mList.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    scheduleDwellPrefetch();
+                } else if (newState == RecyclerView.SCROLL_STATE_DRAGGING) {
+                    removeCallbacks(mDwellPrefetch);
+                    mPrefetcher.cancelAll();
+                }
+            }
+        });
+    }
+
+    private void scheduleDwellPrefetch() {
+        removeCallbacks(mDwellPrefetch);
+        if (mPrefetcher != null) {
+            postDelayed(mDwellPrefetch, PREFETCH_DWELL_MILLIS);
+        }
+    }
+
+    /**
+     * Prefetches the articles whose rows stayed fully visible while the list was at rest
+     */
+    private final Runnable mDwellPrefetch = new Runnable() {
+        @Override
+        public void run() {
+            LinearLayoutManager layoutManager = (LinearLayoutManager) mList.getLayoutManager();
+            int first = layoutManager.findFirstCompletelyVisibleItemPosition();
+            int last = layoutManager.findLastCompletelyVisibleItemPosition();
+            if (first == RecyclerView.NO_POSITION) {
+                return;
+            }
+            for (int position = first; position <= last && position < mAdapter.getItemCount(); position++) {
+                mPrefetcher.prefetch(mAdapter.getItem(position));
+            }
+        }
+    };
+
     @VisibleForTesting
     String getEmptyText() {
         return mEmptyText;
@@ -172,12 +295,16 @@ public class ArticleListView extends FrameLayout implements AdapterView.OnItemCl
      * @param topicId the topic id to limit articles to
      */
     public void loadArticles(int topicId) {
+        mRestoreToPage = 0;
         mMode = MODE_TOPIC;
         mTopicId = topicId;
         mQuery = null;
         mCurrentPage = 0;
+        mHaveError = false;
+        mClearOnNextPage = false;
         hideList();
-        mAdapter.clear();
+        clearArticles();
+        resetPages();
         hideEmptyView();
         showProgress();
         loadPage(1);
@@ -194,39 +321,129 @@ public class ArticleListView extends FrameLayout implements AdapterView.OnItemCl
 
     /**
      * Searches for articles for a given topic and given brand that contain the query provided across
-     * subject, body_text, keywords, question, answer
+     * subject, body_text, keywords, question, answer. Matching articles which have already been
+     * loaded are shown at once and replaced by the first page of results once it arrives. If articles
+     * are already showing they are kept until then so the list can be updated in place as the user
+     * types.
      * @param topicId the topic id to limit results to
      * @param query the search query
      */
     public void searchArticles(int topicId, String query) {
+        boolean keepArticles = mList.getVisibility() == View.VISIBLE && !mArticles.isEmpty();
+        mRestoreToPage = 0;
         mMode = MODE_SEARCH;
         mTopicId = topicId;
         mQuery = query;
         mCurrentPage = 0;
-        hideList();
-        mAdapter.clear();
+        mHaveError = false;
+        resetPages();
         hideEmptyView();
-        showProgress();
+        if (keepArticles) {
+            mClearOnNextPage = true;
+        } else {
+            hideList();
+            clearArticles();
+            showProgress();
+        }
+
+        // answer from the articles on the device until the api responds
+        List<Article> indexed = mDesk.getArticleProvider().searchIndex(topicId, mBrandId, query);
+        if (!indexed.isEmpty()) {
+            onPageLoaded(indexed, 1, false);
+        }
         loadPage(1);
     }
 
+    private void resetPages() {
+
+        // stop and invalidate requests for the previous topic or query
+        cancelRequests();
+        mGeneration++;
+        mPageStarts.clear();
+        mPrefetchedPages.clear();
+        mPrefetchingPages.clear();
+        mPendingPage = 0;
+        mLoadingPage = 0;
+    }
+
     private void loadPage(int page) {
+        int index = mPrefetchedPages.indexOfKey(page);
+        if (index >= 0) {
+            PrefetchedPage prefetched = mPrefetchedPages.valueAt(index);
+            mPrefetchedPages.removeAt(index);
+            onPageLoaded(prefetched.articles, page, prefetched.haveNextPage);
+            return;
+        }
+        mLoadingPage = page;
+        if (mPrefetchingPages.get(page)) {
+
+            // deliver the prefetched page as soon as it arrives
+            mPendingPage = page;
+            return;
+        }
+        requestPage(page, new Callback(mGeneration));
+    }
+
+    private void prefetchPage(int page) {
+        if (mPageStarts.indexOfKey(page) >= 0 || mPrefetchedPages.indexOfKey(page) >= 0 || mPrefetchingPages.get(page)) {
+            return;
+        }
+        if (mPrefetchedPages.size() + mPrefetchingPages.size() >= MAX_PREFETCHED_PAGES) {
+            return;
+        }
+        mPrefetchingPages.put(page, true);
+        requestPage(page, new PrefetchCallback(mGeneration, page));
+    }
+
+    private void requestPage(int page, ArticleProvider.ArticleCallbacks callbacks) {
         ArticleProvider provider = mDesk.getArticleProvider();
+        RequestHandle request;
         if (MODE_TOPIC == mMode) {
-            provider.getArticles(mTopicId, mBrandId, page, new Callback());
+            request = provider.getArticles(mTopicId, mBrandId, page, callbacks);
         } else if (MODE_SEARCH == mMode) {
-            provider.findArticles(mTopicId, mBrandId, mQuery, page, new Callback());
+            request = provider.findArticles(mTopicId, mBrandId, mQuery, page, callbacks);
         } else {
             throw new IllegalStateException("Unexpected mode " + mMode);
         }
+        if (request != null) {
+            mRequests.add(request);
+        }
+    }
+
+    private void cancelRequests() {
+        for (RequestHandle request : mRequests) {
+            request.cancel();
+        }
+        mRequests.clear();
+    }
+
+    private boolean isScrollingFast() {
+        return mScrollListener != null && mScrollListener.getVelocity() >= FAST_SCROLL_VELOCITY;
     }
 
     @VisibleForTesting
     void onPageLoaded(List<Article> articles, int page, boolean haveNextPage) {
         if (getContext() != null) {
+            if (mPageStarts.indexOfKey(page) >= 0) {
+                onPageReloaded(articles, page, haveNextPage);
+                return;
+            }
             mCurrentPage = page;
             mHaveNextPage = haveNextPage;
+            if (mLoadingPage == page) {
+                mLoadingPage = 0;
+            }
             hideProgress();
+            if (mClearOnNextPage) {
+
+                // replace the results of the previous search
+                mClearOnNextPage = false;
+                clearArticles();
+                mList.scrollToPosition(0);
+                if (articles.isEmpty()) {
+                    hideList();
+                }
+            }
             if (articles.isEmpty()) {
                 if (page == 1) {
                     showEmptyView(mEmptyText);
@@ -234,20 +451,108 @@ public class ArticleListView extends FrameLayout implements AdapterView.OnItemCl
                 return;
             }
             initializeList();
-            mAdapter.addAll(articles);
+            mPageStarts.put(page, mArticles.size());
+            mArticles.addAll(articles);
+            mAdapter.setItems(mArticles);
             showList();
+            if (haveNextPage) {
+                prefetchPage(page + 1);
+            }
+            continueRestore(page, haveNextPage);
+        }
+    }
+
+    /**
+     * Replaces a page which has already been displayed, e.g. when a stored page or the leading
+     * batch of a page is followed by the page returned by the api.
+     */
+    private void onPageReloaded(List<Article> articles, int page, boolean haveNextPage) {
+        if (page == mCurrentPage) {
+            mHaveNextPage = haveNextPage;
+        }
+        if (mLoadingPage == page) {
+            mLoadingPage = 0;
+        }
+
+        // copy in case we were handed our own list
+        List<Article> replacement = new ArrayList<>(articles);
+        int index = mPageStarts.indexOfKey(page);
+        int start = mPageStarts.valueAt(index);
+        int end = index + 1 < mPageStarts.size() ? mPageStarts.valueAt(index + 1) : mArticles.size();
+        List<Article> range = mArticles.subList(start, end);
+        range.clear();
+        range.addAll(replacement);
+
+        // shift the start of every page after this one
+        int delta = replacement.size() - (end - start);
+        for (int i = index + 1; i < mPageStarts.size(); i++) {
+            mPageStarts.put(mPageStarts.keyAt(i), mPageStarts.valueAt(i) + delta);
+        }
+        mAdapter.setItems(mArticles);
+        if (mArticles.isEmpty()) {
+            hideList();
+            showEmptyView(mEmptyText);
+        } else if (page == mCurrentPage && haveNextPage) {
+            prefetchPage(page + 1);
+        }
+        continueRestore(page, haveNextPage);
+    }
+
+    /**
+     * Loads the next page while reloading the pages which were showing when the state was saved,
+     * and scrolls back to where the user was once they have all loaded.
+     */
+    private void continueRestore(int page, boolean haveNextPage) {
+        if (mRestoreToPage == 0 || page != mCurrentPage) {
+            return;
+        }
+        if (page < mRestoreToPage) {
+            if (haveNextPage && mLoadingPage != page + 1) {
+                loadPage(page + 1);
+            }
+            return;
+        }
+        mRestoreToPage = 0;
+        scrollToRestorePosition();
+    }
+
+    private void scrollToRestorePosition() {
+        if (mRestorePosition != RecyclerView.NO_POSITION && mRestoreToPage == 0
+                && mRestorePosition < mAdapter.getItemCount()) {
+            mList.scrollToPosition(mRestorePosition);
+            mRestorePosition = RecyclerView.NO_POSITION;
         }
     }
 
     @VisibleForTesting
     void onArticleLoadError() {
         if (getContext() != null) {
+            mRestoreToPage = 0;
+            mRestorePosition = RecyclerView.NO_POSITION;
+            if (mLoadingPage == 1 && mPageStarts.indexOfKey(1) >= 0) {
+
+                // keep showing the articles found on the device
+                mLoadingPage = 0;
+                hideProgress();
+                return;
+            }
+            mLoadingPage = 0;
             mHaveError = true;
+            if (mClearOnNextPage) {
+                mClearOnNextPage = false;
+                clearArticles();
+                hideList();
+            }
             hideProgress();
             showEmptyView(mErrorText);
         }
     }
 
+    private void clearArticles() {
+        mArticles.clear();
+        mAdapter.setItems(mArticles);
+    }
+
     private void showList() {
         mList.setVisibility(View.VISIBLE);
     }
@@ -287,9 +592,20 @@ public class ArticleListView extends FrameLayout implements AdapterView.OnItemCl
     }
 
     @Override
-    public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
+    public void onItemClick(Article article) {
         if (mArticleSelectedListener != null) {
-            mArticleSelectedListener.onArticleSelected(mAdapter.getItem(position));
+            mArticleSelectedListener.onArticleSelected(article);
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mList.setRecycledViewPool(SharedViewPool.get(this));
+        if (mReloadPageOnAttach > 0) {
+            int page = mReloadPageOnAttach;
+            mReloadPageOnAttach = 0;
+            loadPage(page);
         }
     }
 
@@ -299,13 +615,35 @@ public class ArticleListView extends FrameLayout implements AdapterView.OnItemCl
 
         // clear reference so we don't leak
         mArticleSelectedListener = null;
+
+        // stop loading pages nobody will see, and load the page again if we are attached again
+        mReloadPageOnAttach = mLoadingPage;
+        mLoadingPage = 0;
+        cancelRequests();
+        mPrefetchingPages.clear();
+        mPendingPage = 0;
+        removeCallbacks(mDwellPrefetch);
+        if (mPrefetcher != null) {
+            mPrefetcher.cancelAll();
+        }
     }
 
     @Override
     protected Parcelable onSaveInstanceState() {
         Parcelable superState = super.onSaveInstanceState();
         SavedState savedState = new SavedState(superState);
-        savedState.articles = mArticles;
+
+        // keep the articles in memory and only save their ids
+        ModelCache<Article> articleCache = mDesk.getArticleCache();
+        articleCache.putAll(mArticles);
+        savedState.articleIds = articleCache.getIds(mArticles);
+        savedState.pages = new int[mPageStarts.size()];
+        savedState.pageStarts = new int[mPageStarts.size()];
+        for (int i = 0; i < mPageStarts.size(); i++) {
+            savedState.pages[i] = mPageStarts.keyAt(i);
+            savedState.pageStarts[i] = mPageStarts.valueAt(i);
+        }
+        savedState.scrollPosition = ((LinearLayoutManager) mList.getLayoutManager()).findFirstVisibleItemPosition();
         savedState.topicId = mTopicId;
         savedState.query = mQuery;
         savedState.mode = mMode;
@@ -329,27 +667,136 @@ public class ArticleListView extends FrameLayout implements AdapterView.OnItemCl
         // if we have articles restore them
         if (mHaveError) {
             onArticleLoadError();
-        } else if (savedState.articles != null) {
-            onPageLoaded(savedState.articles, mCurrentPage, mHaveNextPage);
+        } else if (savedState.articleIds.length == 0) {
+            onPageLoaded(new ArrayList<Article>(), mCurrentPage, mHaveNextPage);
+        } else {
+            List<Article> articles = mDesk.getArticleCache().getAll(savedState.articleIds);
+            if (articles != null) {
+                restorePages(articles, savedState.pages, savedState.pageStarts, savedState.scrollPosition);
+            } else {
+                reloadPages(savedState.currentPage, savedState.scrollPosition);
+            }
+        }
+    }
+
+    /**
+     * Restores the pages from the articles in memory
+     */
+    private void restorePages(List<Article> articles, int[] pages, int[] pageStarts, int scrollPosition) {
+        boolean haveNextPage = mHaveNextPage;
+        for (int i = 0; i < pages.length; i++) {
+            int end = i + 1 < pages.length ? pageStarts[i + 1] : articles.size();
+            boolean last = i == pages.length - 1;
+
+            // only the last page may prefetch the next one
+            onPageLoaded(articles.subList(pageStarts[i], end), pages[i], last && haveNextPage);
+        }
+        mRestorePosition = scrollPosition;
+        scrollToRestorePosition();
+    }
+
+    /**
+     * Loads the pages again since the articles are no longer in memory
+     */
+    private void reloadPages(int currentPage, int scrollPosition) {
+        if (MODE_SEARCH == mMode) {
+            searchArticles(mTopicId, mQuery);
+        } else {
+            loadArticles(mTopicId);
+        }
+        mRestoreToPage = currentPage;
+        mRestorePosition = scrollPosition;
+
+        // the first page may have been delivered from a cache already
+        if (mCurrentPage > 0) {
+            continueRestore(mCurrentPage, mHaveNextPage);
         }
     }
 
     class Callback implements ArticleProvider.ArticleCallbacks {
 
+        private final int generation;
+
+        Callback(int generation) {
+            this.generation = generation;
+        }
+
         @Override
         public void onArticlesLoaded(int page, List<Article> articles, boolean morePages) {
-            onPageLoaded(articles, page, morePages);
+            if (generation == mGeneration) {
+                onPageLoaded(articles, page, morePages);
+            }
         }
 
         @Override
         public void onArticlesLoadError(ErrorResponse error) {
-            onArticleLoadError();
+            if (generation == mGeneration) {
+                onArticleLoadError();
+            }
+        }
+    }
+
+    /**
+     * Holds the result of a prefetch until the list needs it, or hands it straight to the list if
+     * the page has been requested or is already showing.
+     */
+    class PrefetchCallback implements ArticleProvider.ArticleCallbacks {
+
+        private final int generation;
+        private final int page;
+
+        PrefetchCallback(int generation, int page) {
+            this.generation = generation;
+            this.page = page;
+        }
+
+        @Override
+        public void onArticlesLoaded(int loadedPage, List<Article> articles, boolean morePages) {
+            if (generation != mGeneration) {
+                return;
+            }
+            mPrefetchingPages.delete(page);
+            if (mPendingPage == page || mPageStarts.indexOfKey(page) >= 0) {
+                mPendingPage = 0;
+                onPageLoaded(articles, page, morePages);
+                return;
+            }
+            mPrefetchedPages.put(page, new PrefetchedPage(articles, morePages));
+            if (morePages && isScrollingFast()) {
+                prefetchPage(page + 1);
+            }
+        }
+
+        @Override
+        public void onArticlesLoadError(ErrorResponse error) {
+            if (generation != mGeneration) {
+                return;
+            }
+            mPrefetchingPages.delete(page);
+            if (mPendingPage == page) {
+                mPendingPage = 0;
+                onArticleLoadError();
+            }
+        }
+    }
+
+    static class PrefetchedPage {
+
+        final List<Article> articles;
+        final boolean haveNextPage;
+
+        PrefetchedPage(List<Article> articles, boolean haveNextPage) {
+            this.articles = articles;
+            this.haveNextPage = haveNextPage;
         }
     }
 
     static class SavedState extends BaseSavedState {
 
-        List<Article> articles;
+        int[] articleIds;
+        int[] pages;
+        int[] pageStarts;
+        int scrollPosition;
         int topicId;
         String query;
         int mode;
@@ -361,10 +808,12 @@ public class ArticleListView extends FrameLayout implements AdapterView.OnItemCl
             super(superState);
         }
 
-        @SuppressWarnings("unchecked")
         private SavedState(Parcel in) {
             super(in);
-            articles = (List<Article>) in.readSerializable();
+            articleIds = in.createIntArray();
+            pages = in.createIntArray();
+            pageStarts = in.createIntArray();
+            scrollPosition = in.readInt();
             topicId = in.readInt();
             query = in.readString();
             mode = in.readInt();
@@ -376,7 +825,10 @@ public class ArticleListView extends FrameLayout implements AdapterView.OnItemCl
         @Override
         public void writeToParcel(Parcel dest, int flags) {
             super.writeToParcel(dest, flags);
-            dest.writeSerializable((Serializable) articles);
+            dest.writeIntArray(articleIds);
+            dest.writeIntArray(pages);
+            dest.writeIntArray(pageStarts);
+            dest.writeInt(scrollPosition);
             dest.writeInt(topicId);
             dest.writeString(query);
             dest.writeInt(mode);
@@ -27,73 +27,176 @@
 package com.desk.android.sdk.widget;
 
 import android.content.Context;
+import android.content.res.TypedArray;
 import android.graphics.Bitmap;
+import android.text.Html;
+import android.text.method.LinkMovementMethod;
 import android.util.AttributeSet;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.webkit.WebView;
-import android.webkit.WebViewClient;
 import android.widget.FrameLayout;
 import android.widget.ProgressBar;
+import android.widget.ScrollView;
+import android.widget.TextView;
 
+import com.desk.android.sdk.Desk;
 import com.desk.android.sdk.R;
+import com.desk.android.sdk.helper.ArticleHtmlHelper;
 import com.desk.java.apiclient.model.Article;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Scanner;
+
 /**
- * <p>FrameLayout containing a WebView and ProgressBar which can load an article's url.</p>
+ * <p>FrameLayout which displays an article. The body html of the article is rendered natively as
+ * styled text with its images loaded in the background. Articles with rich content such as tables
+ * or embedded media are rendered from the {@code dk_article_template} raw resource in a WebView,
+ * which is only taken from the {@link WebViewPool} when needed and returned to it when this view is
+ * detached. Only articles without a body load their public url.</p>
+ *
+ * <p>To always load the public url set a style via the {@link com.desk.android.sdk.R.attr#dk_articleViewStyle}
+ * and override the {@link com.desk.android.sdk.R.styleable#ArticleView_dk_renderMode} attribute, or
+ * override the {@link com.desk.android.sdk.R.styleable#ArticleView_dk_renderMode} attribute in your layout file.</p>
  *
  * Created by Matt Kranzler on 6/30/15.
  */
 public class ArticleView extends FrameLayout {
 
+    private static final int RENDER_MODE_AUTO = 0;
+    private static final int RENDER_MODE_WEB = 1;
+
+    private static final String MIME_TYPE_HTML = "text/html";
+    private static final String ENCODING = "UTF-8";
+
+    private static String template;
+
+    private int renderMode;
     private BaseWebView webView;
+    private ScrollView scrollView;
+    private TextView textView;
     private ProgressBar progressBar;
+    private HtmlImageGetter imageGetter;
 
     public ArticleView(Context context) {
         this(context, null);
     }
 
     public ArticleView(Context context, AttributeSet attrs) {
-        this(context, attrs, 0);
+        this(context, attrs, R.attr.dk_articleViewStyle);
     }
 
     public ArticleView(Context context, AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
+        TypedArray ta = context.getTheme().obtainStyledAttributes(attrs, R.styleable.ArticleView, defStyleAttr, R.style.ArticleViewStyle);
+        renderMode = ta.getInt(R.styleable.ArticleView_dk_renderMode, RENDER_MODE_AUTO);
+        ta.recycle();
         init();
     }
 
     private void init() {
         LayoutInflater.from(getContext()).inflate(R.layout.article_view, this, true);
-        webView = (BaseWebView) findViewById(R.id.web_view);
+        scrollView = (ScrollView) findViewById(R.id.article_scroll_view);
+        textView = (TextView) findViewById(R.id.article_text);
+        textView.setMovementMethod(LinkMovementMethod.getInstance());
         progressBar = (ProgressBar) findViewById(R.id.progress_bar);
-
-        // set a WebViewClient to show the progress bar when a page is loading
-        webView.setWebViewClient(new WebViewClient() {
-            @Override public void onPageStarted(WebView view, String url, Bitmap favicon) {
-                super.onPageStarted(view, url, favicon);
-                progressBar.setVisibility(View.VISIBLE);
-            }
-
-            @Override public void onPageFinished(WebView view, String url) {
-                super.onPageFinished(view, url);
-                progressBar.setVisibility(View.GONE);
-            }
-        });
     }
 
     /**
-     * Loads the public url of the article in the web view
+     * Displays the article natively, or in the web view when it has rich content
      * @param article the article to load
      */
     public void loadArticle(Article article) {
-        webView.loadUrl(article.getPublicUrl());
+        cancelImages();
+        String body = article.getBody();
+        boolean hasBody = body != null && !body.trim().isEmpty();
+        if (renderMode == RENDER_MODE_WEB || !hasBody) {
+            scrollView.setVisibility(View.GONE);
+            getWebView().loadUrl(article.getPublicUrl());
+        } else if (ArticleHtmlHelper.requiresWebView(body)) {
+            scrollView.setVisibility(View.GONE);
+
+            // relative links and images of the body resolve against the public url
+            String html = ArticleHtmlHelper.applyTemplate(getTemplate(), article.getSubject(), body);
+            getWebView().loadDataWithBaseURL(article.getPublicUrl(), html, MIME_TYPE_HTML, ENCODING, null);
+        } else {
+            renderArticle(article);
+        }
+    }
+
+    private String getTemplate() {
+        if (template == null) {
+            InputStream in = getResources().openRawResource(R.raw.dk_article_template);
+            try {
+                Scanner scanner = new Scanner(in, ENCODING).useDelimiter("\\A");
+                template = scanner.hasNext() ? scanner.next() : "";
+            } finally {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                    // nothing left to do
+                }
+            }
+        }
+        return template;
+    }
+
+    private void renderArticle(Article article) {
+        if (webView != null) {
+            webView.setVisibility(View.GONE);
+        }
+        progressBar.setVisibility(View.GONE);
+        imageGetter = new HtmlImageGetter(textView, Desk.with(getContext()).getHttpClient(), article.getPublicUrl());
+        textView.setText(Html.fromHtml(article.getBody(), imageGetter, null));
+        scrollView.scrollTo(0, 0);
+        scrollView.setVisibility(View.VISIBLE);
+    }
+
+    private BaseWebView getWebView() {
+        if (webView == null) {
+            webView = Desk.with(getContext()).getWebViewPool().obtain(getContext());
+            addView(webView, indexOfChild(progressBar), new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+
+            // set a WebViewClient to show the progress bar when a page is loading
+            webView.setWebViewClient(new BaseWebViewClient() {
+                @Override public void onPageStarted(WebView view, String url, Bitmap favicon) {
+                    super.onPageStarted(view, url, favicon);
+                    progressBar.setVisibility(View.VISIBLE);
+                }
+
+                @Override public void onPageFinished(WebView view, String url) {
+                    super.onPageFinished(view, url);
+                    progressBar.setVisibility(View.GONE);
+                }
+            });
+        }
+        webView.setVisibility(View.VISIBLE);
+        return webView;
+    }
+
+    private void cancelImages() {
+        if (imageGetter != null) {
+            imageGetter.cancel();
+            imageGetter = null;
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        cancelImages();
+        if (webView != null) {
+            Desk.with(getContext()).getWebViewPool().recycle(webView);
+            webView = null;
+        }
+        super.onDetachedFromWindow();
     }
 
     /**
      * @see BaseWebView#wentBack()
      */
     public boolean wentBack() {
-        return webView.wentBack();
+        return webView != null && webView.getVisibility() == View.VISIBLE && webView.wentBack();
     }
 
 }
@@ -29,15 +29,20 @@ package com.desk.android.sdk.widget;
 import android.app.Activity;
 import android.content.Context;
 import android.util.AttributeSet;
+import android.webkit.WebBackForwardList;
+import android.webkit.WebHistoryItem;
 import android.webkit.WebView;
 
 /**
- * <p>Base web view which provides some default settings and provides a helper method to navigate back.</p>
+ * <p>Base web view which provides some default settings and provides a helper method to navigate back.
+ * Static assets of pages are served through a {@link BaseWebViewClient}.</p>
  *
  * Created by Matt Kranzler on 7/9/15.
  */
 public class BaseWebView extends WebView {
 
+    static final String BLANK_URL = "about:blank";
+
     public BaseWebView(Context context) {
         this(context, null);
     }
@@ -57,6 +62,7 @@ public class BaseWebView extends WebView {
         getSettings().setSupportZoom(true);
         getSettings().setBuiltInZoomControls(true);
         getSettings().setJavaScriptEnabled(true);
+        setWebViewClient(new BaseWebViewClient(true));
 
         // fix for issue where keyboard isn't displaying when an editable field is tapped
         // see https://code.google.com/p/android/issues/detail?id=7189
@@ -67,10 +73,11 @@ public class BaseWebView extends WebView {
     /**
      * Call to force the web view to try and go back. This should typically be called in your
      * {@link Activity#onBackPressed()} method.
+     * A web view reused from the {@link WebViewPool} does not go back to the pages it showed before.
      * @return true if it went back, false if it did not
      */
     public boolean wentBack() {
-        if (!canGoBack()) {
+        if (!canGoBack() || previousPageIsBlank()) {
             return false;
         } else {
             goBack();
@@ -78,4 +85,10 @@ public class BaseWebView extends WebView {
         }
     }
 
+    private boolean previousPageIsBlank() {
+        WebBackForwardList history = copyBackForwardList();
+        WebHistoryItem previous = history.getItemAtIndex(history.getCurrentIndex() - 1);
+        return previous != null && BLANK_URL.equals(previous.getUrl());
+    }
+
 }
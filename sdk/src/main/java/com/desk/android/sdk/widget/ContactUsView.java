@@ -44,13 +44,10 @@ import com.desk.android.sdk.error.IncompleteFormException;
 import com.desk.android.sdk.identity.Identity;
 import com.desk.android.sdk.identity.UserIdentity;
 import com.desk.android.sdk.model.CreateCaseRequest;
-import com.desk.android.sdk.model.CustomFieldProperties;
+import com.desk.android.sdk.model.CustomFieldSchema;
 import com.desk.android.sdk.util.TextWatcherAdapter;
 import com.desk.java.apiclient.model.CaseType;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Displays a contact us form in order for users to submit issues/feedback. To listen for callbacks
  * implement {@link com.desk.android.sdk.widget.ContactUsView.FormListener} and call
@@ -85,7 +82,7 @@ public class ContactUsView extends LinearLayout {
     private int mBrandId;
     private boolean mIsBranded;
 
-    private HashMap<String, CustomFieldProperties> mCustomFieldProperties;
+    private CustomFieldSchema mCustomFieldSchema;
 
     private FormListener mListener;
 
@@ -117,7 +114,7 @@ public class ContactUsView extends LinearLayout {
         }
 
         Desk desk = Desk.with(getContext());
-        checkConfig(desk.getContactUsConfig());
+        checkConfig(desk);
         checkIdentity(desk.getIdentity());
         setInitialFieldValues();
         setupListeners();
@@ -187,13 +184,14 @@ public class ContactUsView extends LinearLayout {
         return new CreateCaseRequest.Builder(CaseType.EMAIL, mFeedback, to, mEmail)
                 .name(mName)
                 .subject(mSubject)
-                .customFields(getCustomFields())
+                .customFields(mCustomFieldSchema.toCustomFields())
                 .create();
     }
 
-    private void checkConfig(ContactUsConfig config) {
+    private void checkConfig(Desk desk) {
+        ContactUsConfig config = desk.getContactUsConfig();
         mSubject = mIsBranded ? config.getSubject(mBrandId) : config.getSubject();
-        mCustomFieldProperties = mIsBranded ? config.getCustomFieldProperties(mBrandId) : config.getCustomFieldProperties();
+        mCustomFieldSchema = mIsBranded ? desk.getCustomFieldSchema(mBrandId) : desk.getCustomFieldSchema();
     }
 
     private void checkIdentity(Identity identity) {
@@ -204,19 +202,6 @@ public class ContactUsView extends LinearLayout {
         }
     }
 
-    private HashMap<String, String> getCustomFields() {
-        if (mCustomFieldProperties == null) {
-            return null;
-        }
-        HashMap<String, String> customFields = new HashMap<>(mCustomFieldProperties.size());
-        for (Map.Entry<String, CustomFieldProperties> entry : mCustomFieldProperties.entrySet()) {
-            String key = entry.getKey();
-            CustomFieldProperties properties = entry.getValue();
-            customFields.put(key, properties.getValue());
-        }
-        return customFields;
-    }
-
     private void checkForm() {
         if (mListener == null) {
             return;
@@ -27,16 +27,28 @@
 package com.desk.android.sdk.widget;
 
 import android.content.Context;
+import android.support.annotation.Nullable;
 import android.util.AttributeSet;
+import android.widget.FrameLayout;
 
 import com.desk.android.sdk.Desk;
 
 /**
- * <p>Web view which loads the {@link Desk#getContactUsWebFormUrl()} when attached to the window.</p>
+ * <p>FrameLayout which takes a web view from the {@link WebViewPool} and loads the
+ * {@link Desk#getContactUsWebFormUrl()} when attached to the window. When the form was preloaded by
+ * the {@link com.desk.android.sdk.fragment.ContactUsHelper} the preloaded web view is shown as is.
+ * The web view is returned to the pool when detached.</p>
+ *
+ * <p>This view used to extend {@link BaseWebView}. The navigation methods callers used on it are
+ * kept and delegate to the pooled web view, which is available from {@link #getWebView()} while
+ * attached for anything else.</p>
  *
  * Created by Matt Kranzler on 7/9/15.
  */
-public class ContactUsWebView extends BaseWebView {
+public class ContactUsWebView extends FrameLayout {
+
+    private BaseWebView webView;
+    private String pendingUrl;
 
     public ContactUsWebView(Context context) {
         super(context);
@@ -53,6 +65,85 @@ public class ContactUsWebView extends BaseWebView {
     @Override
     protected void onAttachedToWindow() {
         super.onAttachedToWindow();
-        loadUrl(Desk.with(getContext()).getContactUsWebFormUrl());
+        Desk desk = Desk.with(getContext());
+        String url = pendingUrl != null ? pendingUrl : desk.getContactUsWebFormUrl();
+        pendingUrl = null;
+        webView = desk.getWebViewPool().obtainPreloaded(getContext(), url);
+        if (webView == null) {
+            webView = desk.getWebViewPool().obtain(getContext());
+            webView.loadUrl(url);
+        }
+        addView(webView, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        if (webView != null) {
+            Desk.with(getContext()).getWebViewPool().recycle(webView);
+            webView = null;
+        }
+        super.onDetachedFromWindow();
+    }
+
+    /**
+     * Gets the pooled web view showing the form.
+     * @return the web view, or null when this view is not attached to a window
+     */
+    @Nullable
+    public BaseWebView getWebView() {
+        return webView;
+    }
+
+    /**
+     * @see BaseWebView#wentBack()
+     */
+    public boolean wentBack() {
+        return webView != null && webView.wentBack();
+    }
+
+    /**
+     * Loads the url in the web view. When this view is not attached yet the url is loaded instead of
+     * the contact us form once it is.
+     * @see android.webkit.WebView#loadUrl(String)
+     */
+    public void loadUrl(String url) {
+        if (webView != null) {
+            webView.loadUrl(url);
+        } else {
+            pendingUrl = url;
+        }
+    }
+
+    /**
+     * @see android.webkit.WebView#reload()
+     */
+    public void reload() {
+        if (webView != null) {
+            webView.reload();
+        }
+    }
+
+    /**
+     * @see android.webkit.WebView#canGoBack()
+     */
+    public boolean canGoBack() {
+        return webView != null && webView.canGoBack();
+    }
+
+    /**
+     * @see android.webkit.WebView#goBack()
+     */
+    public void goBack() {
+        if (webView != null) {
+            webView.goBack();
+        }
+    }
+
+    /**
+     * @see android.webkit.WebView#getUrl()
+     */
+    @Nullable
+    public String getUrl() {
+        return webView != null ? webView.getUrl() : null;
     }
 }
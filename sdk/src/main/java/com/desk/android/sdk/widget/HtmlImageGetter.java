@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+import android.text.Html;
+import android.widget.TextView;
+
+import com.desk.android.sdk.helper.ArticleHtmlHelper;
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.HttpUrl;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>{@link Html.ImageGetter} which returns an empty placeholder for each image of an article body
+ * and loads the images in the background once the {@link TextView} has been laid out. Images are
+ * decoded downsampled to the width of the text so a large image never costs more memory than it
+ * takes to display it.</p>
+ */
+class HtmlImageGetter implements Html.ImageGetter {
+
+    private final TextView mTextView;
+    private final OkHttpClient mHttpClient;
+    private final HttpUrl mBaseUrl;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final List<Call> mCalls = new ArrayList<>();
+    private boolean mCanceled;
+
+    /**
+     * Creates an image getter
+     * @param textView the text view displaying the html
+     * @param httpClient the client to load images with
+     * @param baseUrl the url relative image sources are resolved against
+     */
+    HtmlImageGetter(TextView textView, OkHttpClient httpClient, @Nullable String baseUrl) {
+        mTextView = textView;
+        mHttpClient = httpClient;
+        mBaseUrl = baseUrl != null ? HttpUrl.parse(baseUrl) : null;
+    }
+
+    @Override
+    public Drawable getDrawable(String source) {
+        final ImageDrawable drawable = new ImageDrawable();
+        final HttpUrl url = resolve(source);
+        if (url != null) {
+
+            // wait for the text to be laid out so the images can be decoded for its width
+            mTextView.post(new Runnable() {
+                @Override
+                public void run() {
+                    load(url, drawable);
+                }
+            });
+        }
+        return drawable;
+    }
+
+    /**
+     * Cancels the images which are still loading
+     */
+    void cancel() {
+        mCanceled = true;
+        for (Call call : mCalls) {
+            call.cancel();
+        }
+        mCalls.clear();
+    }
+
+    @Nullable
+    private HttpUrl resolve(String source) {
+        if (source == null) {
+            return null;
+        }
+        HttpUrl url = HttpUrl.parse(source);
+        if (url == null && mBaseUrl != null) {
+            url = mBaseUrl.resolve(source);
+        }
+        return url;
+    }
+
+    private void load(HttpUrl url, final ImageDrawable drawable) {
+        if (mCanceled) {
+            return;
+        }
+        final int maxWidth = mTextView.getWidth() - mTextView.getTotalPaddingLeft() - mTextView.getTotalPaddingRight();
+        Call call = mHttpClient.newCall(new Request.Builder().url(url).build());
+        mCalls.add(call);
+        call.enqueue(new com.squareup.okhttp.Callback() {
+            @Override
+            public void onFailure(Request request, IOException e) {
+                // the placeholder stays empty
+            }
+
+            @Override
+            public void onResponse(Response response) throws IOException {
+                if (!response.isSuccessful()) {
+                    response.body().close();
+                    return;
+                }
+                byte[] bytes = response.body().bytes();
+                final Bitmap bitmap = decode(bytes, maxWidth);
+                if (bitmap == null) {
+                    return;
+                }
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mCanceled) {
+                            bitmap.recycle();
+                            return;
+                        }
+                        show(drawable, bitmap, maxWidth);
+                    }
+                });
+            }
+        });
+    }
+
+    @Nullable
+    private static Bitmap decode(byte[] bytes, int maxWidth) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+        if (options.outWidth <= 0) {
+            return null;
+        }
+        options.inSampleSize = ArticleHtmlHelper.calculateInSampleSize(options.outWidth, maxWidth);
+        options.inJustDecodeBounds = false;
+        return BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+    }
+
+    private void show(ImageDrawable drawable, Bitmap bitmap, int maxWidth) {
+        float density = mTextView.getResources().getDisplayMetrics().density;
+        int width = Math.round(bitmap.getWidth() * density);
+        int height = Math.round(bitmap.getHeight() * density);
+        if (maxWidth > 0 && width > maxWidth) {
+            height = height * maxWidth / width;
+            width = maxWidth;
+        }
+        drawable.setDrawable(new BitmapDrawable(mTextView.getResources(), bitmap), width, height);
+
+        // setting the same text again lays it out with the new size of the image
+        mTextView.setText(mTextView.getText());
+    }
+
+    /**
+     * Placeholder for an image which is empty until the image has loaded
+     */
+    private static class ImageDrawable extends Drawable {
+
+        private Drawable mDrawable;
+
+        void setDrawable(Drawable drawable, int width, int height) {
+            mDrawable = drawable;
+            mDrawable.setBounds(0, 0, width, height);
+            setBounds(0, 0, width, height);
+        }
+
+        @Override
+        public void draw(Canvas canvas) {
+            if (mDrawable != null) {
+                mDrawable.draw(canvas);
+            }
+        }
+
+        @Override
+        public void setAlpha(int alpha) {
+            if (mDrawable != null) {
+                mDrawable.setAlpha(alpha);
+            }
+        }
+
+        @Override
+        public void setColorFilter(ColorFilter colorFilter) {
+            if (mDrawable != null) {
+                mDrawable.setColorFilter(colorFilter);
+            }
+        }
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+    }
+}
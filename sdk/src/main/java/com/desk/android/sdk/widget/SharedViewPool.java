@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.widget;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import com.desk.android.sdk.R;
+
+/**
+ * Shares a {@link RecyclerView.RecycledViewPool} between the lists in the same window, so a topic
+ * list and an article list shown together, e.g. side by side in one activity, reuse each other's
+ * rows. Sharing happens only within one window; lists in different activities or dialogs each get
+ * their own pool. The pool is kept on the root view so it never outlives the window, as its rows
+ * hold on to the window's context.
+ */
+final class SharedViewPool {
+
+    private SharedViewPool() {}
+
+    /**
+     * Gets the pool for the window the view is attached to, creating it if necessary
+     * @param view an attached view
+     * @return the pool
+     */
+    static RecyclerView.RecycledViewPool get(View view) {
+        View root = view.getRootView();
+        Object pool = root.getTag(R.id.dk_recycled_view_pool);
+        if (!(pool instanceof RecyclerView.RecycledViewPool)) {
+            pool = new RecyclerView.RecycledViewPool();
+            root.setTag(R.id.dk_recycled_view_pool, pool);
+        }
+        return (RecyclerView.RecycledViewPool) pool;
+    }
+}
@@ -31,24 +31,26 @@ import android.content.res.TypedArray;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.support.annotation.VisibleForTesting;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
 import android.util.AttributeSet;
 import android.view.LayoutInflater;
 import android.view.View;
-import android.widget.AdapterView;
 import android.widget.FrameLayout;
-import android.widget.ListView;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 
 import com.desk.android.sdk.Desk;
 import com.desk.android.sdk.R;
+import com.desk.android.sdk.adapter.ItemListAdapter;
 import com.desk.android.sdk.adapter.TopicListAdapter;
 import com.desk.android.sdk.brand.BrandProvider;
+import com.desk.android.sdk.cache.ModelCache;
 import com.desk.android.sdk.error.ErrorResponse;
+import com.desk.android.sdk.provider.RequestHandle;
 import com.desk.android.sdk.provider.TopicProvider;
 import com.desk.java.apiclient.model.Topic;
 
-import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -67,9 +69,16 @@ import static com.desk.android.sdk.provider.TopicProvider.ALL_BRANDS;
  * and override the {@link com.desk.android.sdk.R.styleable#TopicListView_dk_errorText} attribute, or
  * override the {@link com.desk.android.sdk.R.styleable#TopicListView_dk_errorText} attribute in your layout file.</p>
  *
+ * <p>Topics are displayed in a {@link RecyclerView} whose rows are recycled
+ * together with the other lists in the same window only.</p>
+ *
+ * <p>The saved state only holds the ids of the topics and the scroll position. On restore the
+ * topics are looked up in {@link Desk#getTopicCache()}, or loaded again if they are no longer in
+ * memory.</p>
+ *
  * Created by Matt Kranzler on 6/29/15.
  */
-public class TopicListView extends FrameLayout implements AdapterView.OnItemClickListener {
+public class TopicListView extends FrameLayout implements ItemListAdapter.OnItemClickListener<Topic> {
 
     /**
      * Listener for when a topic is selected from the list
@@ -78,7 +87,7 @@ public class TopicListView extends FrameLayout implements AdapterView.OnItemClic
         void onTopicSelected(Topic topic);
     }
 
-    private ListView mList;
+    private RecyclerView mList;
     private ProgressBar mProgress;
     private TextView mEmpty;
 
@@ -88,7 +97,10 @@ public class TopicListView extends FrameLayout implements AdapterView.OnItemClic
     private Desk mDesk;
     private TopicListAdapter mAdapter;
     private List<Topic> mTopics;
+    private RequestHandle mTopicsRequest;
+    private boolean mReloadOnAttach;
     private boolean mHaveError;
+    private int mRestorePosition = RecyclerView.NO_POSITION;
 
     private int mBrandId;
     private boolean mIsBranded;
@@ -115,7 +127,8 @@ public class TopicListView extends FrameLayout implements AdapterView.OnItemClic
     private void init(Context context) {
         mDesk = Desk.with(context);
         LayoutInflater.from(context).inflate(R.layout.list_view_with_progress_empty, this, true);
-        mList = (ListView) findViewById(android.R.id.list);
+        mList = (RecyclerView) findViewById(android.R.id.list);
+        mList.setLayoutManager(new LinearLayoutManager(context));
         mProgress = (ProgressBar) findViewById(android.R.id.progress);
         mEmpty = (TextView) findViewById(android.R.id.empty);
         if (getContext() instanceof BrandProvider) {
@@ -124,9 +137,9 @@ public class TopicListView extends FrameLayout implements AdapterView.OnItemClic
             mBrandId = provider.getBrandId();
         }
         mTopics = new ArrayList<>();
-        mAdapter = new TopicListAdapter(context, mTopics);
+        mAdapter = new TopicListAdapter(context);
+        mAdapter.setOnItemClickListener(this);
         mList.setAdapter(mAdapter);
-        mList.setOnItemClickListener(this);
     }
 
     @VisibleForTesting
@@ -144,11 +157,13 @@ public class TopicListView extends FrameLayout implements AdapterView.OnItemClic
      */
     public void loadTopics() {
         hideList();
-        mAdapter.clear();
+        mTopics.clear();
+        mAdapter.setItems(mTopics);
         hideEmptyView();
         showProgress();
+        cancelTopicsRequest();
 
-        mDesk.getTopicProvider()
+        mTopicsRequest = mDesk.getTopicProvider()
                 .getTopics(mIsBranded ? mBrandId : ALL_BRANDS, new TopicProvider.TopicCallbacks()  {
                     @Override
                     public void onTopicsLoaded(List<Topic> topics) {
@@ -157,19 +172,38 @@ public class TopicListView extends FrameLayout implements AdapterView.OnItemClic
 
                     @Override
                     public void onTopicsLoadError(ErrorResponse error) {
+                        mTopicsRequest = null;
                         onLoadError();
                     }
                 });
     }
 
+    private void cancelTopicsRequest() {
+        if (mTopicsRequest != null) {
+            mTopicsRequest.cancel();
+            mTopicsRequest = null;
+        }
+    }
+
     @VisibleForTesting
     void onLoaded(List<Topic> topics) {
         if (getContext() != null) {
             hideProgress();
-            if (topics.size() > 0) {
-                mAdapter.addAll(topics);
+
+            // topics may be delivered more than once (stored then fetched) so replace what we have,
+            // copying first in case we were handed our own list
+            List<Topic> replacement = new ArrayList<>(topics);
+            mTopics.clear();
+            mTopics.addAll(replacement);
+            mAdapter.setItems(mTopics);
+            if (replacement.size() > 0) {
                 showList();
+                if (mRestorePosition != RecyclerView.NO_POSITION) {
+                    mList.scrollToPosition(Math.min(mRestorePosition, replacement.size() - 1));
+                    mRestorePosition = RecyclerView.NO_POSITION;
+                }
             } else {
+                hideList();
                 showEmptyView(mEmptyText);
             }
         }
@@ -223,9 +257,19 @@ public class TopicListView extends FrameLayout implements AdapterView.OnItemClic
     }
 
     @Override
-    public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
+    public void onItemClick(Topic topic) {
         if (mTopicSelectedListener != null) {
-            mTopicSelectedListener.onTopicSelected(mAdapter.getItem(position));
+            mTopicSelectedListener.onTopicSelected(topic);
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mList.setRecycledViewPool(SharedViewPool.get(this));
+        if (mReloadOnAttach) {
+            mReloadOnAttach = false;
+            loadTopics();
         }
     }
 
@@ -235,13 +279,24 @@ public class TopicListView extends FrameLayout implements AdapterView.OnItemClic
 
         // clear reference so we don't leak
         mTopicSelectedListener = null;
+
+        // stop loading topics nobody will see, and load them again if we are attached again
+        if (mTopicsRequest != null) {
+            mReloadOnAttach = mProgress.getVisibility() == View.VISIBLE;
+            cancelTopicsRequest();
+        }
     }
 
     @Override
     protected Parcelable onSaveInstanceState() {
         Parcelable superState = super.onSaveInstanceState();
         SavedState savedState = new SavedState(superState);
-        savedState.topics = mTopics;
+
+        // keep the topics in memory and only save their ids
+        ModelCache<Topic> topicCache = mDesk.getTopicCache();
+        topicCache.putAll(mTopics);
+        savedState.topicIds = topicCache.getIds(mTopics);
+        savedState.scrollPosition = ((LinearLayoutManager) mList.getLayoutManager()).findFirstVisibleItemPosition();
         savedState.haveError = mHaveError;
         return savedState;
     }
@@ -253,31 +308,41 @@ public class TopicListView extends FrameLayout implements AdapterView.OnItemClic
         mHaveError = savedState.haveError;
         if (mHaveError) {
             onLoadError();
-        } else if (savedState.topics != null) {
-            onLoaded(savedState.topics);
+        } else if (savedState.topicIds.length > 0) {
+            mRestorePosition = savedState.scrollPosition;
+            List<Topic> topics = mDesk.getTopicCache().getAll(savedState.topicIds);
+            if (topics != null) {
+                onLoaded(topics);
+            } else {
+                loadTopics();
+            }
+        } else {
+            onLoaded(new ArrayList<Topic>());
         }
     }
 
     static class SavedState extends BaseSavedState {
 
-        List<Topic> topics;
+        int[] topicIds;
+        int scrollPosition;
         boolean haveError;
 
         SavedState(Parcelable superState) {
             super(superState);
         }
 
-        @SuppressWarnings("unchecked")
         private SavedState(Parcel in) {
             super(in);
-            topics = (List<Topic>) in.readSerializable();
+            topicIds = in.createIntArray();
+            scrollPosition = in.readInt();
             haveError = in.readInt() == 1;
         }
 
         @Override
         public void writeToParcel(Parcel dest, int flags) {
             super.writeToParcel(dest, flags);
-            dest.writeSerializable((Serializable) topics);
+            dest.writeIntArray(topicIds);
+            dest.writeInt(scrollPosition);
             dest.writeInt(haveError ? 1 : 0);
         }
 
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.widget;
+
+import android.content.Context;
+import android.content.MutableContextWrapper;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+import android.support.annotation.MainThread;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * <p>Pool of {@link BaseWebView}s so screens showing web content don't pay the cost of initializing
+ * a web view every time they open. The first web view of a process is the most expensive to create,
+ * {@link #prewarm()} creates it while the main thread is idle.</p>
+ *
+ * <p>Web views are created with a {@link MutableContextWrapper} so an idle web view only holds on
+ * to the application context and is switched to the context of the screen it is handed to.</p>
+ *
+ * <p>A page the user is likely to open, such as the contact us web form, can be loaded ahead of time
+ * with {@link #preload(String)} and taken with {@link #obtainPreloaded(Context, String)}.</p>
+ */
+public class WebViewPool {
+
+    private final Context mAppContext;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private static final long PRELOAD_MAX_AGE_MILLIS = 10 * 60 * 1000; // 10 minutes
+
+    private BaseWebView mIdle;
+    private BaseWebView mPreloaded;
+    private String mPreloadedUrl;
+    private long mPreloadedAt;
+
+    /**
+     * Creates a pool
+     * @param context the context
+     */
+    public WebViewPool(Context context) {
+        mAppContext = context.getApplicationContext();
+    }
+
+    /**
+     * Creates a web view the next time the main thread is idle so {@link #obtain(Context)} can
+     * return it right away. Can be called from any thread.
+     */
+    public void prewarm() {
+        mMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+                    @Override
+                    public boolean queueIdle() {
+                        if (mIdle == null) {
+                            mIdle = new BaseWebView(new MutableContextWrapper(mAppContext));
+                        }
+                        return false;
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Loads the url in a web view the next time the main thread is idle, replacing any other
+     * preloaded page. Can be called from any thread.
+     * @param url the url to preload
+     */
+    public void preload(final String url) {
+        mMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+                    @Override
+                    public boolean queueIdle() {
+                        if (!url.equals(mPreloadedUrl) || isPreloadStale()) {
+                            discardPreloaded();
+                            mPreloaded = obtain(mAppContext);
+                            mPreloaded.loadUrl(url);
+                            mPreloadedUrl = url;
+                            mPreloadedAt = SystemClock.elapsedRealtime();
+                        }
+                        return false;
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Gets the web view which preloaded the url
+     * @param context the context of the screen the web view is displayed in
+     * @param url the url
+     * @return the web view, or null if the url wasn't preloaded or was preloaded too long ago
+     */
+    @MainThread
+    @Nullable
+    public BaseWebView obtainPreloaded(Context context, String url) {
+        if (!url.equals(mPreloadedUrl)) {
+            return null;
+        }
+        if (isPreloadStale()) {
+            discardPreloaded();
+            return null;
+        }
+        BaseWebView webView = mPreloaded;
+        mPreloaded = null;
+        mPreloadedUrl = null;
+        ((MutableContextWrapper) webView.getContext()).setBaseContext(context);
+        return webView;
+    }
+
+    private boolean isPreloadStale() {
+        return SystemClock.elapsedRealtime() - mPreloadedAt > PRELOAD_MAX_AGE_MILLIS;
+    }
+
+    private void discardPreloaded() {
+        if (mPreloaded != null) {
+            BaseWebView webView = mPreloaded;
+            mPreloaded = null;
+            mPreloadedUrl = null;
+            recycle(webView);
+        }
+    }
+
+    /**
+     * Gets an idle web view or creates one if there isn't any
+     * @param context the context of the screen the web view is displayed in
+     * @return the web view
+     */
+    @MainThread
+    public BaseWebView obtain(Context context) {
+        BaseWebView webView = mIdle;
+        mIdle = null;
+        if (webView == null) {
+            return new BaseWebView(new MutableContextWrapper(context));
+        }
+        ((MutableContextWrapper) webView.getContext()).setBaseContext(context);
+        return webView;
+    }
+
+    /**
+     * Resets the web view and keeps it for the next {@link #obtain(Context)}, or destroys it if
+     * there already is an idle web view
+     * @param webView the web view obtained from this pool
+     */
+    @MainThread
+    public void recycle(BaseWebView webView) {
+        if (webView.getParent() instanceof ViewGroup) {
+            ((ViewGroup) webView.getParent()).removeView(webView);
+        }
+        webView.stopLoading();
+        if (mIdle != null) {
+            webView.destroy();
+            return;
+        }
+        webView.setWebViewClient(new BaseWebViewClient(true));
+        webView.setVisibility(View.VISIBLE);
+
+        // the blank page marks where the history of the next screen starts, see BaseWebView#wentBack()
+        webView.loadUrl(BaseWebView.BLANK_URL);
+        ((MutableContextWrapper) webView.getContext()).setBaseContext(mAppContext);
+        mIdle = webView;
+    }
+}
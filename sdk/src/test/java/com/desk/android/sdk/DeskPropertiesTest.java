@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link DeskProperties}
+ */
+@SmallTest
+public class DeskPropertiesTest {
+
+    public static final class GeneratedProperties {
+        public static final String[] KEYS = { "desk.api.token", "contact.us.enabled.brand.1" };
+        public static final String[] VALUES = { "token", "true" };
+    }
+
+    public static final class MismatchedProperties {
+        public static final String[] KEYS = { "desk.api.token" };
+        public static final String[] VALUES = {};
+    }
+
+    @Test
+    public void loadsPropertiesFromGeneratedClass() throws Exception {
+        DeskProperties properties = new DeskProperties();
+        assertTrue(properties.loadPropertiesFromClass(GeneratedProperties.class.getName()));
+        assertEquals("token", properties.getProperty("desk.api.token"));
+        assertEquals("true", properties.getProperty("contact.us.enabled.brand.1"));
+    }
+
+    @Test
+    public void doesNotLoadMissingGeneratedClass() throws Exception {
+        DeskProperties properties = new DeskProperties();
+        assertFalse(properties.loadPropertiesFromClass("com.desk.android.sdk.MissingProperties"));
+        assertTrue(properties.isEmpty());
+    }
+
+    @Test
+    public void doesNotLoadMismatchedGeneratedClass() throws Exception {
+        DeskProperties properties = new DeskProperties();
+        assertFalse(properties.loadPropertiesFromClass(MismatchedProperties.class.getName()));
+        assertTrue(properties.isEmpty());
+    }
+}
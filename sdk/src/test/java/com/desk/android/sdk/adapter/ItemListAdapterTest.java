@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.adapter;
+
+import android.content.Context;
+import android.test.suitebuilder.annotation.SmallTest;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link ItemListAdapter}
+ */
+@SmallTest
+public class ItemListAdapterTest {
+
+    private ItemListAdapter<String> adapter;
+
+    @Before
+    public void setUp() throws Exception {
+
+        // items are "id:text"
+        adapter = new ItemListAdapter<String>(mock(Context.class)) {
+            @Override
+            protected long getStableId(String item) {
+                return Long.parseLong(item.substring(0, item.indexOf(':')));
+            }
+
+            @Override
+            protected CharSequence getItemText(String item) {
+                return item.substring(item.indexOf(':') + 1);
+            }
+        };
+    }
+
+    @Test
+    public void diffFindsAppendedItems() throws Exception {
+        assertDiff(2, 0, 2, adapter.diff(Arrays.asList("1:a", "2:b"), Arrays.asList("1:a", "2:b", "3:c", "4:d")));
+    }
+
+    @Test
+    public void diffFindsReplacedRangeBetweenUnchangedItems() throws Exception {
+        assertDiff(1, 2, 3, adapter.diff(Arrays.asList("1:a", "2:b", "3:c", "4:d"),
+                Arrays.asList("1:a", "5:e", "6:f", "7:g", "4:d")));
+    }
+
+    @Test
+    public void diffFindsChangedText() throws Exception {
+        assertDiff(1, 1, 1, adapter.diff(Arrays.asList("1:a", "2:b", "3:c"), Arrays.asList("1:a", "2:x", "3:c")));
+    }
+
+    @Test
+    public void diffFindsRemovedItems() throws Exception {
+        assertDiff(1, 2, 0, adapter.diff(Arrays.asList("1:a", "2:b", "3:c", "4:d"), Arrays.asList("1:a", "4:d")));
+    }
+
+    @Test
+    public void diffFindsNoChange() throws Exception {
+        assertDiff(2, 0, 0, adapter.diff(Arrays.asList("1:a", "2:b"), Arrays.asList("1:a", "2:b")));
+    }
+
+    private static void assertDiff(int start, int oldCount, int newCount, ItemListAdapter.Diff diff) {
+        assertEquals(start, diff.start);
+        assertEquals(oldCount, diff.oldCount);
+        assertEquals(newCount, diff.newCount);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import com.desk.android.sdk.helper.GsonHelper;
+import com.desk.java.apiclient.model.Article;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link ArticleBodyCache}
+ */
+@SmallTest
+public class ArticleBodyCacheTest {
+
+    private static final int BRAND_ID = 1;
+    private static final int OTHER_BRAND_ID = 2;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+    private Executor executor;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = folder.newFolder();
+        executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+    }
+
+    @Test
+    public void readReturnsWrittenArticle() throws Exception {
+        ArticleBodyCache cache = new ArticleBodyCache(directory, ArticleBodyCache.DEFAULT_MAX_SIZE, executor);
+        cache.write(BRAND_ID, createArticle(1, "<p>Body</p>"));
+        Article article = cache.read(BRAND_ID, 1);
+        assertNotNull(article);
+        assertEquals("<p>Body</p>", article.getBody());
+    }
+
+    @Test
+    public void readReturnsNullWhenNotCached() throws Exception {
+        ArticleBodyCache cache = new ArticleBodyCache(directory, ArticleBodyCache.DEFAULT_MAX_SIZE, executor);
+        assertNull(cache.read(BRAND_ID, 1));
+    }
+
+    @Test
+    public void brandsArePartitioned() throws Exception {
+        ArticleBodyCache cache = new ArticleBodyCache(directory, ArticleBodyCache.DEFAULT_MAX_SIZE, executor);
+        cache.write(BRAND_ID, createArticle(1, "<p>Body</p>"));
+        assertNull(cache.read(OTHER_BRAND_ID, 1));
+    }
+
+    @Test
+    public void writeReplacesPreviousVersion() throws Exception {
+        ArticleBodyCache cache = new ArticleBodyCache(directory, ArticleBodyCache.DEFAULT_MAX_SIZE, executor);
+        cache.write(BRAND_ID, createArticle(1, "<p>Old</p>"));
+        cache.write(BRAND_ID, createArticle(1, "<p>New</p>"));
+        assertEquals("<p>New</p>", cache.read(BRAND_ID, 1).getBody());
+    }
+
+    @Test
+    public void readDeletesCorruptEntry() throws Exception {
+        ArticleBodyCache cache = new ArticleBodyCache(directory, ArticleBodyCache.DEFAULT_MAX_SIZE, executor);
+        cache.write(BRAND_ID, createArticle(1, "<p>Body</p>"));
+        File file = new File(new File(directory, String.valueOf(BRAND_ID)), "1.json");
+        FileOutputStream out = new FileOutputStream(file);
+        out.write("{not json".getBytes("UTF-8"));
+        out.close();
+        assertNull(cache.read(BRAND_ID, 1));
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void trimToSizeEvictsLeastRecentlyViewedAcrossBrands() throws Exception {
+        String body = "<p>" + new String(new char[1000]).replace('\0', 'a') + "</p>";
+        ArticleBodyCache cache = new ArticleBodyCache(directory, 2500, executor);
+        cache.write(BRAND_ID, createArticle(1, body));
+        cache.write(OTHER_BRAND_ID, createArticle(2, body));
+        cache.write(BRAND_ID, createArticle(3, body));
+        setLastModified(BRAND_ID, 1, 1000);
+        setLastModified(OTHER_BRAND_ID, 2, 3000);
+        setLastModified(BRAND_ID, 3, 2000);
+
+        cache.trimToSize();
+
+        assertNull(cache.read(BRAND_ID, 1));
+        assertNotNull(cache.read(OTHER_BRAND_ID, 2));
+        assertNotNull(cache.read(BRAND_ID, 3));
+    }
+
+    private void setLastModified(int brandId, int articleId, long time) {
+        File file = new File(new File(directory, String.valueOf(brandId)), articleId + ".json");
+        assertTrue(file.setLastModified(time));
+    }
+
+    private Article createArticle(int id, String body) {
+        String json = "{\"id\":" + id + ",\"subject\":\"Subject " + id + "\",\"body\":\"" + body + "\"}";
+        return GsonHelper.getGson().fromJson(json, Article.class);
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import com.desk.android.sdk.helper.GsonHelper;
+import com.desk.java.apiclient.model.Article;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.desk.android.sdk.provider.ArticleProvider.ALL_BRANDS;
+import static com.desk.android.sdk.provider.ArticleProvider.ALL_TOPICS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link ArticleIndex}
+ */
+@SmallTest
+public class ArticleIndexTest {
+
+    private ArticleIndex articleIndex;
+    private Article portal;
+    private Article password;
+    private Article email;
+
+    @Before
+    public void setUp() throws Exception {
+        articleIndex = new ArticleIndex(ArticleIndex.DEFAULT_MAX_ARTICLES, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        });
+        portal = createArticle(1, "Customizing your Portal", "<p>Make the portal look like your website.</p>");
+        password = createArticle(2, "Resetting your password", "<p>Open the portal and choose &quot;Forgot password&quot;.</p>");
+        email = createArticle(3, "Email settings", "<p>Change where we send your email.</p>");
+    }
+
+    @Test
+    public void tokenizeStripsHtmlAndLowerCases() throws Exception {
+        assertEquals(Arrays.asList("open", "the", "portal", "now"),
+                Arrays.asList(ArticleIndex.tokenize("<p>Open <b>the</b> Portal&nbsp;now</p>").toArray()));
+    }
+
+    @Test
+    public void searchMatchesBody() throws Exception {
+        articleIndex.add(Arrays.asList(portal, email), ALL_TOPICS, ALL_BRANDS);
+        assertEquals(ids(Collections.singletonList(email)), ids(articleIndex.search("send", ALL_TOPICS, ALL_BRANDS, 25)));
+    }
+
+    @Test
+    public void searchMatchesLastWordAsPrefix() throws Exception {
+        articleIndex.add(Arrays.asList(portal, password, email), ALL_TOPICS, ALL_BRANDS);
+        assertEquals(ids(Collections.singletonList(password)), ids(articleIndex.search("reset pass", ALL_TOPICS, ALL_BRANDS, 25)));
+    }
+
+    @Test
+    public void searchRequiresEveryWord() throws Exception {
+        articleIndex.add(Arrays.asList(portal, password, email), ALL_TOPICS, ALL_BRANDS);
+        assertTrue(articleIndex.search("pass email", ALL_TOPICS, ALL_BRANDS, 25).isEmpty());
+    }
+
+    @Test
+    public void searchRanksSubjectMatchesFirst() throws Exception {
+        articleIndex.add(Arrays.asList(password, portal), ALL_TOPICS, ALL_BRANDS);
+        assertEquals(ids(Arrays.asList(portal, password)), ids(articleIndex.search("portal", ALL_TOPICS, ALL_BRANDS, 25)));
+    }
+
+    @Test
+    public void searchFiltersByTopicAndBrand() throws Exception {
+        articleIndex.add(Collections.singletonList(portal), 10, 1);
+        articleIndex.add(Collections.singletonList(password), 20, 1);
+        assertEquals(ids(Collections.singletonList(portal)), ids(articleIndex.search("portal", 10, ALL_BRANDS, 25)));
+        assertEquals(ids(Arrays.asList(portal, password)), ids(articleIndex.search("portal", ALL_TOPICS, 1, 25)));
+        assertTrue(articleIndex.search("portal", ALL_TOPICS, 2, 25).isEmpty());
+    }
+
+    @Test
+    public void addRemembersEveryTopic() throws Exception {
+        articleIndex.add(Collections.singletonList(portal), 10, ALL_BRANDS);
+        articleIndex.add(Collections.singletonList(portal), 20, ALL_BRANDS);
+        assertEquals(1, articleIndex.size());
+        assertEquals(ids(Collections.singletonList(portal)), ids(articleIndex.search("portal", 10, ALL_BRANDS, 25)));
+        assertEquals(ids(Collections.singletonList(portal)), ids(articleIndex.search("portal", 20, ALL_BRANDS, 25)));
+    }
+
+    @Test
+    public void addReplacesChangedArticle() throws Exception {
+        articleIndex.add(Collections.singletonList(portal), ALL_TOPICS, ALL_BRANDS);
+        Article updated = createArticle(1, "Customizing your Help Center", "<p>Theme it.</p>");
+        articleIndex.add(Collections.singletonList(updated), ALL_TOPICS, ALL_BRANDS);
+        assertTrue(articleIndex.search("portal", ALL_TOPICS, ALL_BRANDS, 25).isEmpty());
+        assertEquals(ids(Collections.singletonList(updated)), ids(articleIndex.search("help", ALL_TOPICS, ALL_BRANDS, 25)));
+    }
+
+    @Test
+    public void searchLimitsResults() throws Exception {
+        articleIndex.add(Arrays.asList(portal, password), ALL_TOPICS, ALL_BRANDS);
+        List<Article> results = articleIndex.search("portal", ALL_TOPICS, ALL_BRANDS, 1);
+        assertEquals(ids(Collections.singletonList(portal)), ids(results));
+    }
+
+    @Test
+    public void searchDoesNotMatchArticlesOfUnknownTopicOrBrand() throws Exception {
+        articleIndex.add(Collections.singletonList(portal), ALL_TOPICS, ALL_BRANDS);
+        assertTrue(articleIndex.search("portal", 10, ALL_BRANDS, 25).isEmpty());
+        assertTrue(articleIndex.search("portal", ALL_TOPICS, 1, 25).isEmpty());
+        assertEquals(ids(Collections.singletonList(portal)), ids(articleIndex.search("portal", ALL_TOPICS, ALL_BRANDS, 25)));
+    }
+
+    @Test
+    public void searchFiltersByLinkedTopic() throws Exception {
+        Article linked = createArticle(4, "Portal themes", "<p>Pick a theme.</p>", "/api/v2/topics/10");
+        articleIndex.add(Collections.singletonList(linked), ALL_TOPICS, ALL_BRANDS);
+        assertEquals(ids(Collections.singletonList(linked)), ids(articleIndex.search("portal", 10, ALL_BRANDS, 25)));
+        assertTrue(articleIndex.search("portal", 20, ALL_BRANDS, 25).isEmpty());
+    }
+
+    @Test
+    public void searchFiltersByBrandOfLinkedTopic() throws Exception {
+        Article linked = createArticle(4, "Portal themes", "<p>Pick a theme.</p>", "/api/v2/topics/10");
+        Article sameTopic = createArticle(5, "Portal colors", "<p>Pick a color.</p>", "/api/v2/topics/10");
+        articleIndex.add(Collections.singletonList(linked), ALL_TOPICS, ALL_BRANDS);
+        articleIndex.add(Collections.singletonList(sameTopic), 10, 1);
+        assertEquals(ids(Arrays.asList(linked, sameTopic)), ids(articleIndex.search("portal", ALL_TOPICS, 1, 25)));
+        assertTrue(articleIndex.search("portal", ALL_TOPICS, 2, 25).isEmpty());
+    }
+
+    @Test
+    public void searchReturnsArticlesWithoutBodies() throws Exception {
+        articleIndex.add(Collections.singletonList(portal), ALL_TOPICS, ALL_BRANDS);
+        Article result = articleIndex.search("website", ALL_TOPICS, ALL_BRANDS, 25).get(0);
+        assertEquals(portal.getId(), result.getId());
+        assertEquals(portal.getSubject(), result.getSubject());
+        assertNull(result.getBody());
+    }
+
+    @Test
+    public void addDropsLeastRecentlyUsedArticlesOverMax() throws Exception {
+        articleIndex = new ArticleIndex(2, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        });
+        articleIndex.add(Arrays.asList(portal, password), ALL_TOPICS, ALL_BRANDS);
+        articleIndex.search("customizing", ALL_TOPICS, ALL_BRANDS, 25);
+        articleIndex.add(Collections.singletonList(email), ALL_TOPICS, ALL_BRANDS);
+        assertEquals(2, articleIndex.size());
+        assertEquals(ids(Collections.singletonList(portal)), ids(articleIndex.search("portal", ALL_TOPICS, ALL_BRANDS, 25)));
+        assertTrue(articleIndex.search("password", ALL_TOPICS, ALL_BRANDS, 25).isEmpty());
+        assertEquals(ids(Collections.singletonList(email)), ids(articleIndex.search("email", ALL_TOPICS, ALL_BRANDS, 25)));
+    }
+
+    private static List<Integer> ids(List<Article> articles) {
+        List<Integer> ids = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            ids.add(article.getId());
+        }
+        return ids;
+    }
+
+    private static Article createArticle(int id, String subject, String body) {
+        return createArticle(id, subject, body, null);
+    }
+
+    private static Article createArticle(int id, String subject, String body, String topicHref) {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", id);
+        json.addProperty("subject", subject);
+        json.addProperty("body", body);
+        if (topicHref != null) {
+            JsonObject topic = new JsonObject();
+            topic.addProperty("href", topicHref);
+            topic.addProperty("class", "topic");
+            JsonObject links = new JsonObject();
+            links.add("topic", topic);
+            json.add("_links", links);
+        }
+        return GsonHelper.getGson().fromJson(json, Article.class);
+    }
+}
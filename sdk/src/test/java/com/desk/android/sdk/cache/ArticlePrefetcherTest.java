@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import com.desk.android.sdk.helper.GsonHelper;
+import com.desk.java.apiclient.model.Article;
+import com.google.gson.JsonObject;
+import com.squareup.okhttp.HttpUrl;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.desk.android.sdk.cache.ArticlePrefetcher.MAX_IMAGES_PER_ARTICLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link ArticlePrefetcher}
+ */
+@SmallTest
+public class ArticlePrefetcherTest {
+
+    private static final String PUBLIC_URL = "https://support.example.com/customer/portal/articles/1-resetting";
+
+    @Test
+    public void getUrlsIsEmptyWithoutBody() throws Exception {
+
+        // the article itself is loaded instead, the web view fetches the public url on its own
+        assertTrue(ArticlePrefetcher.getUrls(createArticle(null)).isEmpty());
+    }
+
+    @Test
+    public void getUrlsReturnsImagesOfBody() throws Exception {
+        List<HttpUrl> urls = ArticlePrefetcher.getUrls(createArticle(
+                "<p>Step one</p><IMG alt=\"one\" SRC=\"https://cdn.example.com/one.png\"><img src='/images/two.png'/>"));
+        assertEquals(Arrays.asList(HttpUrl.parse("https://cdn.example.com/one.png"),
+                HttpUrl.parse("https://support.example.com/images/two.png")), urls);
+    }
+
+    @Test
+    public void getUrlsSkipsDuplicateImages() throws Exception {
+        List<HttpUrl> urls = ArticlePrefetcher.getUrls(createArticle(
+                "<img src=\"/a.png\"><img src=\"/a.png\">"));
+        assertEquals(1, urls.size());
+    }
+
+    @Test
+    public void getUrlsLimitsImagesPerArticle() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < MAX_IMAGES_PER_ARTICLE + 2; i++) {
+            body.append("<img src=\"/").append(i).append(".png\">");
+        }
+        assertEquals(MAX_IMAGES_PER_ARTICLE, ArticlePrefetcher.getUrls(createArticle(body.toString())).size());
+    }
+
+    @Test
+    public void getUrlsIsEmptyForBodyWithoutImages() throws Exception {
+        assertTrue(ArticlePrefetcher.getUrls(createArticle("<p>Text only</p>")).isEmpty());
+    }
+
+    private Article createArticle(String body) {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", 1);
+        json.addProperty("public_url", PUBLIC_URL);
+        if (body != null) {
+            json.addProperty("body", body);
+        }
+        return GsonHelper.getGson().fromJson(json, Article.class);
+    }
+}
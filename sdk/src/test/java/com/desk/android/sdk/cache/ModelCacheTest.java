@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import com.desk.java.apiclient.model.Topic;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ModelCache}
+ */
+@SmallTest
+public class ModelCacheTest {
+
+    private ModelCache<Topic> modelCache;
+
+    @Before
+    public void setUp() throws Exception {
+        modelCache = new ModelCache<Topic>(2) {
+            @Override
+            protected int getId(Topic model) {
+                return model.getId();
+            }
+        };
+    }
+
+    @Test
+    public void getReturnsSameInstanceThatWasPut() throws Exception {
+        Topic topic = createTopic(1);
+        modelCache.put(topic);
+        assertSame(topic, modelCache.get(1));
+    }
+
+    @Test
+    public void getReturnsNullWhenNotCached() throws Exception {
+        assertNull(modelCache.get(1));
+    }
+
+    @Test
+    public void getAllReturnsModelsInOrderOfIds() throws Exception {
+        Topic first = createTopic(1);
+        Topic second = createTopic(2);
+        modelCache.putAll(Arrays.asList(first, second));
+        assertEquals(Arrays.asList(second, first), modelCache.getAll(new int[] { 2, 1 }));
+    }
+
+    @Test
+    public void getAllReturnsNullWhenAnyModelIsMissing() throws Exception {
+        modelCache.put(createTopic(1));
+        assertNull(modelCache.getAll(new int[] { 1, 2 }));
+    }
+
+    @Test
+    public void putEvictsLeastRecentlyUsedModel() throws Exception {
+        modelCache.put(createTopic(1));
+        modelCache.put(createTopic(2));
+        modelCache.get(1);
+        modelCache.put(createTopic(3));
+        assertNull(modelCache.get(2));
+        assertEquals(1, modelCache.get(1).getId());
+        assertEquals(3, modelCache.get(3).getId());
+    }
+
+    @Test
+    public void putEvictsUntilSizeFits() throws Exception {
+        modelCache = new ModelCache<Topic>(10) {
+            @Override
+            protected int getId(Topic model) {
+                return model.getId();
+            }
+
+            @Override
+            protected int sizeOf(Topic model) {
+                return model.getId();
+            }
+        };
+        modelCache.put(createTopic(3));
+        modelCache.put(createTopic(4));
+        modelCache.put(createTopic(2));
+        assertEquals(3, modelCache.get(3).getId());
+        modelCache.put(createTopic(5));
+        assertNull(modelCache.get(4));
+        assertEquals(2, modelCache.get(2).getId());
+        assertEquals(3, modelCache.get(3).getId());
+        assertEquals(5, modelCache.get(5).getId());
+    }
+
+    @Test
+    public void putDoesNotKeepModelLargerThanMaxSize() throws Exception {
+        modelCache = new ModelCache<Topic>(10) {
+            @Override
+            protected int getId(Topic model) {
+                return model.getId();
+            }
+
+            @Override
+            protected int sizeOf(Topic model) {
+                return model.getId();
+            }
+        };
+        modelCache.put(createTopic(11));
+        assertNull(modelCache.get(11));
+    }
+
+    private Topic createTopic(int id) {
+        Topic topic = mock(Topic.class);
+        when(topic.getId()).thenReturn(id);
+        return topic;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import com.desk.android.sdk.cache.KnowledgeBaseStore.LoadCallback;
+import com.desk.android.sdk.cache.KnowledgeBaseStore.Page;
+import com.desk.android.sdk.cache.KnowledgeBaseStore.StoredPage;
+import com.desk.java.apiclient.model.Article;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link SearchCache}
+ */
+@SmallTest
+public class SearchCacheTest {
+
+    private static final long TTL = 1000;
+
+    private SearchCache searchCache;
+
+    @Before
+    public void setUp() throws Exception {
+        searchCache = new SearchCache(20, TTL);
+    }
+
+    @Test
+    public void buildKeyNormalizesQuery() throws Exception {
+        assertEquals(SearchCache.buildKey("reset password", 1, 2, "en", 1),
+                SearchCache.buildKey("  Reset   PASSWORD ", 1, 2, "en", 1));
+    }
+
+    @Test
+    public void buildKeyIncludesEveryParameter() throws Exception {
+        String key = SearchCache.buildKey("query", 1, 2, "en", 1);
+        assertNotEquals(key, SearchCache.buildKey("query", 3, 2, "en", 1));
+        assertNotEquals(key, SearchCache.buildKey("query", 1, 3, "en", 1));
+        assertNotEquals(key, SearchCache.buildKey("query", 1, 2, "de", 1));
+        assertNotEquals(key, SearchCache.buildKey("query", 1, 2, "en", 2));
+    }
+
+    @Test
+    public void getReturnsPutPage() throws Exception {
+        Page<Article> page = createPage(5);
+        searchCache.put("key", page);
+        assertSame(page, searchCache.get("key"));
+    }
+
+    @Test
+    public void getReturnsNullForMissingKey() throws Exception {
+        assertNull(searchCache.get("key"));
+    }
+
+    @Test
+    public void getReturnsNullAfterTtl() throws Exception {
+        searchCache.putInMemory("key", createPage(5), 0);
+        assertNotNull(searchCache.get("key", TTL));
+        assertNull(searchCache.get("key", TTL + 1));
+        assertEquals(0, searchCache.size());
+    }
+
+    @Test
+    public void putEvictsLeastRecentlyUsedPagesOverBudget() throws Exception {
+        searchCache.putInMemory("first", createPage(10), 0);
+        searchCache.putInMemory("second", createPage(10), 0);
+        searchCache.get("first", 0);
+        searchCache.putInMemory("third", createPage(10), 0);
+        assertNotNull(searchCache.get("first", 0));
+        assertNull(searchCache.get("second", 0));
+        assertNotNull(searchCache.get("third", 0));
+    }
+
+    @Test
+    public void putKeepsPageOverBudget() throws Exception {
+        searchCache.putInMemory("key", createPage(30), 0);
+        assertNotNull(searchCache.get("key", 0));
+    }
+
+    @Test
+    public void putReplacesPageWithSameKey() throws Exception {
+        searchCache.putInMemory("key", createPage(10), 0);
+        Page<Article> page = createPage(15);
+        searchCache.putInMemory("key", page, 0);
+        searchCache.putInMemory("other", createPage(5), 0);
+        assertSame(page, searchCache.get("key", 0));
+        assertEquals(2, searchCache.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void loadKeepsTimeThePageWasStored() throws Exception {
+        KnowledgeBaseStore diskTier = mock(KnowledgeBaseStore.class);
+        final StoredPage<Article> stored = new StoredPage<>(1, Collections.<Article>nCopies(5, null), false, 5);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                ((LoadCallback<StoredPage<Article>>) invocation.getArguments()[2]).onLoaded(stored);
+                return null;
+            }
+        }).when(diskTier).loadSearchPage(eq("key"), anyLong(), any(LoadCallback.class));
+        searchCache = new SearchCache(20, TTL, diskTier);
+        LoadCallback<Page<Article>> callback = mock(LoadCallback.class);
+        searchCache.load("key", callback);
+        verify(callback).onLoaded(stored);
+        assertSame(stored, searchCache.get("key", 5 + TTL));
+        assertNull(searchCache.get("key", 5 + TTL + 1));
+    }
+
+    private static Page<Article> createPage(int size) {
+        return new Page<>(1, Collections.<Article>nCopies(size, null), false);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import com.desk.java.apiclient.model.Article;
+import com.desk.java.apiclient.model.Topic;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.desk.android.sdk.cache.SuggestionTrie.MAX_KEY_LENGTH;
+import static com.desk.android.sdk.cache.SuggestionTrie.MAX_SUGGESTIONS;
+import static com.desk.android.sdk.cache.SuggestionTrie.WEIGHT_ARTICLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link SuggestionTrie}
+ */
+@SmallTest
+public class SuggestionTrieTest {
+
+    private static final int MAX_NODES = 200;
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private SuggestionTrie suggestionTrie;
+
+    @Before
+    public void setUp() throws Exception {
+        suggestionTrie = new SuggestionTrie(DIRECT_EXECUTOR);
+    }
+
+    @Test
+    public void suggestMatchesStartOfSubject() throws Exception {
+        suggestionTrie.addArticles(Collections.singletonList(createArticle("Resetting your password")));
+        assertEquals(Collections.singletonList("Resetting your password"), suggestionTrie.suggest("Reset"));
+    }
+
+    @Test
+    public void suggestMatchesStartOfAnyWord() throws Exception {
+        suggestionTrie.addArticles(Collections.singletonList(createArticle("Resetting your password")));
+        assertEquals(Collections.singletonList("Resetting your password"), suggestionTrie.suggest("PASS"));
+    }
+
+    @Test
+    public void suggestDoesNotMatchMiddleOfWord() throws Exception {
+        suggestionTrie.addArticles(Collections.singletonList(createArticle("Resetting your password")));
+        assertTrue(suggestionTrie.suggest("word").isEmpty());
+    }
+
+    @Test
+    public void suggestReturnsNothingForEmptyPrefix() throws Exception {
+        suggestionTrie.addArticles(Collections.singletonList(createArticle("Resetting your password")));
+        assertTrue(suggestionTrie.suggest(" ").isEmpty());
+        assertTrue(suggestionTrie.suggest(null).isEmpty());
+    }
+
+    @Test
+    public void suggestRanksQueriesThenTopicsThenArticles() throws Exception {
+        suggestionTrie.addArticles(Collections.singletonList(createArticle("Email settings")));
+        suggestionTrie.addTopics(Collections.singletonList(createTopic("Email")));
+        suggestionTrie.addQuery("email notifications");
+        assertEquals(Arrays.asList("email notifications", "Email", "Email settings"), suggestionTrie.suggest("em"));
+    }
+
+    @Test
+    public void suggestRanksLaterQueriesFirst() throws Exception {
+        suggestionTrie.addQuery("billing");
+        suggestionTrie.addQuery("billing address");
+        assertEquals(Arrays.asList("billing address", "billing"), suggestionTrie.suggest("bill"));
+    }
+
+    @Test
+    public void suggestDoesNotRepeatSuggestions() throws Exception {
+        suggestionTrie.addQuery("billing");
+        suggestionTrie.addQuery("Billing");
+        suggestionTrie.addArticles(Collections.singletonList(createArticle("Billing")));
+        assertEquals(1, suggestionTrie.suggest("bill").size());
+    }
+
+    @Test
+    public void suggestReturnsAtMostMaxSuggestions() throws Exception {
+        for (int i = 0; i < MAX_SUGGESTIONS * 2; i++) {
+            suggestionTrie.add("Article " + i, WEIGHT_ARTICLE, true);
+        }
+        assertEquals(MAX_SUGGESTIONS, suggestionTrie.suggest("art").size());
+    }
+
+    @Test
+    public void addingSameSubjectAgainAddsNoNodes() throws Exception {
+        suggestionTrie.addArticles(Collections.singletonList(createArticle("Resetting your password")));
+        int nodeCount = suggestionTrie.getNodeCount();
+        suggestionTrie.addArticles(Collections.singletonList(createArticle("Resetting your password")));
+        assertEquals(nodeCount, suggestionTrie.getNodeCount());
+    }
+
+    @Test
+    public void addOnlyKeepsStartOfLongWords() throws Exception {
+        String subject = "Supercalifragilisticexpialidocious";
+        suggestionTrie.add(subject, WEIGHT_ARTICLE, true);
+        assertEquals(MAX_KEY_LENGTH, suggestionTrie.getNodeCount());
+        assertEquals(Collections.singletonList(subject), suggestionTrie.suggest(subject));
+        assertTrue(suggestionTrie.suggest(subject + "ly").isEmpty());
+    }
+
+    @Test
+    public void addNeverExceedsMaxNodes() throws Exception {
+        suggestionTrie = new SuggestionTrie(DIRECT_EXECUTOR, MAX_NODES);
+        for (int i = 0; i < MAX_NODES; i++) {
+            suggestionTrie.add("Article number " + i, WEIGHT_ARTICLE, true);
+            assertTrue(suggestionTrie.getNodeCount() <= MAX_NODES);
+        }
+    }
+
+    @Test
+    public void addKeepsBestAndMostRecentSuggestionsWhenFull() throws Exception {
+        suggestionTrie = new SuggestionTrie(DIRECT_EXECUTOR, MAX_NODES);
+        suggestionTrie.addQuery("zebra");
+        for (int i = 0; i < MAX_NODES; i++) {
+            suggestionTrie.add("Article number " + i, WEIGHT_ARTICLE, true);
+        }
+        assertEquals(Collections.singletonList("zebra"), suggestionTrie.suggest("zeb"));
+        assertEquals(Collections.singletonList("Article number " + (MAX_NODES - 1)),
+                suggestionTrie.suggest("article number " + (MAX_NODES - 1)));
+        assertTrue(suggestionTrie.suggest("article number 0").isEmpty());
+        assertFalse(suggestionTrie.suggest("num").isEmpty());
+    }
+
+    private static Article createArticle(String subject) {
+        Article article = mock(Article.class);
+        when(article.getSubject()).thenReturn(subject);
+        return article;
+    }
+
+    private static Topic createTopic(String name) {
+        Topic topic = mock(Topic.class);
+        when(topic.getName()).thenReturn(name);
+        return topic;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.cache;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import com.squareup.okhttp.Headers;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link WebAssetCache}
+ */
+@SmallTest
+public class WebAssetCacheTest {
+
+    @Test
+    public void stylesheetsScriptsFontsAndImagesAreStaticAssets() throws Exception {
+        assertTrue(WebAssetCache.isStaticAsset("https://support.example.com/assets/portal-3f2a.css"));
+        assertTrue(WebAssetCache.isStaticAsset("https://cdn.example.com/js/portal.min.js?v=12"));
+        assertTrue(WebAssetCache.isStaticAsset("https://cdn.example.com/fonts/icons.WOFF2"));
+        assertTrue(WebAssetCache.isStaticAsset("http://support.example.com/images/logo.png#top"));
+    }
+
+    @Test
+    public void pagesAreNotStaticAssets() throws Exception {
+        assertFalse(WebAssetCache.isStaticAsset("https://support.example.com/customer/portal/articles/1-resetting"));
+        assertFalse(WebAssetCache.isStaticAsset("https://support.example.com/"));
+        assertFalse(WebAssetCache.isStaticAsset("https://support.example.com/customer/portal/emails/new.json"));
+    }
+
+    @Test
+    public void nonHttpUrlsAreNotStaticAssets() throws Exception {
+        assertFalse(WebAssetCache.isStaticAsset("file:///android_asset/style.css"));
+        assertFalse(WebAssetCache.isStaticAsset("data:text/css;base64,Ym9keXt9"));
+        assertFalse(WebAssetCache.isStaticAsset(null));
+    }
+
+    @Test
+    public void onlyUrlsOfTheSiteAreSiteUrls() throws Exception {
+        assertTrue(WebAssetCache.isSiteUrl("https://support.example.com/assets/portal.css", "support.example.com"));
+        assertTrue(WebAssetCache.isSiteUrl("http://Support.Example.com/images/logo.png", "support.example.com"));
+        assertFalse(WebAssetCache.isSiteUrl("https://cdn.example.com/assets/portal.css", "support.example.com"));
+        assertFalse(WebAssetCache.isSiteUrl("https://support.example.com.evil.com/portal.css", "support.example.com"));
+        assertFalse(WebAssetCache.isSiteUrl("https://support.example.com/assets/portal.css", null));
+    }
+
+    @Test
+    public void headerMapKeepsEveryHeader() throws Exception {
+        Map<String, String> headers = WebAssetCache.toHeaderMap(new Headers.Builder()
+                .add("Content-Type", "text/css")
+                .add("Access-Control-Allow-Origin", "*")
+                .add("Cache-Control", "public")
+                .add("Cache-Control", "max-age=600")
+                .build());
+        assertEquals(3, headers.size());
+        assertEquals("text/css", headers.get("Content-Type"));
+        assertEquals("*", headers.get("Access-Control-Allow-Origin"));
+        assertEquals("public, max-age=600", headers.get("Cache-Control"));
+    }
+}
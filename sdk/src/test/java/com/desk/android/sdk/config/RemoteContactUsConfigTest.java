@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.config;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for parsing the remote config of {@link RemoteContactUsConfig}
+ */
+@SmallTest
+public class RemoteContactUsConfigTest {
+
+    private static final String JSON = "{"
+            + "\"contact_us_enabled\": true,"
+            + "\"subject\": \"App Feedback\","
+            + "\"call_us_phone_number\": \"(555) 555-5555\","
+            + "\"custom_fields\": {\"key_1\": \"value_1\", \"key_2\": \"value_2\"},"
+            + "\"brands\": {\"1\": {\"subject\": \"Brand 1 Feedback\", \"web_form_enabled\": false}}"
+            + "}";
+
+    @Test
+    public void parseReadsValues() throws Exception {
+        RemoteContactUsConfig.RemoteSettings settings = RemoteContactUsConfig.parse(JSON);
+        assertNotNull(settings);
+        assertTrue(settings.contactUsEnabled);
+        assertEquals("App Feedback", settings.subject);
+        assertEquals("(555) 555-5555", settings.callUsPhoneNumber);
+    }
+
+    @Test
+    public void parseLeavesMissingValuesUnset() throws Exception {
+        RemoteContactUsConfig.RemoteSettings settings = RemoteContactUsConfig.parse(JSON);
+        assertNull(settings.subjectEnabled);
+        assertNull(settings.emailAddress);
+        assertNull(settings.webFormEnabled);
+    }
+
+    @Test
+    public void parseResolvesCustomFields() throws Exception {
+        RemoteContactUsConfig.RemoteSettings settings = RemoteContactUsConfig.parse(JSON);
+        assertEquals(2, settings.customFieldKeys.size());
+        assertEquals("key_1", settings.customFieldKeys.get(0));
+        assertEquals("key_2", settings.customFieldKeys.get(1));
+        assertEquals("value_2", settings.customFieldProperties.get("key_2").getValue());
+    }
+
+    @Test
+    public void parseReadsBrands() throws Exception {
+        RemoteContactUsConfig.RemoteSettings brand = RemoteContactUsConfig.parse(JSON).brands.get("1");
+        assertEquals("Brand 1 Feedback", brand.subject);
+        assertFalse(brand.webFormEnabled);
+        assertNull(brand.contactUsEnabled);
+        assertNull(brand.customFieldKeys);
+    }
+
+    @Test
+    public void parseReturnsNullForInvalidJson() throws Exception {
+        assertNull(RemoteContactUsConfig.parse(null));
+        assertNull(RemoteContactUsConfig.parse("{\"subject\": "));
+        assertNull(RemoteContactUsConfig.parse("[1, 2]"));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.helper;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link ArticleHtmlHelper}
+ */
+@SmallTest
+public class ArticleHtmlHelperTest {
+
+    private static final String TEMPLATE_PATH = "src/main/res/raw/dk_article_template.html";
+
+    @Test
+    public void requiresWebViewForMissingBody() throws Exception {
+        assertTrue(ArticleHtmlHelper.requiresWebView(null));
+        assertTrue(ArticleHtmlHelper.requiresWebView("  "));
+    }
+
+    @Test
+    public void doesNotRequireWebViewForSimpleBody() throws Exception {
+        String html = "<p>Go to <a href=\"/settings\">settings</a></p><ul><li><b>Step</b></li></ul><img src=\"a.png\"/>";
+        assertFalse(ArticleHtmlHelper.requiresWebView(html));
+    }
+
+    @Test
+    public void requiresWebViewForRichContent() throws Exception {
+        assertTrue(ArticleHtmlHelper.requiresWebView("<p>Watch</p><IFRAME src=\"https://example.com\"></IFRAME>"));
+        assertTrue(ArticleHtmlHelper.requiresWebView("<table><tr><td>1</td></tr></table>"));
+        assertTrue(ArticleHtmlHelper.requiresWebView("< video src=\"a.mp4\">"));
+    }
+
+    @Test
+    public void doesNotMatchTagPrefixes() throws Exception {
+        assertFalse(ArticleHtmlHelper.requiresWebView("<p><tablet>text</tablet></p>"));
+    }
+
+    @Test
+    public void applyTemplateFillsSubjectAndBody() throws Exception {
+        String html = ArticleHtmlHelper.applyTemplate("<h1>{{subject}}</h1><div>{{body}}</div>",
+                "Tips & <tricks>", "<p>Body</p>");
+        assertEquals("<h1>Tips &amp; &lt;tricks&gt;</h1><div><p>Body</p></div>", html);
+    }
+
+    @Test
+    public void applyTemplateHandlesMissingContent() throws Exception {
+        assertEquals("<h1></h1><div></div>", ArticleHtmlHelper.applyTemplate("<h1>{{subject}}</h1><div>{{body}}</div>", null, null));
+    }
+
+    @Test
+    public void applyTemplateLeavesPlaceholdersInContent() throws Exception {
+        String html = ArticleHtmlHelper.applyTemplate("<h1>{{subject}}</h1><div>{{body}}</div>",
+                "Using {{body}}", "<p>Costs $1 \\ {{subject}}</p>");
+        assertEquals("<h1>Using {{body}}</h1><div><p>Costs $1 \\ {{subject}}</p></div>", html);
+    }
+
+    @Test
+    public void calculateInSampleSizeKeepsImageAtLeastDisplayWidth() throws Exception {
+        assertEquals(1, ArticleHtmlHelper.calculateInSampleSize(800, 600));
+        assertEquals(2, ArticleHtmlHelper.calculateInSampleSize(1200, 600));
+        assertEquals(4, ArticleHtmlHelper.calculateInSampleSize(2500, 600));
+    }
+
+    @Test
+    public void calculateInSampleSizeIsOneWithoutDisplayWidth() throws Exception {
+        assertEquals(1, ArticleHtmlHelper.calculateInSampleSize(2500, 0));
+    }
+
+    @Test
+    public void articleTemplateRendersBodyOutsideComments() throws Exception {
+        String html = ArticleHtmlHelper.applyTemplate(readTemplate(), "Subject", "<p>article-body</p>");
+        int commentStart;
+        while ((commentStart = html.indexOf("<!--")) != -1) {
+            int commentEnd = html.indexOf("-->", commentStart);
+            assertTrue("unclosed comment in template", commentEnd != -1);
+            html = html.substring(0, commentStart) + html.substring(commentEnd + 3);
+        }
+        assertTrue(html.contains("<html>"));
+        assertTrue(html.contains("<p>article-body</p>"));
+        assertTrue(html.contains("Subject"));
+    }
+
+    private static String readTemplate() throws IOException {
+        // unit tests run from the module directory, but allow running from the project root as well
+        File file = new File(TEMPLATE_PATH);
+        if (!file.exists()) {
+            file = new File("sdk", TEMPLATE_PATH);
+        }
+        assertTrue("template not found at " + file.getAbsolutePath(), file.exists());
+        Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+        try {
+            StringBuilder template = new StringBuilder();
+            char[] buffer = new char[1024];
+            int count;
+            while ((count = reader.read(buffer)) != -1) {
+                template.append(buffer, 0, count);
+            }
+            return template.toString();
+        } finally {
+            reader.close();
+        }
+    }
+}
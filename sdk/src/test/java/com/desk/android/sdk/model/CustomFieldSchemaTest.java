@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.model;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link CustomFieldSchema}
+ */
+@SmallTest
+public class CustomFieldSchemaTest {
+
+    @Test
+    public void fromNullReturnsNone() throws Exception {
+        assertSame(CustomFieldSchema.NONE, CustomFieldSchema.from(null));
+        assertNull(CustomFieldSchema.NONE.toCustomFields());
+        assertEquals(0, CustomFieldSchema.NONE.size());
+    }
+
+    @Test
+    public void fromEmptyReturnsEmptyCustomFields() throws Exception {
+        CustomFieldSchema schema = CustomFieldSchema.from(new HashMap<String, CustomFieldProperties>());
+        assertEquals(0, schema.size());
+        assertTrue(schema.toCustomFields().isEmpty());
+    }
+
+    @Test
+    public void toCustomFieldsReturnsDefaultValues() throws Exception {
+        HashMap<String, CustomFieldProperties> properties = new HashMap<>();
+        properties.put("key_1", new CustomFieldProperties.Builder("key_1").value("value_1").create());
+        properties.put("key_2", new CustomFieldProperties.Builder("key_2").create());
+        CustomFieldSchema schema = CustomFieldSchema.from(properties);
+        HashMap<String, String> customFields = schema.toCustomFields();
+        assertEquals(2, schema.size());
+        assertEquals(2, customFields.size());
+        assertEquals("value_1", customFields.get("key_1"));
+        assertTrue(customFields.containsKey("key_2"));
+        assertNull(customFields.get("key_2"));
+    }
+
+    @Test
+    public void toCustomFieldsReturnsNewMap() throws Exception {
+        HashMap<String, CustomFieldProperties> properties = new HashMap<>();
+        properties.put("key_1", new CustomFieldProperties.Builder("key_1").value("value_1").create());
+        CustomFieldSchema schema = CustomFieldSchema.from(properties);
+        HashMap<String, String> customFields = schema.toCustomFields();
+        customFields.put("key_1", "changed");
+        assertNotSame(customFields, schema.toCustomFields());
+        assertEquals("value_1", schema.toCustomFields().get("key_1"));
+    }
+}
@@ -29,6 +29,8 @@ package com.desk.android.sdk.provider;
 import android.test.suitebuilder.annotation.SmallTest;
 
 import com.desk.android.sdk.Desk;
+import com.desk.android.sdk.cache.KnowledgeBaseStore;
+import com.desk.android.sdk.cache.SearchCache;
 import com.desk.android.sdk.error.ErrorResponse;
 import com.desk.android.sdk.util.TestUtils;
 import com.desk.java.apiclient.model.ApiResponse;
@@ -39,8 +41,11 @@ import com.desk.java.apiclient.model.TopicIds;
 import com.desk.java.apiclient.service.ArticleService;
 import com.google.gson.reflect.TypeToken;
 
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.invocation.InvocationOnMock;
@@ -53,8 +58,15 @@ import retrofit.Response;
 import static com.desk.android.sdk.provider.ArticleProvider.ALL_BRANDS;
 import static com.desk.android.sdk.provider.ArticleProvider.ALL_TOPICS;
 import static com.desk.android.sdk.provider.ArticleProvider.ArticleCallbacks;
+import static com.desk.android.sdk.provider.ArticleProvider.COMPLETED;
+import static com.desk.android.sdk.provider.ArticleProvider.LEADING_BATCH_SIZE;
+import static com.desk.android.sdk.provider.ArticleProvider.LeadingBatchCallback;
 import static com.desk.android.sdk.provider.ArticleProvider.PER_PAGE;
 import static com.desk.android.sdk.provider.ArticleProvider.RetrofitCallback;
+import static com.desk.android.sdk.provider.ArticleProvider.SearchCacheCallback;
+import static com.desk.android.sdk.provider.ArticleProvider.StoreCallback;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.anyInt;
@@ -65,6 +77,8 @@ import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.isNotNull;
 import static org.mockito.Mockito.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -268,7 +282,7 @@ public class ArticleProviderTest {
         doAnswer(new Answer() {
             @Override
             public Object answer(InvocationOnMock invocation) throws Throwable {
-                ((RetrofitCallback) invocation.getArguments()[0]).onResponse(Response.success(new ApiResponse<Article>()), null);
+                ((Callback<ApiResponse<Article>>) invocation.getArguments()[0]).onResponse(Response.success(new ApiResponse<Article>()), null);
                 return null;
             }
         }).when(mockCall).enqueue(any(Callback.class));
@@ -294,7 +308,7 @@ public class ArticleProviderTest {
         doAnswer(new Answer() {
             @Override
             public Object answer(InvocationOnMock invocation) throws Throwable {
-                ((RetrofitCallback) invocation.getArguments()[0]).onFailure(new RuntimeException());
+                ((Callback<ApiResponse<Article>>) invocation.getArguments()[0]).onFailure(new RuntimeException());
                 return null;
             }
         }).when(mockCall).enqueue(any(Callback.class));
@@ -492,7 +506,7 @@ public class ArticleProviderTest {
         doAnswer(new Answer() {
             @Override
             public Object answer(InvocationOnMock invocation) throws Throwable {
-                ((RetrofitCallback) invocation.getArguments()[0]).onResponse(Response.success(new ApiResponse<Article>()), null);
+                ((Callback<ApiResponse<Article>>) invocation.getArguments()[0]).onResponse(Response.success(new ApiResponse<Article>()), null);
                 return null;
             }
         }).when(mockCall).enqueue(any(Callback.class));
@@ -520,7 +534,7 @@ public class ArticleProviderTest {
         doAnswer(new Answer() {
             @Override
             public Object answer(InvocationOnMock invocation) throws Throwable {
-                ((RetrofitCallback) invocation.getArguments()[0]).onFailure(new RuntimeException());
+                ((Callback<ApiResponse<Article>>) invocation.getArguments()[0]).onFailure(new RuntimeException());
                 return null;
             }
         }).when(mockCall).enqueue(any(Callback.class));
@@ -559,6 +573,445 @@ public class ArticleProviderTest {
 
     // endregion
 
+    // region Coalescing tests
+
+    @Test
+    public void getArticlesCoalescesIdenticalRequests() throws Exception {
+        Call mockCall = mockGetArticlesCall();
+        ArticleCallbacks otherCallback = mock(ArticleCallbacks.class);
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, callback);
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, otherCallback);
+        verify(mockArticleService, times(1)).getArticles(
+                anyString(),
+                anyInt(),
+                anyInt(),
+                anyBoolean(),
+                any(TopicIds.class),
+                any(BrandIds.class),
+                anyString(),
+                any(SortDirection.class));
+        verify(mockCall, times(1)).enqueue(any(Callback.class));
+    }
+
+    @Test
+    public void getArticlesNotifiesAllCoalescedCallbacks() throws Exception {
+        Call mockCall = mockGetArticlesCall();
+        ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+        ArticleCallbacks otherCallback = mock(ArticleCallbacks.class);
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, callback);
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, otherCallback);
+        verify(mockCall).enqueue(captor.capture());
+
+        ApiResponse<Article> response = getMockApiResponse("/mock_article_response_with_next.json");
+        captor.getValue().onResponse(Response.success(response), null);
+        verify(callback).onArticlesLoaded(response.getPage(), response.getEntriesAsList(), true);
+        verify(otherCallback).onArticlesLoaded(response.getPage(), response.getEntriesAsList(), true);
+    }
+
+    @Test
+    public void getArticlesAttachesToRequestPutInFlightWhileCreatingCall() throws Exception {
+        final Call mockCall = mock(Call.class);
+        final ArticleCallbacks otherCallback = mock(ArticleCallbacks.class);
+        when(mockArticleService.getArticles(anyString(), anyInt(), anyInt(), anyBoolean(), any(TopicIds.class),
+                any(BrandIds.class), anyString(), any(SortDirection.class))).thenAnswer(new Answer<Call>() {
+            private boolean nested;
+
+            @Override
+            public Call answer(InvocationOnMock invocation) throws Throwable {
+                // an identical request is put in flight between checking and enqueueing
+                if (!nested) {
+                    nested = true;
+                    articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, otherCallback);
+                }
+                return mockCall;
+            }
+        });
+        ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, callback);
+        verify(mockCall).enqueue(captor.capture());
+
+        ApiResponse<Article> response = getMockApiResponse("/mock_article_response_with_next.json");
+        captor.getValue().onResponse(Response.success(response), null);
+        verify(callback).onArticlesLoaded(response.getPage(), response.getEntriesAsList(), true);
+        verify(otherCallback).onArticlesLoaded(response.getPage(), response.getEntriesAsList(), true);
+    }
+
+    @Test
+    public void getArticlesDoesNotCoalesceDifferentPages() throws Exception {
+        mockGetArticlesCall();
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, callback);
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 2, callback);
+        verify(mockArticleService, times(2)).getArticles(
+                anyString(),
+                anyInt(),
+                anyInt(),
+                anyBoolean(),
+                any(TopicIds.class),
+                any(BrandIds.class),
+                anyString(),
+                any(SortDirection.class));
+    }
+
+    @Test
+    public void getArticlesSendsNewRequestAfterCompletion() throws Exception {
+        Call mockCall = mockGetArticlesCall();
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                ((Callback<ApiResponse<Article>>) invocation.getArguments()[0]).onFailure(new RuntimeException());
+                return null;
+            }
+        }).when(mockCall).enqueue(any(Callback.class));
+
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, callback);
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, callback);
+        verify(mockCall, times(2)).enqueue(any(Callback.class));
+        verify(callback, times(2)).onArticlesLoadError(any(ErrorResponse.class));
+    }
+
+    @Test
+    public void findArticlesDoesNotCoalesceDifferentQueries() throws Exception {
+        articleProvider.findArticles(ALL_TOPICS, ALL_BRANDS, "query", 1, callback);
+        articleProvider.findArticles(ALL_TOPICS, ALL_BRANDS, "other", 1, callback);
+        verify(mockArticleService, times(2)).searchArticles(
+                anyString(),
+                anyInt(),
+                anyInt(),
+                any(TopicIds.class),
+                any(BrandIds.class),
+                anyBoolean(),
+                anyString(),
+                any(SortDirection.class),
+                anyString());
+    }
+
+    // endregion
+
+    // region Cancel tests
+
+    @Test
+    public void canceledRequestDoesNotNotifyCallback() throws Exception {
+        Call mockCall = mockGetArticlesCall();
+        ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+        RequestHandle handle = articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, callback);
+        verify(mockCall).enqueue(captor.capture());
+
+        handle.cancel();
+        assertTrue(handle.isCanceled());
+        verify(mockCall).cancel();
+        captor.getValue().onResponse(Response.success(new ApiResponse<Article>()), null);
+        verify(callback, never()).onArticlesLoaded(anyInt(), anyListOf(Article.class), anyBoolean());
+    }
+
+    @Test
+    public void cancelingOneCoalescedCallerDoesNotCancelCall() throws Exception {
+        Call mockCall = mockGetArticlesCall();
+        ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+        ArticleCallbacks otherCallback = mock(ArticleCallbacks.class);
+        RequestHandle handle = articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, callback);
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, otherCallback);
+        verify(mockCall).enqueue(captor.capture());
+
+        handle.cancel();
+        verify(mockCall, never()).cancel();
+        captor.getValue().onResponse(Response.success(new ApiResponse<Article>()), null);
+        verify(callback, never()).onArticlesLoaded(anyInt(), anyListOf(Article.class), anyBoolean());
+        verify(otherCallback).onArticlesLoaded(anyInt(), anyListOf(Article.class), anyBoolean());
+    }
+
+    @Test
+    public void canceledRequestIsNotCoalesced() throws Exception {
+        mockGetArticlesCall();
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, callback).cancel();
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, callback);
+        verify(mockArticleService, times(2)).getArticles(
+                anyString(),
+                anyInt(),
+                anyInt(),
+                anyBoolean(),
+                any(TopicIds.class),
+                any(BrandIds.class),
+                anyString(),
+                any(SortDirection.class));
+    }
+
+    // endregion
+
+    private Call mockGetArticlesCall() {
+        Call mockCall = mock(Call.class);
+        when(mockArticleService.getArticles(
+                anyString(),
+                anyInt(),
+                anyInt(),
+                anyBoolean(),
+                any(TopicIds.class),
+                any(BrandIds.class),
+                anyString(),
+                any(SortDirection.class))).thenReturn(mockCall);
+        return mockCall;
+    }
+
+    // region Incremental first page tests
+
+    @Test
+    public void incrementalFirstPageRequestsLeadingBatch() throws Exception {
+        mockGetArticlesCall();
+        articleProvider.setIncrementalFirstPage(true);
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, callback);
+        verify(mockArticleService).getArticles(
+                anyString(),
+                eq(1),
+                eq(PER_PAGE),
+                anyBoolean(),
+                any(TopicIds.class),
+                any(BrandIds.class),
+                anyString(),
+                any(SortDirection.class));
+        verify(mockArticleService).getArticles(
+                anyString(),
+                eq(1),
+                eq(LEADING_BATCH_SIZE),
+                anyBoolean(),
+                any(TopicIds.class),
+                any(BrandIds.class),
+                anyString(),
+                any(SortDirection.class));
+    }
+
+    @Test
+    public void incrementalFirstPageDoesNotRequestLeadingBatchForLaterPages() throws Exception {
+        mockGetArticlesCall();
+        articleProvider.setIncrementalFirstPage(true);
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 2, callback);
+        verify(mockArticleService, never()).getArticles(
+                anyString(),
+                anyInt(),
+                eq(LEADING_BATCH_SIZE),
+                anyBoolean(),
+                any(TopicIds.class),
+                any(BrandIds.class),
+                anyString(),
+                any(SortDirection.class));
+    }
+
+    @Test
+    public void firstPageDoesNotRequestLeadingBatchByDefault() throws Exception {
+        mockGetArticlesCall();
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, callback);
+        verify(mockArticleService, never()).getArticles(
+                anyString(),
+                anyInt(),
+                eq(LEADING_BATCH_SIZE),
+                anyBoolean(),
+                any(TopicIds.class),
+                any(BrandIds.class),
+                anyString(),
+                any(SortDirection.class));
+    }
+
+    @Test
+    public void incrementalFirstPageCoalescesLeadingBatch() throws Exception {
+        mockGetArticlesCall();
+        articleProvider.setIncrementalFirstPage(true);
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, callback);
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, mock(ArticleCallbacks.class));
+        verify(mockArticleService).getArticles(
+                anyString(),
+                eq(1),
+                eq(LEADING_BATCH_SIZE),
+                anyBoolean(),
+                any(TopicIds.class),
+                any(BrandIds.class),
+                anyString(),
+                any(SortDirection.class));
+    }
+
+    @Test
+    public void incrementalFirstPageDeliversLeadingBatchToCoalescedCallers() throws Exception {
+        Call pageCall = mock(Call.class);
+        Call leadingCall = mock(Call.class);
+        when(mockArticleService.getArticles(anyString(), anyInt(), eq(PER_PAGE), anyBoolean(), any(TopicIds.class),
+                any(BrandIds.class), anyString(), any(SortDirection.class))).thenReturn(pageCall);
+        when(mockArticleService.getArticles(anyString(), anyInt(), eq(LEADING_BATCH_SIZE), anyBoolean(), any(TopicIds.class),
+                any(BrandIds.class), anyString(), any(SortDirection.class))).thenReturn(leadingCall);
+        ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+        ArticleCallbacks otherCallback = mock(ArticleCallbacks.class);
+        articleProvider.setIncrementalFirstPage(true);
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, callback);
+        articleProvider.getArticles(ALL_TOPICS, ALL_BRANDS, 1, otherCallback);
+        verify(leadingCall).enqueue(captor.capture());
+
+        ApiResponse<Article> response = getMockApiResponse("/mock_article_response_with_next.json");
+        captor.getValue().onResponse(Response.success(response), null);
+        verify(callback).onArticlesLoaded(response.getPage(), response.getEntriesAsList(), false);
+        verify(otherCallback).onArticlesLoaded(response.getPage(), response.getEntriesAsList(), false);
+    }
+
+    @Test
+    public void leadingBatchCallbackDeliversWithoutMorePages() throws Exception {
+        ApiResponse<Article> response = getMockApiResponse("/mock_article_response_with_next.json");
+        RetrofitCallback pageCallback = new RetrofitCallback(callback);
+        new LeadingBatchCallback(pageCallback).onResponse(Response.success(response), null);
+        verify(callback).onArticlesLoaded(response.getPage(), response.getEntriesAsList(), false);
+    }
+
+    @Test
+    public void leadingBatchCallbackIgnoredAfterFullPage() throws Exception {
+        ApiResponse<Article> response = getMockApiResponse("/mock_article_response_with_next.json");
+        RetrofitCallback pageCallback = new RetrofitCallback(callback);
+        pageCallback.onResponse(Response.success(response), null);
+        new LeadingBatchCallback(pageCallback).onResponse(Response.success(response), null);
+        verify(callback, never()).onArticlesLoaded(anyInt(), anyListOf(Article.class), eq(false));
+    }
+
+    // endregion
+
+    // region StoreCallback tests
+
+    @Test
+    public void storeCallbackDeliversStoredPage() throws Exception {
+        List<Article> stored = getMockApiResponse("/mock_article_response_with_next.json").getEntriesAsList();
+        StoreCallback storeCallback = new StoreCallback(callback);
+        storeCallback.onLoaded(new KnowledgeBaseStore.Page<>(1, stored, true));
+        verify(callback).onArticlesLoaded(1, stored, true);
+    }
+
+    @Test
+    public void storeCallbackIgnoresStoredPageAfterResponse() throws Exception {
+        StoreCallback storeCallback = new StoreCallback(callback);
+        storeCallback.onResponse(Response.success(new ApiResponse<Article>()), null);
+        List<Article> stored = getMockApiResponse("/mock_article_response_with_next.json").getEntriesAsList();
+        storeCallback.onLoaded(new KnowledgeBaseStore.Page<>(1, stored, false));
+        verify(callback, never()).onArticlesLoaded(anyInt(), eq(stored), anyBoolean());
+    }
+
+    @Test
+    public void getArticlesSavesResponseOnceForCoalescedCallers() throws Exception {
+        Call mockCall = mockGetArticlesCall();
+        KnowledgeBaseStore store = mock(KnowledgeBaseStore.class);
+        articleProvider = new ArticleProvider(mockArticleService, store);
+        ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+        ArticleCallbacks otherCallback = mock(ArticleCallbacks.class);
+        articleProvider.getArticles(1, 2, 1, callback);
+        articleProvider.getArticles(1, 2, 1, otherCallback);
+        verify(mockCall).enqueue(captor.capture());
+
+        ApiResponse<Article> response = getMockApiResponse("/mock_article_response_with_next.json");
+        captor.getValue().onResponse(Response.success(response), null);
+        verify(store, times(1)).saveArticlePage(2, 1, Desk.getLanguage(), 1, PER_PAGE, response.getEntriesAsList(), true);
+        verify(callback).onArticlesLoaded(response.getPage(), response.getEntriesAsList(), true);
+        verify(otherCallback).onArticlesLoaded(response.getPage(), response.getEntriesAsList(), true);
+    }
+
+    @Test
+    public void storeCallbackDoesNotReportErrorAfterStoredPage() throws Exception {
+        List<Article> stored = getMockApiResponse("/mock_article_response_with_next.json").getEntriesAsList();
+        StoreCallback storeCallback = new StoreCallback(callback);
+        storeCallback.onLoaded(new KnowledgeBaseStore.Page<>(1, stored, false));
+        storeCallback.onFailure(new RuntimeException());
+        verify(callback, never()).onArticlesLoadError(any(ErrorResponse.class));
+    }
+
+    @Test
+    public void storeCallbackReportsErrorWithoutStoredPage() throws Exception {
+        StoreCallback storeCallback = new StoreCallback(callback);
+        storeCallback.onLoaded(null);
+        storeCallback.onFailure(new RuntimeException());
+        verify(callback).onArticlesLoadError(any(ErrorResponse.class));
+    }
+
+    // endregion
+
+    // region Search cache Tests
+
+    @Test
+    public void findArticlesDeliversCachedPageWithoutRequest() throws Exception {
+        SearchCache searchCache = new SearchCache(SearchCache.DEFAULT_MAX_ARTICLES, SearchCache.DEFAULT_TTL_MILLIS);
+        List<Article> cached = getMockApiResponse("/mock_article_response.json").getEntriesAsList();
+        searchCache.put(SearchCache.buildKey("query", ALL_TOPICS, ALL_BRANDS, Desk.getLanguage(), 1),
+                new KnowledgeBaseStore.Page<>(1, cached, false));
+        articleProvider.setSearchCache(searchCache);
+
+        RequestHandle handle = articleProvider.findArticles(ALL_TOPICS, ALL_BRANDS, " Query ", 1, callback);
+        assertSame(COMPLETED, handle);
+        verify(callback).onArticlesLoaded(1, cached, false);
+        verify(mockArticleService, never()).searchArticles(
+                anyString(),
+                anyInt(),
+                anyInt(),
+                any(TopicIds.class),
+                any(BrandIds.class),
+                anyBoolean(),
+                anyString(),
+                any(SortDirection.class),
+                anyString());
+    }
+
+    @Test
+    public void findArticlesCachesResponseOnceForCoalescedCallers() throws Exception {
+        Call mockCall = mock(Call.class);
+        when(mockArticleService.searchArticles(anyString(), anyInt(), anyInt(), any(TopicIds.class), any(BrandIds.class),
+                anyBoolean(), anyString(), any(SortDirection.class), anyString())).thenReturn(mockCall);
+        SearchCache searchCache = mock(SearchCache.class);
+        articleProvider.setSearchCache(searchCache);
+        ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+        articleProvider.findArticles(ALL_TOPICS, ALL_BRANDS, "query", 1, callback);
+        articleProvider.findArticles(ALL_TOPICS, ALL_BRANDS, "query", 1, mock(ArticleCallbacks.class));
+        verify(mockCall).enqueue(captor.capture());
+
+        ApiResponse<Article> response = getMockApiResponse("/mock_article_response_with_next.json");
+        captor.getValue().onResponse(Response.success(response), null);
+        verify(searchCache, times(1)).put(eq(SearchCache.buildKey("query", ALL_TOPICS, ALL_BRANDS, Desk.getLanguage(), 1)),
+                any(KnowledgeBaseStore.Page.class));
+        verify(callback).onArticlesLoaded(response.getPage(), response.getEntriesAsList(), true);
+    }
+
+    @Test
+    public void searchCacheCallbackDoesNotReportErrorAfterCachedPage() throws Exception {
+        List<Article> cached = getMockApiResponse("/mock_article_response.json").getEntriesAsList();
+        SearchCacheCallback searchCacheCallback = new SearchCacheCallback(callback);
+        searchCacheCallback.onLoaded(new KnowledgeBaseStore.Page<>(1, cached, false));
+        searchCacheCallback.onFailure(new RuntimeException());
+        verify(callback).onArticlesLoaded(1, cached, false);
+        verify(callback, never()).onArticlesLoadError(any(ErrorResponse.class));
+    }
+
+    // endregion
+
+    // region getArticle() Tests
+
+    @Test
+    public void getArticleDeliversFetchedArticle() throws Exception {
+        Call mockCall = mock(Call.class);
+        when(mockArticleService.getArticle(anyInt())).thenReturn(mockCall);
+        ArticleProvider.ArticleCallback articleCallback = mock(ArticleProvider.ArticleCallback.class);
+        ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+        articleProvider.getArticle(1, articleCallback);
+        verify(mockArticleService).getArticle(1);
+        verify(mockCall).enqueue(captor.capture());
+
+        Article article = getMockApiResponse("/mock_article_response.json").getEntriesAsList().get(0);
+        captor.getValue().onResponse(Response.success(article), null);
+        verify(articleCallback).onArticleLoaded(article);
+        verify(articleCallback, never()).onArticleLoadError(any(ErrorResponse.class));
+    }
+
+    @Test
+    public void getArticleReportsFailure() throws Exception {
+        Call mockCall = mock(Call.class);
+        when(mockArticleService.getArticle(anyInt())).thenReturn(mockCall);
+        ArticleProvider.ArticleCallback articleCallback = mock(ArticleProvider.ArticleCallback.class);
+        ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+        articleProvider.getArticle(1, articleCallback);
+        verify(mockCall).enqueue(captor.capture());
+
+        captor.getValue().onFailure(new RuntimeException());
+        verify(articleCallback).onArticleLoadError(any(ErrorResponse.class));
+        verify(articleCallback, never()).onArticleLoaded(any(Article.class));
+    }
+
+    // endregion
+
     private ApiResponse<Article> getMockApiResponse(String jsonFile) {
         return TestUtils.readMockJsonFile(
                 new TypeToken<ApiResponse<Article>>() {}.getType(),
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2015, Salesforce.com, Inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of Salesforce.com, Inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.desk.android.sdk.provider;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import com.desk.android.sdk.metrics.DeskMetrics;
+import com.desk.android.sdk.metrics.RequestMetrics;
+import com.desk.android.sdk.util.TestUtils;
+import com.desk.java.apiclient.model.ApiResponse;
+import com.desk.java.apiclient.model.Article;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import retrofit.Callback;
+import retrofit.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link MetricsCallback}
+ */
+@SmallTest
+@SuppressWarnings("unchecked")
+public class MetricsCallbackTest {
+
+    private DeskMetrics metrics;
+    private Callback<ApiResponse<Article>> callback;
+
+    @Before
+    public void setUp() throws Exception {
+        metrics = mock(DeskMetrics.class);
+        callback = mock(Callback.class);
+    }
+
+    @Test
+    public void wrapReturnsCallbackWithoutMetrics() throws Exception {
+        assertTrue(callback == MetricsCallback.wrap(null, RequestMetrics.ENDPOINT_ARTICLES, callback));
+    }
+
+    @Test
+    public void onResponseNotifiesCallbackAndReportsMetrics() throws Exception {
+        ApiResponse<Article> body = TestUtils.readMockJsonFile(
+                new TypeToken<ApiResponse<Article>>() {}.getType(),
+                "/mock_article_response_with_next.json"
+        );
+        Response<ApiResponse<Article>> response = Response.success(body);
+        Callback<ApiResponse<Article>> metricsCallback = MetricsCallback.wrap(metrics, RequestMetrics.ENDPOINT_SEARCH, callback);
+        metricsCallback.onResponse(response, null);
+        verify(callback).onResponse(response, null);
+
+        ArgumentCaptor<RequestMetrics> captor = ArgumentCaptor.forClass(RequestMetrics.class);
+        verify(metrics).onRequestCompleted(captor.capture());
+        RequestMetrics requestMetrics = captor.getValue();
+        assertEquals(RequestMetrics.ENDPOINT_SEARCH, requestMetrics.getEndpoint());
+        assertEquals(body.getEntriesAsList().size(), requestMetrics.getPageSize());
+        assertEquals(200, requestMetrics.getStatusCode());
+        assertTrue(requestMetrics.isSuccessful());
+        assertFalse(requestMetrics.isCacheHit());
+        assertTrue(requestMetrics.getTotalMillis() >= 0);
+    }
+
+    @Test
+    public void onFailureNotifiesCallbackAndReportsError() throws Exception {
+        RuntimeException error = new RuntimeException();
+        Callback<ApiResponse<Article>> metricsCallback = MetricsCallback.wrap(metrics, RequestMetrics.ENDPOINT_TOPICS, callback);
+        metricsCallback.onFailure(error);
+        verify(callback).onFailure(error);
+
+        ArgumentCaptor<RequestMetrics> captor = ArgumentCaptor.forClass(RequestMetrics.class);
+        verify(metrics).onRequestCompleted(captor.capture());
+        RequestMetrics requestMetrics = captor.getValue();
+        assertTrue(error == requestMetrics.getError());
+        assertFalse(requestMetrics.isSuccessful());
+        assertEquals(RequestMetrics.UNKNOWN, requestMetrics.getTimeToFirstByteMillis());
+    }
+}